@@ -0,0 +1,26 @@
+package com.schoolplus.office.bootstrap;
+
+import com.schoolplus.office.logging.AuditLogStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partitions the audit table on start. Left off where the schema isn't the application's to change,
+ * such as the test database.
+ */
+@ConditionalOnProperty(name = "school-plus.audit.manage-storage", havingValue = "true")
+@RequiredArgsConstructor
+@Component
+public class AuditLogStorageInitializer implements CommandLineRunner {
+
+    private final AuditLogStorage auditLogStorage;
+
+    @Override
+    public void run(String... args) {
+        auditLogStorage.prepare();
+        auditLogStorage.maintain();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.schoolplus.office.bootstrap;
+
+import com.schoolplus.office.components.exam.ExamResultDataCodec;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+import com.schoolplus.office.repository.ExamResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves exam results still stored in {@code result_item_data} to the columnar format,
+ * a few results per transaction.
+ */
+@Slf4j
+@ConditionalOnProperty(name = "school-plus.exam-result.migrate-legacy-data", havingValue = "true")
+@RequiredArgsConstructor
+@Component
+public class ExamResultStorageMigration implements CommandLineRunner {
+
+    private final ExamResultRepository examResultRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        int migrated = 0;
+        Integer batch;
+
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<ExamResult> examResults = examResultRepository.findTop20ByResultColumnsIsNull();
+                examResults.forEach(this::migrate);
+                return examResults.size();
+            });
+
+            migrated += batch;
+        } while (batch != null && batch > 0);
+
+        if (migrated > 0) {
+            log.info("Exam results have been migrated to the columnar format [count: {}]", migrated);
+        }
+    }
+
+    private void migrate(ExamResult examResult) {
+        Set<String> columns = new LinkedHashSet<>();
+
+        examResult.getExamResultItems().forEach(examResultItem -> examResultItem.getResultData().keySet().stream()
+                .sorted()
+                .forEach(columns::add));
+
+        examResult.setResultColumns(new ArrayList<>(columns));
+
+        for (ExamResultItem examResultItem : examResult.getExamResultItems()) {
+            ExamResultDataCodec.writeResultData(examResultItem, new HashMap<>(examResultItem.getResultData()));
+        }
+
+        examResultRepository.save(examResult);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.schoolplus.office.bootstrap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the pooled sequences past the ids that were handed out by the shared
+ * {@code hibernate_sequence} before they existed, so the first pooled block cannot collide with them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PooledSequenceInitializer implements CommandLineRunner {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        alignSequence("exam_result_seq", "exam_result");
+        alignSequence("exam_result_item_seq", "exam_result_item");
+        alignSequence("transaction_log_seq", "transaction_log");
+    }
+
+    private void alignSequence(String sequenceTable, String entityTable) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + entityTable, Long.class);
+        long floor = maxId + ALLOCATION_SIZE + 1;
+
+        int updated = jdbcTemplate.update("update " + sequenceTable + " set next_val = ? where next_val < ?",
+                floor, floor);
+
+        if (updated > 0) {
+            log.info("Sequence has been moved past existing ids [sequence: {}, nextVal: {}]", sequenceTable, floor);
+        }
+    }
+
+}
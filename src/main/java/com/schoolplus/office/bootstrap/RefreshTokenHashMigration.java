@@ -0,0 +1,93 @@
+package com.schoolplus.office.bootstrap;
+
+import com.schoolplus.office.utils.TokenUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves refresh tokens stored in plaintext to {@code token_hash} before Hibernate updates the schema.
+ * Left alone, the update would add the column filled with empty strings and fail to create its unique
+ * index. Legacy tokens are digested in place, rows left without a digest are deleted, and the
+ * plaintext column is dropped.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RefreshTokenHashMigration {
+
+    private static final String TABLE = "refresh_token";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        Set<String> columns = columns();
+
+        // Nothing to do on a fresh schema or one that has been migrated already
+        if (!columns.contains("token")) {
+            return;
+        }
+
+        if (!columns.contains("token_hash")) {
+            jdbcTemplate.execute("alter table " + TABLE + " add column token_hash varchar(43) null");
+        }
+
+        int digested = digestLegacyTokens();
+
+        int deleted = jdbcTemplate.update("delete from " + TABLE + " where token_hash is null or token_hash = ''");
+        deleted += jdbcTemplate.update("delete older from " + TABLE + " older join " + TABLE + " newer"
+                + " on older.token_hash = newer.token_hash and older.id < newer.id");
+
+        jdbcTemplate.execute("alter table " + TABLE + " modify token_hash varchar(43) not null");
+        jdbcTemplate.execute("alter table " + TABLE + " drop column token");
+
+        log.info("Refresh tokens have been migrated to digests [digested: {}, deleted: {}]", digested, deleted);
+    }
+
+    private int digestLegacyTokens() {
+        int digested = 0;
+        List<Object[]> batch;
+
+        do {
+            batch = jdbcTemplate.query("select id, token from " + TABLE
+                            + " where (token_hash is null or token_hash = '') and token is not null limit " + BATCH_SIZE,
+                    (resultSet, rowNum) -> new Object[] {
+                            TokenUtils.digest(resultSet.getString("token")), resultSet.getLong("id")
+                    });
+
+            jdbcTemplate.batchUpdate("update " + TABLE + " set token_hash = ? where id = ?", batch);
+            digested += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        return digested;
+    }
+
+    private Set<String> columns() {
+        return jdbcTemplate.queryForList("select column_name from information_schema.columns"
+                        + " where table_schema = database() and table_name = ?", String.class, TABLE).stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Holds Hibernate back until the migration has run.
+     */
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependency() {
+            super(RefreshTokenHashMigration.class);
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.schoolplus.office.components;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Runs a task on one instance at a time using a MySQL named lock. A named lock belongs to the
+ * connection that took it, so the lock is held on a connection of its own for the whole task, and
+ * MySQL releases it if the instance dies midway. The task does its own work on other connections.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class DistributedLock {
+
+    private final DataSource dataSource;
+
+    /**
+     * @return {@code false} when another instance holds the lock, the task is not run then
+     */
+    public boolean runExclusively(String name, Runnable task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!acquire(connection, name)) {
+                log.info("The lock is held by another instance [name: {}]", name);
+                return false;
+            }
+
+            try {
+                task.run();
+            } finally {
+                release(connection, name);
+            }
+
+            return true;
+        } catch (SQLException e) {
+            throw new IllegalStateException("The lock couldn't be taken [name: " + name + "]", e);
+        }
+    }
+
+    private static boolean acquire(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, name);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void release(Connection connection, String name) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, name);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("The lock couldn't be released, it goes with the connection [name: {}]", name, e);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.schoolplus.office.components;
+
+import com.schoolplus.office.annotations.Logable;
+import com.schoolplus.office.web.models.LogableType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@link Logable} fields of a class, resolved once per class into getter {@link MethodHandle}s.
+ * Fields declared on a class win over the ones of its superclasses.
+ */
+public final class LogableMetadata {
+
+    private static final ClassValue<LogableMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected LogableMetadata computeValue(Class<?> type) {
+            return new LogableMetadata(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Map<LogableType, MethodHandle> getters = new EnumMap<>(LogableType.class);
+
+    private LogableMetadata(Class<?> type) {
+        for (Class<?> declaringClass = type; declaringClass != null && declaringClass != Object.class;
+             declaringClass = declaringClass.getSuperclass()) {
+            for (Field field : declaringClass.getDeclaredFields()) {
+                Logable logable = field.getAnnotation(Logable.class);
+
+                if (logable != null && !getters.containsKey(logable.type())) {
+                    getters.put(logable.type(), getter(type, field));
+                }
+            }
+        }
+    }
+
+    public static LogableMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    public boolean has(LogableType logableType) {
+        return getters.containsKey(logableType);
+    }
+
+    /**
+     * @return the value of the field marked with the given type, {@code null} when there is no such field
+     */
+    public Object get(LogableType logableType, Object target) {
+        MethodHandle getter = getters.get(logableType);
+
+        if (getter == null) {
+            return null;
+        }
+
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Prefers the public getter of the field, as the aspect always did, and reads the field directly otherwise.
+     */
+    private static MethodHandle getter(Class<?> type, Field field) {
+        String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+
+        try {
+            Method method;
+
+            try {
+                method = type.getMethod("get" + suffix);
+            } catch (NoSuchMethodException e) {
+                method = type.getMethod("is" + suffix);
+            }
+
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            try {
+                field.setAccessible(true);
+
+                return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalStateException("Logable field couldn't be read [field: " + field + "]", ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.schoolplus.office.components.appointment;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The time an appointment takes, as a half-open interval: one ending at 15:00 doesn't conflict with one
+ * starting at 15:00.
+ */
+@Value
+public class AppointmentInterval {
+
+    UUID appointmentId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+
+}
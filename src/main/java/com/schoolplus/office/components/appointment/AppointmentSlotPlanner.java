@@ -0,0 +1,156 @@
+package com.schoolplus.office.components.appointment;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Assigns students to consecutive slots of a teacher in memory. The teacher's busy periods are swept
+ * once to cut the window into slots of the requested length; a slot interrupted by a busy period
+ * restarts where it ends. Each student, in the given order, then takes the earliest slot they are free
+ * in; when every such slot is taken, students placed before are moved along augmenting paths to other
+ * slots they are free in. So every student gets a slot whenever any assignment of them exists, and no
+ * student is ever moved to make room unless it is needed.
+ */
+@Component
+public class AppointmentSlotPlanner {
+
+    private static final Comparator<TimeSlot> BY_START = Comparator.comparing(TimeSlot::getStart);
+
+    /**
+     * @return the slot of each student that could be placed, in the given student order
+     */
+    public Map<UUID, TimeSlot> plan(TimeSlot window, Duration slotLength, Collection<TimeSlot> teacherBusySlots,
+                                    List<UUID> studentIds, Map<UUID, List<TimeSlot>> studentBusySlots) {
+        List<TimeSlot> slots = slots(window, slotLength, teacherBusySlots);
+
+        List<int[]> freeSlots = new ArrayList<>(studentIds.size());
+
+        for (UUID studentId : studentIds) {
+            freeSlots.add(freeSlots(slots, studentBusySlots.getOrDefault(studentId, List.of())));
+        }
+
+        int[] studentOfSlot = new int[slots.size()];
+        Arrays.fill(studentOfSlot, -1);
+
+        for (int student = 0; student < studentIds.size(); student++) {
+            augment(student, freeSlots, studentOfSlot, new boolean[slots.size()]);
+        }
+
+        TimeSlot[] slotOfStudent = new TimeSlot[studentIds.size()];
+
+        for (int slot = 0; slot < slots.size(); slot++) {
+            if (studentOfSlot[slot] >= 0) {
+                slotOfStudent[studentOfSlot[slot]] = slots.get(slot);
+            }
+        }
+
+        Map<UUID, TimeSlot> plan = new LinkedHashMap<>();
+
+        for (int student = 0; student < studentIds.size(); student++) {
+            if (slotOfStudent[student] != null) {
+                plan.put(studentIds.get(student), slotOfStudent[student]);
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * Places the student in the earliest free slot that is unassigned, or whose student can be moved on.
+     * A slot is tried at most once per placement, so a placement costs at most one look at every
+     * student's free slots.
+     */
+    private static boolean augment(int student, List<int[]> freeSlots, int[] studentOfSlot, boolean[] visited) {
+        for (int slot : freeSlots.get(student)) {
+            if (visited[slot]) {
+                continue;
+            }
+
+            visited[slot] = true;
+
+            if (studentOfSlot[slot] < 0 || augment(studentOfSlot[slot], freeSlots, studentOfSlot, visited)) {
+                studentOfSlot[slot] = student;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the indexes of the slots the student is free in, swept once against their sorted busy periods
+     */
+    private static int[] freeSlots(List<TimeSlot> slots, List<TimeSlot> studentBusySlots) {
+        List<TimeSlot> busySlots = new ArrayList<>(studentBusySlots);
+        busySlots.sort(BY_START);
+
+        int[] freeSlots = new int[slots.size()];
+        int free = 0;
+        int busy = 0;
+
+        for (int slot = 0; slot < slots.size(); slot++) {
+            TimeSlot timeSlot = slots.get(slot);
+
+            while (busy < busySlots.size() && !busySlots.get(busy).getEnd().isAfter(timeSlot.getStart())) {
+                busy++;
+            }
+
+            if (!overlapsAny(timeSlot, busySlots, busy)) {
+                freeSlots[free++] = slot;
+            }
+        }
+
+        return Arrays.copyOf(freeSlots, free);
+    }
+
+    private static List<TimeSlot> slots(TimeSlot window, Duration slotLength, Collection<TimeSlot> teacherBusySlots) {
+        List<TimeSlot> busySlots = new ArrayList<>(teacherBusySlots);
+        busySlots.sort(BY_START);
+
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDateTime cursor = window.getStart();
+        int busy = 0;
+
+        while (!cursor.plus(slotLength).isAfter(window.getEnd())) {
+            TimeSlot slot = new TimeSlot(cursor, cursor.plus(slotLength));
+
+            while (busy < busySlots.size() && !busySlots.get(busy).getEnd().isAfter(cursor)) {
+                busy++;
+            }
+
+            if (busy < busySlots.size() && busySlots.get(busy).overlaps(slot)) {
+                cursor = busySlots.get(busy).getEnd();
+                continue;
+            }
+
+            slots.add(slot);
+            cursor = slot.getEnd();
+        }
+
+        return slots;
+    }
+
+    /**
+     * Busy periods are sorted by start, so the ones starting at or after the end of the slot are skipped.
+     */
+    private static boolean overlapsAny(TimeSlot slot, List<TimeSlot> busySlots, int from) {
+        for (int i = from; i < busySlots.size() && busySlots.get(i).getStart().isBefore(slot.getEnd()); i++) {
+            if (busySlots.get(i).overlaps(slot)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
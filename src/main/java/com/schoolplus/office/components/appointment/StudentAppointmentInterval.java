@@ -0,0 +1,18 @@
+package com.schoolplus.office.components.appointment;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The time a student's appointment takes, loaded for many students at once when scheduling in bulk.
+ */
+@Value
+public class StudentAppointmentInterval {
+
+    UUID studentId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+}
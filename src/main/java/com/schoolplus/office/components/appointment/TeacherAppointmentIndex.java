@@ -0,0 +1,202 @@
+package com.schoolplus.office.components.appointment;
+
+import com.schoolplus.office.config.AppointmentConfiguration;
+import com.schoolplus.office.repository.AppointmentRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Appointments of each teacher over the next {@code indexedPeriod}, ordered by start, so a known
+ * conflict is found by a lookup of the appointments starting within the longest appointment before the
+ * checked end instead of a query. The index is only a fast negative check: it may miss appointments
+ * committed meanwhile, so a slot it finds free has to be confirmed by the database while the teacher's
+ * row is locked. A teacher's appointments are loaded on the first check and again after
+ * {@code indexTtl}; changes made on this instance are applied once their transaction commits.
+ */
+@Component
+public class TeacherAppointmentIndex {
+
+    private final AppointmentRepository appointmentRepository;
+    private final Duration indexedPeriod;
+    private final long timeToLive;
+
+    private final Map<UUID, Schedule> schedules;
+
+    public TeacherAppointmentIndex(AppointmentRepository appointmentRepository,
+                                   AppointmentConfiguration appointmentConfiguration) {
+        this.appointmentRepository = appointmentRepository;
+        this.indexedPeriod = appointmentConfiguration.getIndexedPeriod();
+        this.timeToLive = appointmentConfiguration.getIndexTtl().toMillis();
+
+        int maximumSize = appointmentConfiguration.getIndexedTeachers();
+        this.schedules = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Schedule> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    /**
+     * @param excludedAppointmentId the appointment being moved, which can't conflict with itself
+     * @return {@code true} when a known appointment conflicts; {@code false} when none is known, also for
+     * ranges outside the indexed period
+     */
+    public boolean isKnownTaken(UUID teacherId, UUID excludedAppointmentId, LocalDateTime start, LocalDateTime end) {
+        Schedule schedule = schedule(teacherId, start, end);
+
+        return schedule != null && schedule.isTaken(excludedAppointmentId, start, end);
+    }
+
+    public void put(UUID teacherId, AppointmentInterval interval) {
+        afterCommit(() -> {
+            Schedule schedule = schedules.get(teacherId);
+
+            if (schedule != null) {
+                schedule.put(interval);
+            }
+        });
+    }
+
+    public void putAll(UUID teacherId, List<AppointmentInterval> intervals) {
+        afterCommit(() -> {
+            Schedule schedule = schedules.get(teacherId);
+
+            if (schedule != null) {
+                intervals.forEach(schedule::put);
+            }
+        });
+    }
+
+    public void remove(UUID teacherId, UUID appointmentId) {
+        afterCommit(() -> {
+            Schedule schedule = schedules.get(teacherId);
+
+            if (schedule != null) {
+                schedule.remove(appointmentId);
+            }
+        });
+    }
+
+    public void evictAll() {
+        schedules.clear();
+    }
+
+    private Schedule schedule(UUID teacherId, LocalDateTime start, LocalDateTime end) {
+        if (timeToLive <= 0) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Schedule schedule = schedules.get(teacherId);
+
+        if (schedule == null || schedule.expiresAt <= now) {
+            LocalDateTime from = LocalDate.now().atStartOfDay();
+            LocalDateTime to = from.plus(indexedPeriod);
+
+            if (!covers(from, to, start, end)) {
+                return null;
+            }
+
+            schedule = new Schedule(from, to, now + timeToLive);
+            appointmentRepository.findTeacherIntervals(teacherId, from, to).forEach(schedule::put);
+            schedules.put(teacherId, schedule);
+        }
+
+        return covers(schedule.from, schedule.to, start, end) ? schedule : null;
+    }
+
+    private static boolean covers(LocalDateTime from, LocalDateTime to, LocalDateTime start, LocalDateTime end) {
+        return !start.isBefore(from) && !end.isAfter(to);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static class Schedule {
+
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final long expiresAt;
+
+        private final NavigableMap<LocalDateTime, List<AppointmentInterval>> byStart = new TreeMap<>();
+        private final Map<UUID, AppointmentInterval> byId = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+
+        private Schedule(LocalDateTime from, LocalDateTime to, long expiresAt) {
+            this.from = from;
+            this.to = to;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Only appointments starting after {@code start - longest} can still be running at {@code start}.
+         */
+        private synchronized boolean isTaken(UUID excludedAppointmentId, LocalDateTime start, LocalDateTime end) {
+            for (List<AppointmentInterval> intervals : byStart.subMap(start.minus(longest), false, end, false).values()) {
+                for (AppointmentInterval interval : intervals) {
+                    if (!interval.getAppointmentId().equals(excludedAppointmentId) && interval.overlaps(start, end)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        private synchronized void put(AppointmentInterval interval) {
+            remove(interval.getAppointmentId());
+
+            byStart.computeIfAbsent(interval.getStart(), start -> new ArrayList<>(1)).add(interval);
+            byId.put(interval.getAppointmentId(), interval);
+
+            Duration duration = Duration.between(interval.getStart(), interval.getEnd());
+
+            if (duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+        }
+
+        private synchronized void remove(UUID appointmentId) {
+            AppointmentInterval interval = byId.remove(appointmentId);
+
+            if (interval == null) {
+                return;
+            }
+
+            List<AppointmentInterval> intervals = byStart.get(interval.getStart());
+            intervals.remove(interval);
+
+            if (intervals.isEmpty()) {
+                byStart.remove(interval.getStart());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.schoolplus.office.components.appointment;
+
+import com.schoolplus.office.config.AppointmentConfiguration;
+import com.schoolplus.office.repository.AppointmentRepository;
+import com.schoolplus.office.repository.SyllabusRepository;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the working hours a teacher has neither an appointment nor a lesson in. The free slots of a
+ * teacher are computed a week at a time: appointments and lessons of the week are sorted by start and
+ * swept once, merging the busy periods and cutting them out of each working day. Weeks are cached for
+ * {@code freeSlotsCacheTtl} and evicted whenever the teacher's appointments or lessons change on this
+ * instance. Each eviction moves the teacher to a new generation, and a week computed across an eviction
+ * is returned but not cached, as it may have been read before the change committed.
+ */
+@Component
+public class TeacherFreeSlotFinder {
+
+    private static final Comparator<TimeSlot> BY_START = Comparator.comparing(TimeSlot::getStart);
+
+    private final AppointmentRepository appointmentRepository;
+    private final SyllabusRepository syllabusRepository;
+    private final AppointmentConfiguration appointmentConfiguration;
+    private final long timeToLive;
+
+    private final Map<WeekKey, Entry> weeks;
+    private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+    private volatile long clearings;
+
+    public TeacherFreeSlotFinder(AppointmentRepository appointmentRepository,
+                                 SyllabusRepository syllabusRepository,
+                                 AppointmentConfiguration appointmentConfiguration) {
+        this.appointmentRepository = appointmentRepository;
+        this.syllabusRepository = syllabusRepository;
+        this.appointmentConfiguration = appointmentConfiguration;
+        this.timeToLive = appointmentConfiguration.getFreeSlotsCacheTtl().toMillis();
+
+        int maximumSize = appointmentConfiguration.getFreeSlotsCacheSize();
+        this.weeks = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WeekKey, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    /**
+     * @return the free slots within {@code [from, to)} lasting at least {@code minimumDuration}, by start
+     */
+    public List<TimeSlot> findFreeSlots(UUID teacherId, LocalDateTime from, LocalDateTime to, Duration minimumDuration) {
+        List<TimeSlot> freeSlots = new ArrayList<>();
+        LocalDate weekStart = from.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        for (; weekStart.atStartOfDay().isBefore(to); weekStart = weekStart.plusWeeks(1)) {
+            for (TimeSlot freeSlot : week(teacherId, weekStart)) {
+                LocalDateTime start = freeSlot.getStart().isBefore(from) ? from : freeSlot.getStart();
+                LocalDateTime end = freeSlot.getEnd().isAfter(to) ? to : freeSlot.getEnd();
+
+                if (start.isBefore(end) && Duration.between(start, end).compareTo(minimumDuration) >= 0) {
+                    freeSlots.add(new TimeSlot(start, end));
+                }
+            }
+        }
+
+        return freeSlots;
+    }
+
+    /**
+     * Evicts now and again once the transaction commits, so weeks read in between aren't kept.
+     */
+    public void evict(UUID teacherId) {
+        Runnable eviction = () -> {
+            synchronized (weeks) {
+                generations.merge(teacherId, 1L, Long::sum);
+                weeks.keySet().removeIf(weekKey -> weekKey.getTeacherId().equals(teacherId));
+            }
+        };
+
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        synchronized (weeks) {
+            clearings++;
+            weeks.clear();
+        }
+    }
+
+    private List<TimeSlot> week(UUID teacherId, LocalDate weekStart) {
+        WeekKey weekKey = new WeekKey(teacherId, weekStart);
+        long now = System.currentTimeMillis();
+
+        Entry entry = weeks.get(weekKey);
+
+        if (entry != null && entry.expiresAt > now) {
+            return entry.freeSlots;
+        }
+
+        long generation = generation(teacherId);
+        List<TimeSlot> freeSlots = Collections.unmodifiableList(computeWeek(teacherId, weekStart));
+
+        if (timeToLive > 0) {
+            synchronized (weeks) {
+                if (generation(teacherId) == generation) {
+                    weeks.put(weekKey, new Entry(freeSlots, now + timeToLive));
+                }
+            }
+        }
+
+        return freeSlots;
+    }
+
+    /**
+     * Both counters only grow, so their sum changes with every eviction affecting the teacher.
+     */
+    private long generation(UUID teacherId) {
+        return generations.getOrDefault(teacherId, 0L) + clearings;
+    }
+
+    private List<TimeSlot> computeWeek(UUID teacherId, LocalDate weekStart) {
+        LocalDateTime from = weekStart.atStartOfDay();
+        LocalDateTime to = weekStart.plusWeeks(1).atStartOfDay();
+
+        List<TimeSlot> busySlots = new ArrayList<>(syllabusRepository.findTeacherTimeSlots(teacherId, from, to));
+
+        for (AppointmentInterval interval : appointmentRepository.findTeacherIntervals(teacherId, from, to)) {
+            busySlots.add(new TimeSlot(interval.getStart(), interval.getEnd()));
+        }
+
+        busySlots.sort(BY_START);
+
+        return subtract(workingHours(weekStart), merge(busySlots));
+    }
+
+    private List<TimeSlot> workingHours(LocalDate weekStart) {
+        List<TimeSlot> workingHours = new ArrayList<>();
+
+        for (int day = 0; day < 7; day++) {
+            LocalDate date = weekStart.plusDays(day);
+
+            if (appointmentConfiguration.getWorkingDays().contains(date.getDayOfWeek())) {
+                workingHours.add(new TimeSlot(date.atTime(appointmentConfiguration.getWorkingHoursStart()),
+                        date.atTime(appointmentConfiguration.getWorkingHoursEnd())));
+            }
+        }
+
+        return workingHours;
+    }
+
+    /**
+     * Joins overlapping and touching slots of a list sorted by start.
+     */
+    private static List<TimeSlot> merge(List<TimeSlot> sortedSlots) {
+        List<TimeSlot> merged = new ArrayList<>();
+        TimeSlot current = null;
+
+        for (TimeSlot slot : sortedSlots) {
+            if (current != null && !slot.getStart().isAfter(current.getEnd())) {
+                if (slot.getEnd().isAfter(current.getEnd())) {
+                    current = new TimeSlot(current.getStart(), slot.getEnd());
+                }
+            } else {
+                if (current != null) {
+                    merged.add(current);
+                }
+
+                current = slot;
+            }
+        }
+
+        if (current != null) {
+            merged.add(current);
+        }
+
+        return merged;
+    }
+
+    /**
+     * Cuts the busy slots out of the working hours, both sorted by start and disjoint, in one pass.
+     */
+    private static List<TimeSlot> subtract(List<TimeSlot> workingHours, List<TimeSlot> busySlots) {
+        List<TimeSlot> freeSlots = new ArrayList<>();
+        int busy = 0;
+
+        for (TimeSlot window : workingHours) {
+            LocalDateTime cursor = window.getStart();
+
+            while (busy < busySlots.size() && !busySlots.get(busy).getEnd().isAfter(cursor)) {
+                busy++;
+            }
+
+            for (int i = busy; i < busySlots.size() && busySlots.get(i).getStart().isBefore(window.getEnd()); i++) {
+                TimeSlot busySlot = busySlots.get(i);
+
+                if (busySlot.getStart().isAfter(cursor)) {
+                    freeSlots.add(new TimeSlot(cursor, busySlot.getStart()));
+                }
+
+                if (busySlot.getEnd().isAfter(cursor)) {
+                    cursor = busySlot.getEnd();
+                }
+            }
+
+            if (cursor.isBefore(window.getEnd())) {
+                freeSlots.add(new TimeSlot(cursor, window.getEnd()));
+            }
+        }
+
+        return freeSlots;
+    }
+
+    @Value
+    private static class WeekKey {
+        UUID teacherId;
+        LocalDate weekStart;
+    }
+
+    private static class Entry {
+
+        private final List<TimeSlot> freeSlots;
+        private final long expiresAt;
+
+        private Entry(List<TimeSlot> freeSlots, long expiresAt) {
+            this.freeSlots = freeSlots;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.schoolplus.office.components.appointment;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A half-open period of time, {@code [start, end)}.
+ */
+@Value
+public class TimeSlot {
+
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    public boolean overlaps(TimeSlot other) {
+        return start.isBefore(other.end) && end.isAfter(other.start);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.domain.ExamField;
+import com.schoolplus.office.domain.ExamSkeleton;
+import com.schoolplus.office.web.models.ReferenceField;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The reference fields of an {@link ExamSkeleton}, resolved once per skeleton version.
+ * {@link #layout(List)} turns a sheet header into a role per column position.
+ */
+public final class CompiledExamSkeleton {
+
+    private final Long examSkeletonId;
+    private final Long version;
+    private final Map<ReferenceField, String> fieldNames;
+    private final Map<String, ReferenceField> referenceFields;
+
+    private CompiledExamSkeleton(Long examSkeletonId, Long version, Map<ReferenceField, String> fieldNames,
+                                 Map<String, ReferenceField> referenceFields) {
+        this.examSkeletonId = examSkeletonId;
+        this.version = version;
+        this.fieldNames = fieldNames;
+        this.referenceFields = referenceFields;
+    }
+
+    /**
+     * The first field of every reference type wins, as the import always did.
+     */
+    public static CompiledExamSkeleton compile(ExamSkeleton examSkeleton) {
+        Map<ReferenceField, String> fieldNames = new EnumMap<>(ReferenceField.class);
+        Map<String, ReferenceField> referenceFields = new HashMap<>();
+
+        for (ExamField examField : examSkeleton.getExamFields()) {
+            ReferenceField referenceField = examField.getReferenceField();
+
+            if (referenceField != null && examField.getExamFieldName() != null
+                    && !fieldNames.containsKey(referenceField)) {
+                fieldNames.put(referenceField, examField.getExamFieldName());
+                referenceFields.putIfAbsent(examField.getExamFieldName(), referenceField);
+            }
+        }
+
+        return new CompiledExamSkeleton(examSkeleton.getId(), examSkeleton.getVersion(),
+                Collections.unmodifiableMap(fieldNames), Collections.unmodifiableMap(referenceFields));
+    }
+
+    public Long getExamSkeletonId() {
+        return examSkeletonId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public boolean defines(ReferenceField referenceField) {
+        return fieldNames.containsKey(referenceField);
+    }
+
+    /**
+     * @return the name of the column holding the reference field, {@code null} if the skeleton doesn't define it
+     */
+    public String fieldName(ReferenceField referenceField) {
+        return fieldNames.get(referenceField);
+    }
+
+    /**
+     * @return the reference field of every header position, {@code null} for plain result columns
+     */
+    public ReferenceField[] layout(List<String> header) {
+        ReferenceField[] layout = new ReferenceField[header.size()];
+
+        for (int ic = 0; ic < header.size(); ic++) {
+            String cellName = header.get(ic);
+
+            if (cellName != null) {
+                layout[ic] = referenceFields.get(cellName);
+            }
+        }
+
+        return layout;
+    }
+
+}
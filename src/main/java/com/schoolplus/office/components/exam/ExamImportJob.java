@@ -0,0 +1,90 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.web.models.ExamImportReportDto;
+import com.schoolplus.office.web.models.ExamImportStatus;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a single exam result import. Counters are updated by the importing thread
+ * and read concurrently by status requests.
+ */
+@Getter
+public class ExamImportJob {
+
+    private final UUID jobId = UUID.randomUUID();
+    private final Long examId;
+    private final Long organizationId;
+    private final String submittedBy;
+    private final long submittedAt = System.currentTimeMillis();
+
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private volatile ExamImportStatus status = ExamImportStatus.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile Long examResultId;
+    private volatile ExamImportReportDto importReport;
+
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsPersisted = new AtomicLong();
+
+    public ExamImportJob(Long examId, Long organizationId) {
+        this(examId, organizationId, null);
+    }
+
+    public ExamImportJob(Long examId, Long organizationId, String submittedBy) {
+        this.examId = examId;
+        this.organizationId = organizationId;
+        this.submittedBy = submittedBy;
+    }
+
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        status = ExamImportStatus.RUNNING;
+    }
+
+    public void rowParsed() {
+        rowsParsed.incrementAndGet();
+    }
+
+    public void rowsPersisted(long rows) {
+        rowsPersisted.addAndGet(rows);
+    }
+
+    public void complete(Long examResultId, ExamImportReportDto importReport) {
+        this.examResultId = examResultId;
+        this.importReport = importReport;
+        finishedAt = System.currentTimeMillis();
+        status = ExamImportStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        errors.add(error);
+        finishedAt = System.currentTimeMillis();
+        status = ExamImportStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == ExamImportStatus.COMPLETED || status == ExamImportStatus.FAILED;
+    }
+
+    /**
+     * Rows parsed per second since the job started, up to now or to its end.
+     */
+    public double getRowsPerSecond() {
+        if (startedAt == 0) {
+            return 0;
+        }
+
+        long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+        long elapsed = Math.max(end - startedAt, 1);
+
+        return rowsParsed.get() * 1000d / elapsed;
+    }
+
+}
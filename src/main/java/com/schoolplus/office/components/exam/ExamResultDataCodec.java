@@ -0,0 +1,106 @@
+package com.schoolplus.office.components.exam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes result data in the columnar format: the column names are kept once on the
+ * {@link ExamResult} and every {@link ExamResultItem} holds a JSON array of its values in column order.
+ * Items of results which are not columnar yet keep using the legacy {@code result_item_data} map.
+ */
+public final class ExamResultDataCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private ExamResultDataCodec() {
+    }
+
+    public static String encode(List<String> values) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Result values couldn't be encoded", e);
+        }
+    }
+
+    public static List<String> decode(String encoded) {
+        if (encoded == null) {
+            return Collections.emptyList();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(encoded, STRING_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Result values couldn't be decoded", e);
+        }
+    }
+
+    public static Map<String, String> readResultData(ExamResultItem examResultItem) {
+        if (examResultItem.getResultValues() == null) {
+            return examResultItem.getResultData();
+        }
+
+        List<String> columns = examResultItem.getExamResult().getResultColumns();
+        List<String> values = decode(examResultItem.getResultValues());
+
+        Map<String, String> resultData = new HashMap<>((int) (values.size() / 0.75f) + 1);
+
+        for (int i = 0; i < values.size() && i < columns.size(); i++) {
+            resultData.put(columns.get(i), values.get(i));
+        }
+
+        return resultData;
+    }
+
+    /**
+     * Replaces the data of the item, in the columnar format when its result already uses it.
+     * Keys unknown to the result are appended to its columns.
+     */
+    public static void writeResultData(ExamResultItem examResultItem, Map<String, String> resultData) {
+        ExamResult examResult = examResultItem.getExamResult();
+
+        if (resultData == null) {
+            resultData = Collections.emptyMap();
+        }
+
+        if (examResult == null || examResult.getResultColumns() == null) {
+            examResultItem.setResultValues(null);
+            examResultItem.setResultData(resultData);
+            return;
+        }
+
+        List<String> columns = new ArrayList<>(examResult.getResultColumns());
+
+        resultData.keySet().stream()
+                .filter(key -> !columns.contains(key))
+                .sorted()
+                .forEach(columns::add);
+
+        if (columns.size() != examResult.getResultColumns().size()) {
+            examResult.setResultColumns(columns);
+        }
+
+        String[] values = new String[columns.size()];
+        Map<String, String> remaining = new HashMap<>(resultData);
+
+        for (int i = 0; i < values.length && !remaining.isEmpty(); i++) {
+            values[i] = remaining.remove(columns.get(i));
+        }
+
+        examResultItem.getResultData().clear();
+        examResultItem.setResultValues(encode(Arrays.asList(values)));
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.components.sheet.SheetWriter;
+import com.schoolplus.office.components.sheet.SheetWriters;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+import com.schoolplus.office.repository.ExamResultItemRepository;
+import com.schoolplus.office.repository.ExamResultRepository;
+import com.schoolplus.office.web.exceptions.ExamResultNotFoundException;
+import com.schoolplus.office.web.models.ErrorDesc;
+import com.schoolplus.office.web.models.ExamResultExportFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes the items of an exam result to a spreadsheet while they are read from the database.
+ * Every item is detached once written, so neither the persistence context nor the writer
+ * holds more than a window of rows.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ExamResultExporter {
+
+    static final int PAGE_SIZE = 500;
+    static final List<String> RANKING_COLUMNS = List.of("Overall Rank", "Classroom Rank", "Grade Rank", "Percentile");
+
+    private final ExamResultRepository examResultRepository;
+    private final ExamResultItemRepository examResultItemRepository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void export(Long examResultId, ExamResultExportFormat format, OutputStream outputStream) throws IOException {
+        ExamResult examResult = examResultRepository.findById(examResultId)
+                .orElseThrow(() -> {
+                    log.warn("Exam Result with given id does not exists [examResultId: {}]", examResultId);
+                    throw new ExamResultNotFoundException(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc());
+                });
+
+        try (SheetWriter sheetWriter = SheetWriters.forFormat(format, outputStream)) {
+            if (examResult.getResultColumns() != null) {
+                writeColumnar(examResult, sheetWriter);
+            } else {
+                writeLegacy(examResult, sheetWriter);
+            }
+        }
+
+        log.info("The Exam Result has been exported [examResultId: {}, format: {}]", examResultId, format);
+    }
+
+    private void writeColumnar(ExamResult examResult, SheetWriter sheetWriter) throws IOException {
+        List<String> columns = new ArrayList<>(examResult.getResultColumns());
+        sheetWriter.writeRow(header(columns));
+
+        try (Stream<ExamResultItem> examResultItems = examResultItemRepository.streamAllByExamResultId(examResult.getId())) {
+            Iterator<ExamResultItem> iterator = examResultItems.iterator();
+
+            while (iterator.hasNext()) {
+                ExamResultItem examResultItem = iterator.next();
+
+                List<String> row = new ArrayList<>(columns.size() + RANKING_COLUMNS.size());
+                List<String> values = ExamResultDataCodec.decode(examResultItem.getResultValues());
+
+                for (int i = 0; i < columns.size(); i++) {
+                    row.add(i < values.size() ? values.get(i) : null);
+                }
+
+                sheetWriter.writeRow(addRankings(row, examResultItem));
+                entityManager.detach(examResultItem);
+            }
+        }
+    }
+
+    /**
+     * Results stored before the columnar format keep their data in a collection table, which can't be
+     * loaded while a streaming result set is open on the connection, so they are paged instead.
+     */
+    private void writeLegacy(ExamResult examResult, SheetWriter sheetWriter) throws IOException {
+        Long examResultId = examResult.getId();
+        List<String> columns = examResultItemRepository.findAllResultDataKeysByExamResultId(examResultId);
+        sheetWriter.writeRow(header(columns));
+
+        int page = 0;
+        List<ExamResultItem> examResultItems;
+
+        do {
+            examResultItems = examResultItemRepository
+                    .findAllByExamResult_IdOrderByIdAsc(examResultId, PageRequest.of(page++, PAGE_SIZE));
+
+            for (ExamResultItem examResultItem : examResultItems) {
+                Map<String, String> resultData = examResultItem.getResultData();
+
+                List<String> row = new ArrayList<>(columns.size() + RANKING_COLUMNS.size());
+                columns.forEach(column -> row.add(resultData.get(column)));
+
+                sheetWriter.writeRow(addRankings(row, examResultItem));
+            }
+
+            entityManager.clear();
+        } while (examResultItems.size() == PAGE_SIZE);
+    }
+
+    private static List<String> header(List<String> columns) {
+        List<String> header = new ArrayList<>(columns.size() + RANKING_COLUMNS.size());
+        header.addAll(columns);
+        header.addAll(RANKING_COLUMNS);
+
+        return header;
+    }
+
+    private static List<String> addRankings(List<String> row, ExamResultItem examResultItem) {
+        row.add(toString(examResultItem.getOverallRank()));
+        row.add(toString(examResultItem.getClassroomRank()));
+        row.add(toString(examResultItem.getGradeRank()));
+        row.add(examResultItem.getPercentile() != null ? examResultItem.getPercentile().toPlainString() : null);
+
+        return row;
+    }
+
+    private static String toString(Integer value) {
+        return value != null ? value.toString() : null;
+    }
+
+}
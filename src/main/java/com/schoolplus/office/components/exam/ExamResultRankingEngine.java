@@ -0,0 +1,118 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.domain.Classroom;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks the items of an {@link ExamResult} by {@code sortable}, highest first, in a single pass over the
+ * sorted items. Equal scores share a rank (1, 2, 2, 4). The percentile is the share of items scoring
+ * strictly lower. Items without a score are left unranked.
+ */
+@Component
+public class ExamResultRankingEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    public void rank(ExamResult examResult) {
+        List<ExamResultItem> rankedItems = new ArrayList<>(examResult.getExamResultItems().size());
+
+        for (ExamResultItem examResultItem : examResult.getExamResultItems()) {
+            if (examResultItem.getSortable() != null) {
+                rankedItems.add(examResultItem);
+            } else {
+                examResultItem.setOverallRank(null);
+                examResultItem.setClassroomRank(null);
+                examResultItem.setGradeRank(null);
+                examResultItem.setPercentile(null);
+            }
+        }
+
+        rankedItems.sort(Comparator.comparing(ExamResultItem::getSortable).reversed());
+
+        int size = rankedItems.size();
+        Map<Long, RankCounter> classroomCounters = new HashMap<>();
+        Map<Long, RankCounter> gradeCounters = new HashMap<>();
+
+        BigDecimal previous = null;
+        int overallRank = 0;
+        int tieStart = 0;
+
+        for (int i = 0; i < size; i++) {
+            ExamResultItem examResultItem = rankedItems.get(i);
+            BigDecimal sortable = examResultItem.getSortable();
+
+            if (previous == null || sortable.compareTo(previous) != 0) {
+                assignPercentile(rankedItems, tieStart, i, size);
+                tieStart = i;
+                overallRank = i + 1;
+                previous = sortable;
+            }
+
+            examResultItem.setOverallRank(overallRank);
+
+            Classroom classroom = examResultItem.getClassroom();
+
+            if (classroom != null) {
+                examResultItem.setClassroomRank(classroomCounters
+                        .computeIfAbsent(classroom.getId(), id -> new RankCounter())
+                        .next(sortable));
+            } else {
+                examResultItem.setClassroomRank(null);
+            }
+
+            if (classroom != null && classroom.getGrade() != null) {
+                examResultItem.setGradeRank(gradeCounters
+                        .computeIfAbsent(classroom.getGrade().getId(), id -> new RankCounter())
+                        .next(sortable));
+            } else {
+                examResultItem.setGradeRank(null);
+            }
+        }
+
+        assignPercentile(rankedItems, tieStart, size, size);
+    }
+
+    private static void assignPercentile(List<ExamResultItem> rankedItems, int from, int to, int size) {
+        if (from == to) {
+            return;
+        }
+
+        BigDecimal percentile = BigDecimal.valueOf(size - to)
+                .multiply(HUNDRED)
+                .divide(BigDecimal.valueOf(size), 2, RoundingMode.HALF_UP);
+
+        for (int i = from; i < to; i++) {
+            rankedItems.get(i).setPercentile(percentile);
+        }
+    }
+
+    private static final class RankCounter {
+
+        private int seen;
+        private int rank;
+        private BigDecimal last;
+
+        int next(BigDecimal sortable) {
+            seen++;
+
+            if (last == null || sortable.compareTo(last) != 0) {
+                rank = seen;
+                last = sortable;
+            }
+
+            return rank;
+        }
+
+    }
+
+}
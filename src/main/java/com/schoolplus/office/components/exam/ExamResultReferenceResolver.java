@@ -0,0 +1,75 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.domain.Classroom;
+import com.schoolplus.office.domain.Student;
+import com.schoolplus.office.repository.ClassroomRepository;
+import com.schoolplus.office.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads students and classrooms referenced by an imported sheet in chunked {@code IN (...)} queries,
+ * keyed by their student / class numbers.
+ */
+@RequiredArgsConstructor
+@Component
+public class ExamResultReferenceResolver {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final ClassroomRepository classroomRepository;
+
+    public Map<Long, Student> resolveStudents(Collection<Long> studentNumbers) {
+        Map<Long, Student> students = new HashMap<>(capacityFor(studentNumbers.size()));
+
+        for (List<Long> chunk : chunk(studentNumbers)) {
+            userRepository.findAllStudentsByStudentNumberIn(chunk)
+                    .forEach(student -> students.put(student.getStudentNumber(), student));
+        }
+
+        return students;
+    }
+
+    public Map<Long, Classroom> resolveClassrooms(Collection<Long> classNumbers) {
+        Map<Long, Classroom> classrooms = new HashMap<>(capacityFor(classNumbers.size()));
+
+        for (List<Long> chunk : chunk(classNumbers)) {
+            classroomRepository.findAllByClassNumberIn(chunk)
+                    .forEach(classroom -> classrooms.put(classroom.getClassNumber(), classroom));
+        }
+
+        return classrooms;
+    }
+
+    private static List<List<Long>> chunk(Collection<Long> numbers) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> current = new ArrayList<>(Math.min(CHUNK_SIZE, numbers.size()));
+
+        for (Long number : numbers) {
+            current.add(number);
+
+            if (current.size() == CHUNK_SIZE) {
+                chunks.add(current);
+                current = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+
+        return chunks;
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.components.sheet.SheetRowHandler;
+import com.schoolplus.office.domain.Classroom;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+import com.schoolplus.office.domain.Student;
+import com.schoolplus.office.web.models.ExamImportReportDto;
+import com.schoolplus.office.web.models.ReferenceField;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns streamed sheet rows into {@link ExamResultItem}s. The first row is taken as the header and
+ * laid out once against the {@link CompiledExamSkeleton}, so cells are dispatched by position.
+ * A handler only touches its own state while reading, so sheets can be parsed concurrently;
+ * {@link #mergeInto(ExamResult)} and {@link #bindReferences(Map, Map, ExamImportReportDto)} run afterwards
+ * on the importing thread.
+ */
+@Slf4j
+public class ExamResultSheetHandler implements SheetRowHandler {
+
+    private final CompiledExamSkeleton compiledSkeleton;
+    private final ExamImportJob importJob;
+
+    private final List<ExamResultItem> items = new ArrayList<>();
+    private final List<String[]> itemValues = new ArrayList<>();
+    private final List<Long> itemStudentNumbers = new ArrayList<>();
+    private final List<Long> itemClassNumbers = new ArrayList<>();
+    private final Set<Long> studentNumbers = new HashSet<>();
+    private final Set<Long> classNumbers = new HashSet<>();
+
+    private List<String> header;
+    private List<String> columns;
+    private int[] columnIndexes;
+    private ReferenceField[] referenceFields;
+    private int columnCount;
+
+    public ExamResultSheetHandler(CompiledExamSkeleton compiledSkeleton, ExamImportJob importJob) {
+        this.compiledSkeleton = compiledSkeleton;
+        this.importJob = importJob;
+    }
+
+    @Override
+    public void handleRow(int rowIndex, List<String> cells) {
+        if (header == null) {
+            readHeader(cells);
+            return;
+        }
+
+        if (isBlank(cells)) {
+            return;
+        }
+
+        ExamResultItem examResultItem = new ExamResultItem();
+        String[] values = new String[columnCount];
+        Long studentNumber = null;
+        Long classNumber = null;
+
+        for (int ic = 0; ic < header.size(); ic++) {
+            if (columnIndexes[ic] < 0) {
+                continue;
+            }
+
+            String rowVal = ic < cells.size() ? cells.get(ic) : null;
+            ReferenceField referenceField = referenceFields[ic];
+
+            if (referenceField != null && rowVal != null) {
+                try {
+                    switch (referenceField) {
+                        case STUDENT_NO:
+                            studentNumber = toNumber(rowVal);
+                            studentNumbers.add(studentNumber);
+                            break;
+                        case CLASSROOM_NO:
+                            classNumber = toNumber(rowVal);
+                            classNumbers.add(classNumber);
+                            break;
+                        case SORTABLE:
+                            examResultItem.setSortable(new BigDecimal(rowVal.replace(",", ".")));
+                            break;
+                        default:
+                            break;
+                    }
+                } catch (NumberFormatException e) {
+                    log.warn("Reference cell of the result row is not a number [rowIndex: {}, column: {}, value: {}]",
+                            rowIndex, header.get(ic), rowVal);
+                    throw e;
+                }
+            }
+
+            values[columnIndexes[ic]] = rowVal;
+        }
+
+        items.add(examResultItem);
+        itemValues.add(values);
+        itemStudentNumbers.add(studentNumber);
+        itemClassNumbers.add(classNumber);
+
+        importJob.rowParsed();
+    }
+
+    /**
+     * A row whose mapped cells are all empty, such as the formatted but unused rows below the data.
+     */
+    private boolean isBlank(List<String> cells) {
+        for (int ic = 0; ic < header.size() && ic < cells.size(); ic++) {
+            if (columnIndexes[ic] >= 0 && cells.get(ic) != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Takes the named header cells as the columns of the result. Unnamed and repeated header cells are skipped.
+     */
+    private void readHeader(List<String> cells) {
+        header = cells;
+        columnIndexes = new int[cells.size()];
+
+        columns = new ArrayList<>(cells.size());
+
+        for (int ic = 0; ic < cells.size(); ic++) {
+            String cellName = cells.get(ic);
+
+            if (cellName == null || columns.contains(cellName)) {
+                columnIndexes[ic] = -1;
+            } else {
+                columnIndexes[ic] = columns.size();
+                columns.add(cellName);
+            }
+        }
+
+        columnCount = columns.size();
+        referenceFields = compiledSkeleton.layout(cells);
+    }
+
+    /**
+     * Adds the parsed items to the result. Columns unknown to the result are appended to its columns
+     * and the values of every item are written in the result's column order.
+     */
+    public void mergeInto(ExamResult examResult) {
+        if (header == null) {
+            return;
+        }
+
+        List<String> resultColumns = examResult.getResultColumns() != null
+                ? new ArrayList<>(examResult.getResultColumns())
+                : new ArrayList<>(columns.size());
+
+        int[] positions = new int[columns.size()];
+
+        for (int i = 0; i < columns.size(); i++) {
+            int position = resultColumns.indexOf(columns.get(i));
+
+            if (position < 0) {
+                position = resultColumns.size();
+                resultColumns.add(columns.get(i));
+            }
+
+            positions[i] = position;
+        }
+
+        examResult.setResultColumns(resultColumns);
+
+        for (int i = 0; i < items.size(); i++) {
+            String[] values = itemValues.get(i);
+            String[] orderedValues = new String[resultColumns.size()];
+
+            for (int ic = 0; ic < values.length; ic++) {
+                orderedValues[positions[ic]] = values[ic];
+            }
+
+            ExamResultItem examResultItem = items.get(i);
+            examResultItem.setResultValues(ExamResultDataCodec.encode(Arrays.asList(orderedValues)));
+
+            examResult.addExamResultItem(examResultItem);
+        }
+
+        itemValues.clear();
+    }
+
+    public Set<Long> getStudentNumbers() {
+        return studentNumbers;
+    }
+
+    public Set<Long> getClassNumbers() {
+        return classNumbers;
+    }
+
+    /**
+     * Binds already resolved students and classrooms, so several sheets can share one bulk resolution.
+     * Numbers missing from the maps are added to the report.
+     */
+    public void bindReferences(Map<Long, Student> students, Map<Long, Classroom> classrooms,
+                               ExamImportReportDto importReport) {
+        for (int i = 0; i < items.size(); i++) {
+            ExamResultItem examResultItem = items.get(i);
+            Long studentNumber = itemStudentNumbers.get(i);
+            Long classNumber = itemClassNumbers.get(i);
+
+            if (studentNumber != null) {
+                Student student = students.get(studentNumber);
+
+                if (student != null) {
+                    examResultItem.setStudent(student);
+                } else {
+                    importReport.getUnresolvedStudentNumbers().add(studentNumber);
+                }
+            }
+
+            if (classNumber != null) {
+                Classroom classroom = classrooms.get(classNumber);
+
+                if (classroom != null) {
+                    examResultItem.setClassroom(classroom);
+                } else {
+                    importReport.getUnresolvedClassNumbers().add(classNumber);
+                }
+            }
+        }
+    }
+
+    private static long toNumber(String value) {
+        return Math.round(Double.parseDouble(value));
+    }
+
+}
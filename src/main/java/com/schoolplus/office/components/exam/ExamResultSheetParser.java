@@ -0,0 +1,160 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.components.sheet.SheetReader;
+import com.schoolplus.office.components.sheet.SheetReaders;
+import com.schoolplus.office.web.models.ExamImportReportDto;
+import com.schoolplus.office.web.models.SheetImportErrorDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Parses result sheets into {@link ExamResultSheetHandler}s. Several sheets are parsed in parallel
+ * on the sheet parsing pool; each one streams into its own handler, so nothing but the reader of
+ * its file is shared between the workers until the handlers are merged by the caller.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ExamResultSheetParser {
+
+    private final ForkJoinPool examSheetParsingPool;
+
+    /**
+     * Lists every sheet of the file. A file which can't be opened is reported and contributes no sheets.
+     */
+    public List<ExamResultSheetSource> listSheets(String fileName, File file, ExamImportReportDto importReport) {
+        List<ExamResultSheetSource> sheets = new ArrayList<>();
+
+        try {
+            int sheetCount = SheetReaders.forFile(file).countSheets(file);
+
+            for (int sheetIndex = 0; sheetIndex < sheetCount; sheetIndex++) {
+                sheets.add(new ExamResultSheetSource(fileName, file, sheetIndex));
+            }
+        } catch (IOException e) {
+            log.warn("The result file couldn't be opened [fileName: {}]", fileName, e);
+            importReport.getSheetErrors().add(new SheetImportErrorDto(fileName, null, e.getMessage()));
+        }
+
+        return sheets;
+    }
+
+    public ExamResultSheetHandler parse(ExamResultSheetSource source,
+                                        CompiledExamSkeleton compiledSkeleton,
+                                        ExamImportJob importJob) throws IOException {
+        return parse(SheetReaders.forFile(source.getFile()), source, compiledSkeleton, importJob);
+    }
+
+    /**
+     * Parses the sheets concurrently. Sheets of a file whose reader can't read them independently are
+     * parsed together in one pass instead. A sheet which fails is left out and reported; the handlers
+     * of the others are returned in the order of the sources.
+     */
+    public List<ExamResultSheetHandler> parseAll(List<ExamResultSheetSource> sources,
+                                                 CompiledExamSkeleton compiledSkeleton,
+                                                 ExamImportJob importJob,
+                                                 ExamImportReportDto importReport) {
+        Map<File, List<ExamResultSheetSource>> sourcesByFile = sources.stream()
+                .collect(Collectors.groupingBy(ExamResultSheetSource::getFile, LinkedHashMap::new, Collectors.toList()));
+
+        List<List<ExamResultSheetSource>> batches = new ArrayList<>(sources.size());
+        List<ForkJoinTask<List<ExamResultSheetHandler>>> tasks = new ArrayList<>(sources.size());
+
+        for (Map.Entry<File, List<ExamResultSheetSource>> fileSources : sourcesByFile.entrySet()) {
+            SheetReader sheetReader;
+
+            try {
+                // One reader per file, so whatever it loads for the file is shared by its sheets
+                sheetReader = SheetReaders.forFile(fileSources.getKey());
+            } catch (IOException e) {
+                fileSources.getValue().forEach(source -> reportFailure(source, e, importReport));
+                continue;
+            }
+
+            if (sheetReader.readsSheetsIndependently()) {
+                for (ExamResultSheetSource source : fileSources.getValue()) {
+                    batches.add(List.of(source));
+                    tasks.add(examSheetParsingPool.submit(
+                            () -> List.of(parse(sheetReader, source, compiledSkeleton, importJob))));
+                }
+            } else {
+                batches.add(fileSources.getValue());
+                tasks.add(examSheetParsingPool.submit(
+                        () -> parseInOnePass(sheetReader, fileSources.getValue(), compiledSkeleton, importJob)));
+            }
+        }
+
+        List<ExamResultSheetHandler> sheetHandlers = new ArrayList<>(sources.size());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                sheetHandlers.addAll(tasks.get(i).get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                batches.get(i).forEach(source -> reportFailure(source, cause, importReport));
+            } catch (InterruptedException e) {
+                tasks.forEach(task -> task.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Parsing of the result sheets was interrupted", e);
+            }
+        }
+
+        return sheetHandlers;
+    }
+
+    private ExamResultSheetHandler parse(SheetReader sheetReader,
+                                         ExamResultSheetSource source,
+                                         CompiledExamSkeleton compiledSkeleton,
+                                         ExamImportJob importJob) throws IOException {
+        ExamResultSheetHandler sheetHandler = new ExamResultSheetHandler(compiledSkeleton, importJob);
+        sheetReader.read(source.getFile(), source.getSheetIndex(), sheetHandler);
+
+        return sheetHandler;
+    }
+
+    /**
+     * Parses sheets of the same file in a single read, handing each sheet's rows to its own handler.
+     */
+    private List<ExamResultSheetHandler> parseInOnePass(SheetReader sheetReader,
+                                                        List<ExamResultSheetSource> sources,
+                                                        CompiledExamSkeleton compiledSkeleton,
+                                                        ExamImportJob importJob) throws IOException {
+        List<ExamResultSheetHandler> sheetHandlers = new ArrayList<>(sources.size());
+        List<ExamResultSheetHandler> handlersBySheet = new ArrayList<>();
+
+        for (ExamResultSheetSource source : sources) {
+            ExamResultSheetHandler sheetHandler = new ExamResultSheetHandler(compiledSkeleton, importJob);
+
+            while (handlersBySheet.size() <= source.getSheetIndex()) {
+                handlersBySheet.add(null);
+            }
+
+            handlersBySheet.set(source.getSheetIndex(), sheetHandler);
+            sheetHandlers.add(sheetHandler);
+        }
+
+        sheetReader.readAll(sources.get(0).getFile(), handlersBySheet);
+
+        return sheetHandlers;
+    }
+
+    private static void reportFailure(ExamResultSheetSource source, Throwable cause, ExamImportReportDto importReport) {
+        log.warn("The result sheet couldn't be read [fileName: {}, sheetIndex: {}]",
+                source.getFileName(), source.getSheetIndex(), cause);
+        importReport.getSheetErrors()
+                .add(new SheetImportErrorDto(source.getFileName(), source.getSheetIndex(), cause.getMessage()));
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.schoolplus.office.components.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.File;
+
+/**
+ * A single sheet of an uploaded result file.
+ */
+@AllArgsConstructor
+@Getter
+public class ExamResultSheetSource {
+
+    private final String fileName;
+    private final File file;
+    private final int sheetIndex;
+
+}
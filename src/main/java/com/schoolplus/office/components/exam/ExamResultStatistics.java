@@ -0,0 +1,144 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.domain.Classroom;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+import com.schoolplus.office.domain.ExamResultStatistic;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Working set of the running statistics of one {@link ExamResult}. Items are added or removed with the
+ * data and classroom they have at the time of the call; only the touched statistics are written back.
+ * Excluded columns, the reference columns of the result, are not kept.
+ */
+public class ExamResultStatistics {
+
+    private final ExamResult examResult;
+    private final Map<Key, ExamResultStatistic> statistics = new HashMap<>();
+    private final Set<ExamResultStatistic> touched = new LinkedHashSet<>();
+    private final Set<String> excludedColumns;
+
+    ExamResultStatistics(ExamResult examResult, List<ExamResultStatistic> statistics, Set<String> excludedColumns) {
+        this.examResult = examResult;
+        this.excludedColumns = excludedColumns;
+
+        for (ExamResultStatistic statistic : statistics) {
+            Classroom classroom = statistic.getClassroom();
+            this.statistics.put(new Key(statistic.getColumnName(), classroom != null ? classroom.getId() : null),
+                    statistic);
+        }
+    }
+
+    public ExamResult getExamResult() {
+        return examResult;
+    }
+
+    public void add(ExamResultItem examResultItem) {
+        ExamResultDataCodec.readResultData(examResultItem).forEach((column, value) -> {
+            BigDecimal number = parseNumber(value);
+
+            if (number != null && !excludedColumns.contains(column)) {
+                statistic(column, examResultItem.getClassroom()).addValue(number);
+            }
+        });
+    }
+
+    public void remove(ExamResultItem examResultItem) {
+        ExamResultDataCodec.readResultData(examResultItem).forEach((column, value) -> {
+            BigDecimal number = parseNumber(value);
+
+            if (number != null && !excludedColumns.contains(column)) {
+                statistic(column, examResultItem.getClassroom()).removeValue(number);
+            }
+        });
+    }
+
+    Collection<ExamResultStatistic> getTouched() {
+        return touched;
+    }
+
+    /**
+     * Forgets the statistics left without values, which are deleted on save; a later addition to the same
+     * column and classroom starts a new statistic.
+     */
+    void removeEmptied() {
+        statistics.values().removeIf(statistic -> statistic.getCount() == 0);
+    }
+
+    private ExamResultStatistic statistic(String column, Classroom classroom) {
+        Key key = new Key(column, classroom != null ? classroom.getId() : null);
+
+        ExamResultStatistic statistic = statistics.computeIfAbsent(key, k -> {
+            ExamResultStatistic created = new ExamResultStatistic();
+            created.setExamResult(examResult);
+            created.setColumnName(column);
+            created.setClassroom(classroom);
+            return created;
+        });
+
+        touched.add(statistic);
+
+        return statistic;
+    }
+
+    /**
+     * Parses sheet values such as {@code 312.45} or {@code 312,45}; anything else is not a numeric value.
+     */
+    static BigDecimal parseNumber(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        char first = value.charAt(0);
+
+        if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.' && first != ',') {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(value.replace(",", "."));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Key {
+
+        private final String column;
+        private final Long classroomId;
+
+        Key(String column, Long classroomId) {
+            this.column = column;
+            this.classroomId = classroomId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return column.equals(key.column) && Objects.equals(classroomId, key.classroomId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(column, classroomId);
+        }
+
+    }
+
+}
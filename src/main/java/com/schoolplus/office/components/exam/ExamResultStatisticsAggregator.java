@@ -0,0 +1,233 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultStatistic;
+import com.schoolplus.office.repository.ExamResultStatisticRepository;
+import com.schoolplus.office.web.models.ColumnStatisticsDto;
+import com.schoolplus.office.web.models.ExamResultAnalyticsDto;
+import com.schoolplus.office.web.models.HistogramBucketDto;
+import com.schoolplus.office.web.models.ReferenceField;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the running statistics of exam results up to date and summarizes them per column,
+ * classroom and grade. Summaries only read the stored aggregates, never the result items.
+ */
+@RequiredArgsConstructor
+@Component
+public class ExamResultStatisticsAggregator {
+
+    static final int HISTOGRAM_BUCKETS = 10;
+    private static final int SCALE = 4;
+
+    private final ExamResultStatisticRepository examResultStatisticRepository;
+    private final ExamSkeletonLayoutCache examSkeletonLayoutCache;
+
+    /**
+     * Loads the stored statistics of the result. Results imported before statistics were kept have none,
+     * so theirs are computed from the current items and written back with the next save.
+     */
+    public ExamResultStatistics load(ExamResult examResult) {
+        List<ExamResultStatistic> statistics = examResult.getId() != null
+                ? examResultStatisticRepository.findAllByExamResult_Id(examResult.getId())
+                : Collections.emptyList();
+
+        if (statistics.isEmpty()) {
+            return compute(examResult);
+        }
+
+        return new ExamResultStatistics(examResult, statistics, referenceColumns(examResult));
+    }
+
+    /**
+     * Discards the stored statistics of the result and computes them again from all of its items.
+     */
+    public void rebuild(ExamResult examResult) {
+        if (examResult.getId() != null) {
+            examResultStatisticRepository.deleteAllByExamResultId(examResult.getId());
+        }
+
+        save(compute(examResult));
+    }
+
+    private ExamResultStatistics compute(ExamResult examResult) {
+        ExamResultStatistics statistics = new ExamResultStatistics(examResult, Collections.emptyList(),
+                referenceColumns(examResult));
+        examResult.getExamResultItems().forEach(statistics::add);
+
+        return statistics;
+    }
+
+    /**
+     * Student and classroom numbers are identifiers rather than scores, and nearly every value is distinct.
+     */
+    private Set<String> referenceColumns(ExamResult examResult) {
+        if (examResult.getExam() == null || examResult.getExam().getExamSkeleton() == null) {
+            return Collections.emptySet();
+        }
+
+        CompiledExamSkeleton compiledSkeleton = examSkeletonLayoutCache.get(examResult.getExam().getExamSkeleton());
+
+        return Stream.of(ReferenceField.STUDENT_NO, ReferenceField.CLASSROOM_NO)
+                .map(compiledSkeleton::fieldName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    public void save(ExamResultStatistics statistics) {
+        List<ExamResultStatistic> emptied = statistics.getTouched().stream()
+                .filter(statistic -> statistic.getCount() == 0)
+                .collect(Collectors.toList());
+
+        List<ExamResultStatistic> updated = statistics.getTouched().stream()
+                .filter(statistic -> statistic.getCount() > 0)
+                .collect(Collectors.toList());
+
+        emptied.stream()
+                .filter(statistic -> statistic.getId() != null)
+                .forEach(examResultStatisticRepository::delete);
+
+        examResultStatisticRepository.saveAll(updated);
+        statistics.getTouched().clear();
+        statistics.removeEmptied();
+    }
+
+    public List<ExamResultAnalyticsDto> summarize(Long examResultId, List<ExamResultStatistic> statistics) {
+        Map<String, List<ExamResultStatistic>> byColumn = statistics.stream()
+                .collect(Collectors.groupingBy(ExamResultStatistic::getColumnName, TreeMap::new, Collectors.toList()));
+
+        List<ExamResultAnalyticsDto> analytics = new ArrayList<>(byColumn.size());
+
+        byColumn.forEach((columnName, columnStatistics) -> {
+            ExamResultAnalyticsDto examResultAnalytics = new ExamResultAnalyticsDto();
+            examResultAnalytics.setExamResultId(examResultId);
+            examResultAnalytics.setColumnName(columnName);
+            examResultAnalytics.setOverall(summarize(columnStatistics));
+
+            columnStatistics.stream()
+                    .filter(statistic -> statistic.getClassroom() != null)
+                    .forEach(statistic -> {
+                        ColumnStatisticsDto classroomStatistics = summarize(Collections.singletonList(statistic));
+                        classroomStatistics.setClassRoomId(statistic.getClassroom().getId());
+                        examResultAnalytics.getClassrooms().add(classroomStatistics);
+                    });
+
+            columnStatistics.stream()
+                    .filter(statistic -> statistic.getClassroom() != null && statistic.getClassroom().getGrade() != null)
+                    .collect(Collectors.groupingBy(statistic -> statistic.getClassroom().getGrade().getId(),
+                            TreeMap::new, Collectors.toList()))
+                    .forEach((gradeId, gradeStatistics) -> {
+                        ColumnStatisticsDto summary = summarize(gradeStatistics);
+                        summary.setGradeId(gradeId);
+                        examResultAnalytics.getGrades().add(summary);
+                    });
+
+            analytics.add(examResultAnalytics);
+        });
+
+        return analytics;
+    }
+
+    private ColumnStatisticsDto summarize(List<ExamResultStatistic> statistics) {
+        long count = 0;
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal sumOfSquares = BigDecimal.ZERO;
+        TreeMap<BigDecimal, Long> valueCounts = new TreeMap<>();
+
+        for (ExamResultStatistic statistic : statistics) {
+            count += statistic.getCount();
+            sum = sum.add(statistic.getSum());
+            sumOfSquares = sumOfSquares.add(statistic.getSumOfSquares());
+            statistic.getValueCounts().forEach((value, occurrences) -> valueCounts.merge(value, occurrences, Long::sum));
+        }
+
+        ColumnStatisticsDto columnStatistics = new ColumnStatisticsDto();
+        columnStatistics.setCount(count);
+
+        if (count == 0) {
+            return columnStatistics;
+        }
+
+        BigDecimal size = BigDecimal.valueOf(count);
+        BigDecimal average = sum.divide(size, MathContext.DECIMAL64);
+        BigDecimal variance = sumOfSquares.divide(size, MathContext.DECIMAL64)
+                .subtract(average.multiply(average))
+                .max(BigDecimal.ZERO);
+
+        columnStatistics.setAverage(average.setScale(SCALE, RoundingMode.HALF_UP));
+        columnStatistics.setStandardDeviation(variance.sqrt(MathContext.DECIMAL64).setScale(SCALE, RoundingMode.HALF_UP));
+        columnStatistics.setMin(valueCounts.firstKey());
+        columnStatistics.setMax(valueCounts.lastKey());
+        columnStatistics.setMedian(median(valueCounts, count));
+        columnStatistics.setHistogram(histogram(valueCounts));
+
+        return columnStatistics;
+    }
+
+    private static BigDecimal median(TreeMap<BigDecimal, Long> valueCounts, long count) {
+        long lowerPosition = (count - 1) / 2;
+        long upperPosition = count / 2;
+
+        BigDecimal lower = null;
+        long seen = 0;
+
+        for (Map.Entry<BigDecimal, Long> entry : valueCounts.entrySet()) {
+            seen += entry.getValue();
+
+            if (lower == null && seen > lowerPosition) {
+                lower = entry.getKey();
+            }
+
+            if (seen > upperPosition) {
+                return lower.add(entry.getKey())
+                        .divide(BigDecimal.valueOf(2), SCALE, RoundingMode.HALF_UP);
+            }
+        }
+
+        return lower;
+    }
+
+    private static List<HistogramBucketDto> histogram(TreeMap<BigDecimal, Long> valueCounts) {
+        BigDecimal min = valueCounts.firstKey();
+        BigDecimal max = valueCounts.lastKey();
+        List<HistogramBucketDto> histogram = new ArrayList<>();
+
+        if (min.compareTo(max) == 0) {
+            histogram.add(new HistogramBucketDto(min, max, valueCounts.get(min)));
+            return histogram;
+        }
+
+        BigDecimal width = max.subtract(min).divide(BigDecimal.valueOf(HISTOGRAM_BUCKETS), MathContext.DECIMAL64);
+        long[] counts = new long[HISTOGRAM_BUCKETS];
+
+        valueCounts.forEach((value, occurrences) -> {
+            int bucket = value.subtract(min).divide(width, MathContext.DECIMAL64).intValue();
+            counts[Math.min(bucket, HISTOGRAM_BUCKETS - 1)] += occurrences;
+        });
+
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            BigDecimal lowerBound = min.add(width.multiply(BigDecimal.valueOf(i)));
+            BigDecimal upperBound = i == HISTOGRAM_BUCKETS - 1 ? max : lowerBound.add(width);
+
+            histogram.add(new HistogramBucketDto(lowerBound.setScale(SCALE, RoundingMode.HALF_UP),
+                    upperBound.setScale(SCALE, RoundingMode.HALF_UP), counts[i]));
+        }
+
+        return histogram;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.schoolplus.office.components.exam;
+
+import com.schoolplus.office.domain.ExamSkeleton;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the compiled layout of every skeleton used by imports. Entries are dropped when the skeleton
+ * is edited and are also checked against its version, so a layout compiled from a transaction
+ * which raced the edit is never served.
+ */
+@Slf4j
+@Component
+public class ExamSkeletonLayoutCache {
+
+    private final Map<Long, CompiledExamSkeleton> compiledSkeletons = new ConcurrentHashMap<>();
+
+    public CompiledExamSkeleton get(ExamSkeleton examSkeleton) {
+        CompiledExamSkeleton compiledSkeleton = compiledSkeletons.get(examSkeleton.getId());
+
+        if (compiledSkeleton != null && Objects.equals(compiledSkeleton.getVersion(), examSkeleton.getVersion())) {
+            return compiledSkeleton;
+        }
+
+        compiledSkeleton = CompiledExamSkeleton.compile(examSkeleton);
+        compiledSkeletons.put(examSkeleton.getId(), compiledSkeleton);
+
+        log.debug("Exam Skeleton layout has been compiled [examSkeletonId: {}, version: {}]",
+                examSkeleton.getId(), examSkeleton.getVersion());
+
+        return compiledSkeleton;
+    }
+
+    public void invalidate(Long examSkeletonId) {
+        compiledSkeletons.remove(examSkeletonId);
+    }
+
+}
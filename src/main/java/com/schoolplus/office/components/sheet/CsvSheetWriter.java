@@ -0,0 +1,107 @@
+package com.schoolplus.office.components.sheet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes RFC 4180 CSV through a small buffer, so rows reach the client while they are still being read.
+ * Files meant to be opened in a spreadsheet escape cells which would otherwise be run as formulas.
+ */
+public class CsvSheetWriter implements SheetWriter {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Writer writer;
+    private final boolean escapeFormulas;
+    private boolean started;
+
+    public CsvSheetWriter(OutputStream outputStream) {
+        this(outputStream, false);
+    }
+
+    public CsvSheetWriter(OutputStream outputStream, boolean escapeFormulas) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.escapeFormulas = escapeFormulas;
+    }
+
+    @Override
+    public void writeRow(List<String> cells) throws IOException {
+        if (!started) {
+            // Lets Excel detect UTF-8 for the Turkish column names
+            writer.write(BYTE_ORDER_MARK);
+            started = true;
+        }
+
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            writeCell(cells.get(i));
+        }
+
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCell(String cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+
+        if (escapeFormulas && isFormula(cell)) {
+            cell = "'" + cell;
+        }
+
+        boolean quoted = cell.indexOf(',') > -1 || cell.indexOf('"') > -1
+                || cell.indexOf('\n') > -1 || cell.indexOf('\r') > -1;
+
+        if (!quoted) {
+            writer.write(cell);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(cell.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Cells starting with {@code = + - @} are evaluated by spreadsheets, except plain numbers such as
+     * negative nets, which are left as they are. A leading tab or carriage return is skipped by some
+     * spreadsheets before evaluating, so those cells are escaped as well.
+     */
+    private static boolean isFormula(String cell) {
+        if (cell.isEmpty()) {
+            return false;
+        }
+
+        char first = cell.charAt(0);
+
+        if (first == '=' || first == '@' || first == '\t' || first == '\r') {
+            return true;
+        }
+
+        if (first != '+' && first != '-') {
+            return false;
+        }
+
+        try {
+            new BigDecimal(cell.replace(',', '.'));
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+}
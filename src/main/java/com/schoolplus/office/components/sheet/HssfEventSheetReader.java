@@ -0,0 +1,202 @@
+package com.schoolplus.office.components.sheet;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads sheets of a .xls workbook through the HSSF event API, so only the
+ * current row is held in memory instead of the whole workbook DOM. The records of a
+ * workbook form a single stream, so every wanted sheet is read in one pass which stops
+ * after the last of them.
+ */
+public class HssfEventSheetReader implements SheetReader {
+
+    @Override
+    public void read(File file, int sheetIndex, SheetRowHandler handler) throws IOException {
+        List<SheetRowHandler> handlers = new ArrayList<>(Collections.nCopies(sheetIndex + 1, null));
+        handlers.set(sheetIndex, handler);
+
+        readAll(file, handlers);
+    }
+
+    @Override
+    public void readAll(File file, List<? extends SheetRowHandler> handlers) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+            RowListener rowListener = new RowListener(handlers);
+            HSSFListener listener = new MissingRecordAwareHSSFListener(rowListener);
+
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new AbortableHSSFListener() {
+                @Override
+                public short abortableProcessRecord(org.apache.poi.hssf.record.Record record) {
+                    listener.processRecord(record);
+
+                    return rowListener.isDone() ? (short) 1 : 0;
+                }
+            });
+
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (HSSFUserException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean readsSheetsIndependently() {
+        return false;
+    }
+
+    /**
+     * Collects the sheet records of the workbook globals and stops before the first sheet. The sheet
+     * records don't tell worksheets from chart or macro sheets, so the BOF record each of them points
+     * at is looked up for its type.
+     */
+    @Override
+    public int countSheets(File file) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+            List<Integer> bofPositions = new ArrayList<>();
+
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new AbortableHSSFListener() {
+                @Override
+                public short abortableProcessRecord(org.apache.poi.hssf.record.Record record) {
+                    if (record instanceof BoundSheetRecord) {
+                        bofPositions.add(((BoundSheetRecord) record).getPositionOfBof());
+                    } else if (record instanceof BOFRecord && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                        return 1;
+                    }
+
+                    return 0;
+                }
+            });
+
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+
+            Collections.sort(bofPositions);
+
+            DirectoryNode root = fileSystem.getRoot();
+            int count = 0;
+            long position = 0;
+
+            try (DocumentInputStream workbook = root.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(root))) {
+                for (int bofPosition : bofPositions) {
+                    position += workbook.skip(bofPosition - position);
+
+                    // sid, size and version precede the substream type
+                    int sid = workbook.readUShort();
+                    workbook.readUShort();
+                    workbook.readUShort();
+                    int type = workbook.readUShort();
+                    position += 8;
+
+                    if (sid == BOFRecord.sid && type == BOFRecord.TYPE_WORKSHEET) {
+                        count++;
+                    }
+                }
+            }
+
+            return count;
+        } catch (HSSFUserException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hands the rows of each worksheet to the handler at its index. Substreams are nested when charts
+     * are embedded in a sheet, so a sheet ends only at the EOF record taking the depth back to zero.
+     */
+    private static class RowListener implements HSSFListener {
+
+        private final List<? extends SheetRowHandler> handlers;
+
+        private SSTRecord sstRecord;
+        private int sheetIndex = -1;
+        private int depth;
+        private boolean done;
+        private List<String> cells = new ArrayList<>();
+
+        RowListener(List<? extends SheetRowHandler> handlers) {
+            this.handlers = handlers;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public void processRecord(org.apache.poi.hssf.record.Record record) {
+            if (record instanceof BOFRecord) {
+                if (depth++ == 0 && ((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                    sheetIndex++;
+                }
+                return;
+            }
+
+            if (record instanceof EOFRecord) {
+                if (--depth == 0 && sheetIndex >= handlers.size() - 1) {
+                    done = true;
+                }
+                return;
+            }
+
+            if (record instanceof SSTRecord) {
+                sstRecord = (SSTRecord) record;
+                return;
+            }
+
+            SheetRowHandler handler = sheetIndex >= 0 && sheetIndex < handlers.size() ? handlers.get(sheetIndex) : null;
+
+            if (handler == null) {
+                return;
+            }
+
+            if (record instanceof LastCellOfRowDummyRecord) {
+                handler.handleRow(((LastCellOfRowDummyRecord) record).getRow(), cells);
+                cells = new ArrayList<>();
+                return;
+            }
+
+            if (record instanceof CellValueRecordInterface) {
+                CellValueRecordInterface cell = (CellValueRecordInterface) record;
+                setCell(cell.getColumn(), cellValue(record));
+            }
+        }
+
+        private String cellValue(org.apache.poi.hssf.record.Record record) {
+            if (record instanceof LabelSSTRecord) {
+                return sstRecord.getString(((LabelSSTRecord) record).getSSTIndex()).getString();
+            } else if (record instanceof LabelRecord) {
+                return ((LabelRecord) record).getValue();
+            } else if (record instanceof NumberRecord) {
+                return String.valueOf(((NumberRecord) record).getValue());
+            }
+
+            return null;
+        }
+
+        private void setCell(int column, String value) {
+            while (cells.size() <= column) {
+                cells.add(null);
+            }
+
+            cells.set(column, value);
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.schoolplus.office.components.sheet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+public interface SheetReader {
+
+    default void read(File file, SheetRowHandler handler) throws IOException {
+        read(file, 0, handler);
+    }
+
+    void read(File file, int sheetIndex, SheetRowHandler handler) throws IOException;
+
+    /**
+     * Reads the sheet at the index of each handler; a {@code null} handler skips its sheet.
+     */
+    default void readAll(File file, List<? extends SheetRowHandler> handlers) throws IOException {
+        for (int sheetIndex = 0; sheetIndex < handlers.size(); sheetIndex++) {
+            if (handlers.get(sheetIndex) != null) {
+                read(file, sheetIndex, handlers.get(sheetIndex));
+            }
+        }
+    }
+
+    /**
+     * Whether a sheet can be read without going through the sheets before it. Sheets of readers which
+     * can't are better read in a single {@link #readAll} pass than concurrently.
+     */
+    default boolean readsSheetsIndependently() {
+        return true;
+    }
+
+    /**
+     * @return the number of worksheets, leaving out chart and macro sheets
+     */
+    int countSheets(File file) throws IOException;
+
+}
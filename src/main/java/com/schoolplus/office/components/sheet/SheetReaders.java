@@ -0,0 +1,22 @@
+package com.schoolplus.office.components.sheet;
+
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+import java.io.File;
+import java.io.IOException;
+
+public final class SheetReaders {
+
+    public static SheetReader forFile(File file) throws IOException {
+        FileMagic fileMagic = FileMagic.valueOf(file);
+
+        if (fileMagic == FileMagic.OLE2) {
+            return new HssfEventSheetReader();
+        } else if (fileMagic == FileMagic.OOXML) {
+            return new XssfSaxSheetReader();
+        }
+
+        throw new IOException("Unsupported spreadsheet format [format: " + fileMagic + "]");
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.schoolplus.office.components.sheet;
+
+import java.util.List;
+
+public interface SheetRowHandler {
+
+    /**
+     * Called once per physical row in sheet order. {@code cells} is indexed by column,
+     * blank or unsupported cells are {@code null}.
+     */
+    void handleRow(int rowIndex, List<String> cells);
+
+}
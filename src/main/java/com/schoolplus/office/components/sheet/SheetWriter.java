@@ -0,0 +1,15 @@
+package com.schoolplus.office.components.sheet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes rows one by one to an output stream. Closing the writer finishes the document
+ * but leaves the underlying stream open.
+ */
+public interface SheetWriter extends Closeable {
+
+    void writeRow(List<String> cells) throws IOException;
+
+}
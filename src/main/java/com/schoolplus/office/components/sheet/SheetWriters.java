@@ -0,0 +1,17 @@
+package com.schoolplus.office.components.sheet;
+
+import com.schoolplus.office.web.models.ExamResultExportFormat;
+
+import java.io.OutputStream;
+
+public final class SheetWriters {
+
+    public static SheetWriter forFormat(ExamResultExportFormat format, OutputStream outputStream) {
+        if (format == ExamResultExportFormat.CSV) {
+            return new CsvSheetWriter(outputStream, true);
+        }
+
+        return new SxssfSheetWriter(outputStream);
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.schoolplus.office.components.sheet;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes xlsx documents with a sliding window of rows; older rows are flushed to a compressed
+ * temporary file, so memory does not grow with the number of rows.
+ */
+public class SxssfSheetWriter implements SheetWriter {
+
+    private static final int ROW_ACCESS_WINDOW = 100;
+
+    private final OutputStream outputStream;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private int rowIndex;
+
+    public SxssfSheetWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet();
+    }
+
+    @Override
+    public void writeRow(List<String> cells) {
+        Row row = sheet.createRow(rowIndex++);
+
+        for (int i = 0; i < cells.size(); i++) {
+            if (cells.get(i) != null) {
+                Cell cell = row.createCell(i);
+                cell.setCellValue(cells.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,227 @@
+package com.schoolplus.office.components.sheet;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a sheet of a .xlsx workbook by SAX parsing the sheet part, so only the
+ * current row is held in memory instead of the whole workbook DOM. Every call opens its own
+ * read-only package, so sheets of the same file can be read concurrently. An instance reads a
+ * single file, see {@link SheetReaders#forFile}.
+ */
+public class XssfSaxSheetReader implements SheetReader {
+
+    private volatile ReadOnlySharedStringsTable sharedStrings;
+
+    @Override
+    public void read(File file, int sheetIndex, SheetRowHandler handler) throws IOException {
+        OPCPackage opcPackage = null;
+
+        try {
+            opcPackage = OPCPackage.open(file, PackageAccess.READ);
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(opcPackage).getSheetsData();
+            InputStream sheet = nextWorksheet(sheets);
+
+            for (int i = 0; i < sheetIndex && sheet != null; i++) {
+                sheet.close();
+                sheet = nextWorksheet(sheets);
+            }
+
+            if (sheet == null) {
+                return;
+            }
+
+            try (InputStream worksheet = sheet) {
+                XMLReader xmlReader = XMLHelper.newXMLReader();
+                xmlReader.setContentHandler(new SheetContentHandler(sharedStrings(opcPackage), handler));
+                xmlReader.parse(new InputSource(worksheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            if (opcPackage != null) {
+                opcPackage.revert();
+            }
+        }
+    }
+
+    @Override
+    public int countSheets(File file) throws IOException {
+        OPCPackage opcPackage = null;
+
+        try {
+            opcPackage = OPCPackage.open(file, PackageAccess.READ);
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(opcPackage).getSheetsData();
+            InputStream sheet;
+            int count = 0;
+
+            while ((sheet = nextWorksheet(sheets)) != null) {
+                sheet.close();
+                count++;
+            }
+
+            return count;
+        } catch (OpenXML4JException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            if (opcPackage != null) {
+                opcPackage.revert();
+            }
+        }
+    }
+
+    /**
+     * The shared strings are read once per file, by whichever sheet gets there first; the loaded table is
+     * only read afterwards, so the sheets share it.
+     */
+    private ReadOnlySharedStringsTable sharedStrings(OPCPackage opcPackage) throws IOException, SAXException {
+        ReadOnlySharedStringsTable loaded = sharedStrings;
+
+        if (loaded == null) {
+            synchronized (this) {
+                if (sharedStrings == null) {
+                    sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+                }
+
+                loaded = sharedStrings;
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Skips chart, macro and dialog sheets, which the workbook lists among its sheets too.
+     */
+    private static InputStream nextWorksheet(XSSFReader.SheetIterator sheets) throws IOException {
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+
+            if (XSSFRelation.WORKSHEET.getContentType().equals(sheets.getSheetPart().getContentType())) {
+                return sheet;
+            }
+
+            sheet.close();
+        }
+
+        return null;
+    }
+
+    private static class SheetContentHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final SheetRowHandler handler;
+
+        private final StringBuilder text = new StringBuilder();
+
+        private List<String> cells = new ArrayList<>();
+        private int rowIndex = -1;
+        private int columnIndex = -1;
+        private String cellType;
+        private boolean hasFormula;
+        private boolean collectingText;
+
+        SheetContentHandler(ReadOnlySharedStringsTable sharedStrings, SheetRowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String rowRef = attributes.getValue("r");
+                    rowIndex = rowRef != null ? Integer.parseInt(rowRef) - 1 : rowIndex + 1;
+                    columnIndex = -1;
+                    cells = new ArrayList<>();
+                    break;
+                case "c":
+                    String cellRef = attributes.getValue("r");
+                    columnIndex = cellRef != null ? new CellReference(cellRef).getCol() : columnIndex + 1;
+                    cellType = attributes.getValue("t");
+                    hasFormula = false;
+                    text.setLength(0);
+                    break;
+                case "f":
+                    hasFormula = true;
+                    break;
+                case "v":
+                case "t":
+                    collectingText = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collectingText = false;
+                    break;
+                case "c":
+                    setCell(columnIndex, cellValue());
+                    break;
+                case "row":
+                    handler.handleRow(rowIndex, cells);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectingText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private String cellValue() {
+            if (hasFormula || text.length() == 0) {
+                return null;
+            }
+
+            if ("s".equals(cellType)) {
+                return sharedStrings.getItemAt(Integer.parseInt(text.toString())).getString();
+            } else if ("inlineStr".equals(cellType)) {
+                return text.toString();
+            } else if (cellType == null || "n".equals(cellType)) {
+                return String.valueOf(Double.parseDouble(text.toString()));
+            }
+
+            return null;
+        }
+
+        private void setCell(int column, String value) {
+            while (cells.size() <= column) {
+                cells.add(null);
+            }
+
+            cells.set(column, value);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.schoolplus.office.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties("school-plus.appointment")
+@Component
+public class AppointmentConfiguration {
+
+    /**
+     * Period from today whose teacher appointments are kept in memory for conflict checks, about a term.
+     */
+    private Duration indexedPeriod = Duration.ofDays(120);
+
+    /**
+     * How long a teacher's indexed appointments are trusted before they are loaded again, which bounds how
+     * late appointments made on other instances are seen. Zero sends every check to the database.
+     */
+    private Duration indexTtl = Duration.ofSeconds(30);
+
+    private int indexedTeachers = 1000;
+
+    /**
+     * Free slots are looked for on these days between {@code workingHoursStart} and {@code workingHoursEnd}.
+     */
+    private Set<DayOfWeek> workingDays = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    private LocalTime workingHoursStart = LocalTime.of(8, 0);
+
+    private LocalTime workingHoursEnd = LocalTime.of(18, 0);
+
+    private Duration maximumFreeSlotRange = Duration.ofDays(62);
+
+    private Duration freeSlotsCacheTtl = Duration.ofMinutes(1);
+
+    private int freeSlotsCacheSize = 1000;
+
+}
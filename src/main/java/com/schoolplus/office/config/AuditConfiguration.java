@@ -0,0 +1,72 @@
+package com.schoolplus.office.config;
+
+import com.schoolplus.office.web.models.AuditBackpressurePolicy;
+import com.schoolplus.office.web.models.AuditMode;
+import com.schoolplus.office.web.models.AuditStorageMode;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties("school-plus.audit")
+@Component
+public class AuditConfiguration {
+
+    private int bufferCapacity = 8192;
+
+    private int flushSize = 200;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private AuditBackpressurePolicy backpressurePolicy = AuditBackpressurePolicy.CALLER_RUNS;
+
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Applies to reads which have no domain or action policy; other transactions are always audited by default.
+     */
+    private AuditPolicy readPolicy = new AuditPolicy();
+
+    private Map<TransactionDomain, AuditPolicy> domainPolicies = new HashMap<>();
+
+    private Map<DomainAction, AuditPolicy> actionPolicies = new HashMap<>();
+
+    /**
+     * Whether the application partitions, rolls over and archives the audit table itself. Only enabled
+     * by the production configuration, as partitioning rewrites the table.
+     */
+    private boolean manageStorage = false;
+
+    /**
+     * Monthly partitions of a single table, or monthly rolled tables when partitioning is unavailable.
+     */
+    private AuditStorageMode storageMode = AuditStorageMode.PARTITIONED;
+
+    /**
+     * Months kept in the database besides the current one; older months are archived and dropped.
+     */
+    private int retentionMonths = 12;
+
+    private int premadePartitions = 3;
+
+    private String archiveDirectory = "audit-archive";
+
+    @Getter
+    @Setter
+    public static class AuditPolicy {
+
+        private AuditMode mode = AuditMode.ALWAYS;
+
+        private int samplePercent = 100;
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.schoolplus.office.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("school-plus.exam-import")
+@Component
+public class ExamImportConfiguration {
+
+    private int poolSize = 2;
+
+    private int queueCapacity = 20;
+
+    private int parsingParallelism = Runtime.getRuntime().availableProcessors();
+
+    private int maxConcurrentImportsPerOrganization = 1;
+
+    /**
+     * Rows flushed at a time, after which the persisted rows of the job move on.
+     */
+    private int persistingChunkSize = 500;
+
+    private Duration jobRetention = Duration.ofHours(1);
+
+    private String spoolDirectory = System.getProperty("java.io.tmpdir");
+
+}
@@ -1,39 +1,43 @@
 package com.schoolplus.office.config;
 
-import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSASigner;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.schoolplus.office.web.models.SigningAlgorithm;
 import lombok.Getter;
-import org.springframework.context.annotation.Configuration;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
+import java.time.Duration;
 
 @Getter
+@Setter
+@ConfigurationProperties("school-plus.jwt-pki")
 @Component
 public class JwtPkiConfiguration {
 
-    private RSAKey publicKey;
-
-    private JWKSet jwkSet;
-
-    private JWSSigner jwsSigner;
-
-    private JWSVerifier jwsVerifier;
-
-    @PostConstruct
-    public void init() throws JOSEException {
-        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("1").generate();
-
-        this.publicKey = rsaKey.toPublicJWK();
-        this.jwsSigner = new RSASSASigner(rsaKey);
-        this.jwkSet = new JWKSet(this.publicKey);
-        this.jwsVerifier = new RSASSAVerifier(this.publicKey);
-    }
+    /**
+     * JWK set holding the private signing keys, newest first. Created with a single key when missing.
+     */
+    private String keyRingPath = "jwt-key-ring.json";
+
+    /**
+     * Algorithm of the keys generated on creation and rotation; existing keys keep their own.
+     */
+    private SigningAlgorithm signingAlgorithm = SigningAlgorithm.ES256;
+
+    /**
+     * Keys kept for verification after a rotation, the signing key included.
+     */
+    private int retainedKeys = 3;
+
+    /**
+     * How often the key ring file is checked for rotations of other instances.
+     */
+    private Duration reloadingKeyRingDelay = Duration.ofSeconds(30);
+
+    /**
+     * How long verifiers may cache the published JWK set. A rotated key starts signing once every instance
+     * has published it and every cached set has expired, after this and one reloading delay.
+     */
+    private Duration jwksMaxAge = Duration.ofMinutes(5);
 
 }
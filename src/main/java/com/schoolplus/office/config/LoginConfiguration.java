@@ -0,0 +1,31 @@
+package com.schoolplus.office.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("school-plus.login")
+@Component
+public class LoginConfiguration {
+
+    /**
+     * Threads hashing passwords, which bounds the cores a login burst can take from the rest of the API.
+     */
+    private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Logins waiting for a hashing thread; logins beyond it are rejected with 429 at once.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * How long a login waits for its verification before it is rejected with 429.
+     */
+    private Duration waitingTimeout = Duration.ofSeconds(5);
+
+}
@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -23,4 +25,29 @@ public class ServerConfiguration {
 
     private TokenConfiguration refreshToken;
 
+    /**
+     * Expired refresh tokens deleted per transaction, so a purge never holds locks for long.
+     */
+    private int purgingRefreshTokensChunkSize = 1000;
+
+    private Duration purgingRefreshTokensPause = Duration.ofMillis(100);
+
+    private int verifiedTokenCacheSize = 10000;
+
+    /**
+     * Builds the authentication from the claims of access tokens instead of loading the user on every request.
+     */
+    private boolean statelessAuthentication = true;
+
+    private int userDetailsCacheSize = 1000;
+
+    private Duration userDetailsCacheTtl = Duration.ofSeconds(10);
+
+    /**
+     * Refresh tokens known to be unknown, expired or revoked, rejected without a database probe.
+     */
+    private int invalidRefreshTokenCacheSize = 10000;
+
+    private Duration invalidRefreshTokenCacheTtl = Duration.ofMinutes(10);
+
 }
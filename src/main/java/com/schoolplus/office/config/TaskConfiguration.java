@@ -1,9 +1,40 @@
 package com.schoolplus.office.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
 
 @Configuration
 @EnableScheduling
 public class TaskConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor examImportExecutor(ExamImportConfiguration examImportConfiguration) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(examImportConfiguration.getPoolSize());
+        executor.setMaxPoolSize(examImportConfiguration.getPoolSize());
+        executor.setQueueCapacity(examImportConfiguration.getQueueCapacity());
+        executor.setThreadNamePrefix("exam-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor(LoginConfiguration loginConfiguration) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(loginConfiguration.getPoolSize());
+        executor.setMaxPoolSize(loginConfiguration.getPoolSize());
+        executor.setQueueCapacity(loginConfiguration.getQueueCapacity());
+        executor.setThreadNamePrefix("login-");
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool examSheetParsingPool(ExamImportConfiguration examImportConfiguration) {
+        return new ForkJoinPool(examImportConfiguration.getParsingParallelism());
+    }
+
 }
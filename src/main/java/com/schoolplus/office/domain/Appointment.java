@@ -12,6 +12,10 @@ import java.time.LocalDateTime;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "appointment", indexes = {
+        @Index(name = "idx_appointment_teacher_dates", columnList = "teacher_id, appointment_start_date, appointment_end_date"),
+        @Index(name = "idx_appointment_student_dates", columnList = "student_id, appointment_start_date, appointment_end_date")
+})
 @Entity
 public class Appointment extends BaseEntity {
 
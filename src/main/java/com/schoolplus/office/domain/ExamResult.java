@@ -11,6 +11,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import javax.persistence.*;
 import java.sql.Timestamp;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @AllArgsConstructor
@@ -21,13 +22,18 @@ import java.util.Set;
 public class ExamResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_result_seq")
+    @SequenceGenerator(name = "exam_result_seq", sequenceName = "exam_result_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE, optional = false)
     private Exam exam;
 
-    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @Convert(converter = ResultColumnsConverter.class)
+    @Column(name = "result_columns", columnDefinition = "TEXT")
+    private List<String> resultColumns;
+
+    @OneToMany(mappedBy = "examResult", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Set<ExamResultItem> examResultItems = new HashSet<>();
 
     @CreationTimestamp
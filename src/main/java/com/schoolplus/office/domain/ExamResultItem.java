@@ -21,11 +21,16 @@ import java.util.Map;
 @NoArgsConstructor
 @Getter
 @Setter
+@Table(indexes = {
+        @Index(name = "idx_exam_result_item_overall_rank", columnList = "exam_result_id, overall_rank"),
+        @Index(name = "idx_exam_result_item_student", columnList = "exam_result_id, student_id")
+})
 @Entity
 public class ExamResultItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_result_item_seq")
+    @SequenceGenerator(name = "exam_result_item_seq", sequenceName = "exam_result_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
@@ -40,6 +45,18 @@ public class ExamResultItem {
     @Column(name = "sortable")
     private BigDecimal sortable;
 
+    @Column(name = "overall_rank")
+    private Integer overallRank;
+
+    @Column(name = "classroom_rank")
+    private Integer classroomRank;
+
+    @Column(name = "grade_rank")
+    private Integer gradeRank;
+
+    @Column(name = "percentile", precision = 5, scale = 2)
+    private BigDecimal percentile;
+
     @ElementCollection
     @CollectionTable(name = "result_item_data",
             joinColumns = {@JoinColumn(name = "result_item_id", referencedColumnName = "id")})
@@ -47,6 +64,9 @@ public class ExamResultItem {
     @Column(name = "result_data")
     private Map<String, String> resultData = new HashMap<>();
 
+    @Column(name = "result_values", columnDefinition = "TEXT")
+    private String resultValues;
+
     @CreationTimestamp
     private Timestamp createdAt;
 
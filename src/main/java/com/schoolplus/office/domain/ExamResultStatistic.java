@@ -0,0 +1,86 @@
+package com.schoolplus.office.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.TreeMap;
+
+/**
+ * Running statistics of one numeric result column for the items of one classroom in an exam result.
+ * Values are kept as a sparse value → count map, so the aggregate stays exact when items are removed.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(indexes = {
+        @Index(name = "idx_exam_result_statistic_column", columnList = "exam_result_id, column_name")
+})
+@Entity
+public class ExamResultStatistic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private ExamResult examResult;
+
+    @Column(name = "column_name", nullable = false)
+    private String columnName;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Classroom classroom;
+
+    @Column(name = "value_count")
+    private long count;
+
+    @Column(name = "value_sum", precision = 38, scale = 6)
+    private BigDecimal sum = BigDecimal.ZERO;
+
+    @Column(name = "value_sum_of_squares", precision = 38, scale = 6)
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    @Convert(converter = ValueCountsConverter.class)
+    @Column(name = "value_counts", columnDefinition = "MEDIUMTEXT")
+    private TreeMap<BigDecimal, Long> valueCounts = new TreeMap<>();
+
+    @CreationTimestamp
+    private Timestamp createdAt;
+
+    @UpdateTimestamp
+    private Timestamp lastModifiedAt;
+
+    public void addValue(BigDecimal value) {
+        count++;
+        sum = sum.add(value);
+        sumOfSquares = sumOfSquares.add(value.multiply(value));
+        valueCounts.merge(value, 1L, Long::sum);
+    }
+
+    public void removeValue(BigDecimal value) {
+        Long occurrences = valueCounts.get(value);
+
+        if (occurrences == null) {
+            return;
+        }
+
+        if (occurrences == 1) {
+            valueCounts.remove(value);
+        } else {
+            valueCounts.put(value, occurrences - 1);
+        }
+
+        count--;
+        sum = sum.subtract(value);
+        sumOfSquares = sumOfSquares.subtract(value.multiply(value));
+    }
+
+}
@@ -42,6 +42,11 @@ public class ExamSkeleton {
     @UpdateTimestamp
     private Timestamp lastModifiedAt;
 
+    // Skeletons created before the column existed get 0 instead of null, which Hibernate can't update
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     public void addExamField(ExamField examField) {
         if (!this.examFields.contains(examField)) {
             examField.setExamSkeleton(this);
@@ -15,6 +15,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter
 @Setter
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "uk_refresh_token_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_expiry_date_time", columnList = "expiry_date_time")
+})
 @Entity
 public class RefreshToken {
 
@@ -23,8 +27,11 @@ public class RefreshToken {
     @Column(name = "id", insertable = false, updatable = false)
     private Long id;
 
-    @Column(name = "token")
-    private String token;
+    /**
+     * SHA-256 of the token; the token itself is handed to the client and never stored.
+     */
+    @Column(name = "token_hash", length = 43, nullable = false)
+    private String tokenHash;
 
     @Column(name = "issue_time")
     private LocalDateTime issueTime;
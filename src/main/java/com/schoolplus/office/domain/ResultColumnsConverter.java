@@ -0,0 +1,22 @@
+package com.schoolplus.office.domain;
+
+import com.schoolplus.office.components.exam.ExamResultDataCodec;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.List;
+
+@Converter
+public class ResultColumnsConverter implements AttributeConverter<List<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<String> resultColumns) {
+        return resultColumns != null ? ExamResultDataCodec.encode(resultColumns) : null;
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String resultColumns) {
+        return resultColumns != null ? ExamResultDataCodec.decode(resultColumns) : null;
+    }
+
+}
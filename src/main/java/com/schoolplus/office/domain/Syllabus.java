@@ -15,6 +15,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter
 @Setter
+@Table(name = "syllabus", indexes = {
+        @Index(name = "idx_syllabus_teacher_dates", columnList = "teacher_id, syllabus_start_date, syllabus_end_date")
+})
 @Entity
 public class Syllabus {
 
@@ -0,0 +1,37 @@
+package com.schoolplus.office.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Access tokens of the user issued before {@code revokedAt} are no longer accepted without loading the user.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(indexes = {
+        @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at")
+})
+@Entity
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Type(type = "org.hibernate.type.UUIDCharType")
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Timestamp revokedAt;
+
+}
@@ -7,7 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import javax.persistence.*;
@@ -17,11 +16,17 @@ import java.sql.Timestamp;
 @NoArgsConstructor
 @Getter
 @Setter
+@Table(name = "transaction_log", indexes = {
+        @Index(name = "idx_transaction_log_performed_by", columnList = "performed_by_id, created_at"),
+        @Index(name = "idx_transaction_log_related_id", columnList = "related_id, created_at"),
+        @Index(name = "idx_transaction_log_created_at", columnList = "created_at, id")
+})
 @Entity
 public class TransactionLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_log_seq")
+    @SequenceGenerator(name = "transaction_log_seq", sequenceName = "transaction_log_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "transaction_type")
@@ -36,13 +41,26 @@ public class TransactionLog {
     @Enumerated(EnumType.STRING)
     private DomainAction domainActionType;
 
+    /**
+     * Not constrained, partitioned tables cannot have foreign keys.
+     */
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
+    @JoinColumn(name = "performed_by_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User performedBy;
 
     @Column(name = "related_id")
     private String relatedId;
 
-    @CreationTimestamp
+    /**
+     * Number of events the row stands for; more than one for per-minute aggregates.
+     */
+    @Column(name = "event_count")
+    private Long eventCount;
+
+    /**
+     * Set when the event happens rather than when it is flushed by {@link com.schoolplus.office.logging.AuditLogWriter}.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
     private Timestamp createdAt;
 
     @LastModifiedDate
@@ -0,0 +1,55 @@
+package com.schoolplus.office.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Converter
+public class ValueCountsConverter implements AttributeConverter<TreeMap<BigDecimal, Long>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Long>> VALUE_COUNTS = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(TreeMap<BigDecimal, Long> valueCounts) {
+        if (valueCounts == null) {
+            return null;
+        }
+
+        Map<String, Long> encoded = new LinkedHashMap<>();
+        valueCounts.forEach((value, count) -> encoded.put(value.toPlainString(), count));
+
+        try {
+            return OBJECT_MAPPER.writeValueAsString(encoded);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value counts couldn't be encoded", e);
+        }
+    }
+
+    @Override
+    public TreeMap<BigDecimal, Long> convertToEntityAttribute(String valueCounts) {
+        TreeMap<BigDecimal, Long> decoded = new TreeMap<>();
+
+        if (valueCounts == null) {
+            return decoded;
+        }
+
+        try {
+            OBJECT_MAPPER.readValue(valueCounts, VALUE_COUNTS)
+                    .forEach((value, count) -> decoded.put(new BigDecimal(value), count));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value counts couldn't be decoded", e);
+        }
+
+        return decoded;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the calls of aggregated actions per user, action and minute. Minutes which are over are
+ * written as a single log carrying the count, dated at the start of the minute.
+ */
+@RequiredArgsConstructor
+@Component
+public class AuditAggregator {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final AuditLogWriter auditLogWriter;
+
+    private final Map<AggregateKey, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    public void record(TransactionType transactionType, TransactionDomain transactionDomain,
+                       DomainAction domainAction, User performedBy) {
+        long minute = System.currentTimeMillis() / MINUTE * MINUTE;
+        UUID userId = performedBy != null ? performedBy.getId() : null;
+
+        AggregateKey key = new AggregateKey(userId, transactionType, transactionDomain, domainAction, minute);
+
+        // Counted inside compute, so a flush removing the aggregate can't slip in before the increment
+        aggregates.compute(key, (k, aggregate) -> {
+            Aggregate counted = aggregate != null ? aggregate : new Aggregate(performedBy);
+            counted.count++;
+
+            return counted;
+        });
+    }
+
+    public void flushCompletedMinutes() {
+        flush(System.currentTimeMillis() / MINUTE * MINUTE);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+
+    /**
+     * A call counted while its minute is being flushed lands in a fresh aggregate and is written on the next flush.
+     */
+    private void flush(long before) {
+        for (AggregateKey key : aggregates.keySet()) {
+            if (key.getMinute() >= before) {
+                continue;
+            }
+
+            Aggregate aggregate = aggregates.remove(key);
+
+            if (aggregate == null) {
+                continue;
+            }
+
+            TransactionLog transactionLog = new TransactionLog();
+            transactionLog.setTransactionType(key.getTransactionType());
+            transactionLog.setTransactionDomain(key.getTransactionDomain());
+            transactionLog.setDomainActionType(key.getDomainAction());
+            transactionLog.setPerformedBy(aggregate.performedBy);
+            transactionLog.setEventCount(aggregate.count);
+            transactionLog.setCreatedAt(new Timestamp(key.getMinute()));
+
+            auditLogWriter.write(transactionLog);
+        }
+    }
+
+    @Value
+    private static class AggregateKey {
+        UUID userId;
+        TransactionType transactionType;
+        TransactionDomain transactionDomain;
+        DomainAction domainAction;
+        long minute;
+    }
+
+    @RequiredArgsConstructor
+    private static class Aggregate {
+        private final User performedBy;
+        private long count;
+    }
+
+}
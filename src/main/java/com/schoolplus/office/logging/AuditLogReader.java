@@ -0,0 +1,128 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.web.models.AuditLogCriteria;
+import com.schoolplus.office.web.models.AuditLogDto;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Reads audit logs newest first with keyset pagination: a page continues after the
+ * {@code (created_at, id)} of the last row of the previous one, so every page is an index range scan
+ * however deep it is. Queried over JDBC, as rolled tables of {@link AuditLogStorage} are not mapped.
+ */
+@RequiredArgsConstructor
+@Component
+public class AuditLogReader {
+
+    private static final String COLUMNS = "id, transaction_type, transaction_domain, domain_action_type,"
+            + " performed_by_id, related_id, event_count, created_at";
+
+    private static final String ORDER = " order by created_at desc, id desc limit ?";
+
+    private static final RowMapper<AuditLogDto> ROW_MAPPER = (resultSet, rowNum) -> new AuditLogDto(
+            resultSet.getLong("id"),
+            enumValue(TransactionType.class, resultSet.getString("transaction_type")),
+            enumValue(TransactionDomain.class, resultSet.getString("transaction_domain")),
+            enumValue(DomainAction.class, resultSet.getString("domain_action_type")),
+            resultSet.getString("performed_by_id"),
+            resultSet.getString("related_id"),
+            resultSet.getLong("event_count"),
+            resultSet.getTimestamp("created_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogStorage auditLogStorage;
+
+    /**
+     * @param after the position of the last log of the previous page, {@code null} for the first page
+     */
+    public List<AuditLogDto> read(AuditLogCriteria criteria, Position after, int limit) {
+        List<String> tables = auditLogStorage.tableNames();
+        List<Object> arguments = new ArrayList<>();
+
+        if (tables.size() == 1) {
+            String query = select(tables.get(0), criteria, after, arguments) + ORDER;
+            arguments.add(limit);
+
+            return jdbcTemplate.query(query, ROW_MAPPER, arguments.toArray());
+        }
+
+        // Every table is cut to the limit on its own index before the rows are merged
+        StringJoiner union = new StringJoiner(" union all ", "select * from (", ") logs" + ORDER);
+
+        for (String table : tables) {
+            union.add("(" + select(table, criteria, after, arguments) + ORDER + ")");
+            arguments.add(limit);
+        }
+
+        arguments.add(limit);
+
+        return jdbcTemplate.query(union.toString(), ROW_MAPPER, arguments.toArray());
+    }
+
+    private static String select(String table, AuditLogCriteria criteria, Position after, List<Object> arguments) {
+        StringBuilder query = new StringBuilder("select ").append(COLUMNS).append(" from ").append(table)
+                .append(" where 1 = 1");
+
+        if (criteria.getPerformedBy() != null) {
+            query.append(" and performed_by_id = ?");
+            arguments.add(criteria.getPerformedBy().toString());
+        }
+
+        if (criteria.getDomain() != null) {
+            query.append(" and transaction_domain = ?");
+            arguments.add(criteria.getDomain().name());
+        }
+
+        if (criteria.getAction() != null) {
+            query.append(" and domain_action_type = ?");
+            arguments.add(criteria.getAction().name());
+        }
+
+        if (criteria.getRelatedId() != null) {
+            query.append(" and related_id = ?");
+            arguments.add(criteria.getRelatedId());
+        }
+
+        if (criteria.getFrom() != null) {
+            query.append(" and created_at >= ?");
+            arguments.add(Timestamp.from(criteria.getFrom().toInstant()));
+        }
+
+        if (criteria.getTo() != null) {
+            query.append(" and created_at < ?");
+            arguments.add(Timestamp.from(criteria.getTo().toInstant()));
+        }
+
+        if (after != null) {
+            // Spelled out rather than as a row comparison, which MySQL doesn't turn into a range scan
+            query.append(" and (created_at < ? or (created_at = ? and id < ?))");
+            arguments.add(after.getCreatedAt());
+            arguments.add(after.getCreatedAt());
+            arguments.add(after.getId());
+        }
+
+        return query.toString();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    @Value
+    public static class Position {
+        Timestamp createdAt;
+        long id;
+    }
+
+}
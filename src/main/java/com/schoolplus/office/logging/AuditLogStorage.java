@@ -0,0 +1,326 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.components.sheet.CsvSheetWriter;
+import com.schoolplus.office.components.sheet.SheetWriter;
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.web.models.AuditStorageMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the audit table split by month. With {@link AuditStorageMode#PARTITIONED} the table is range
+ * partitioned on {@code created_at}; partitioned tables cannot have foreign keys in MySQL, so the one
+ * to the user table is dropped. When partitioning is unavailable the live table is renamed once a month
+ * and replaced by an empty copy. Months past the retention are written to gzipped CSV files under
+ * {@code archiveDirectory} and then dropped.
+ */
+@Slf4j
+@Component
+public class AuditLogStorage {
+
+    public static final String TABLE = "transaction_log";
+
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("p(\\d{6})");
+    private static final Pattern ROLLED_TABLE_NAME = Pattern.compile(TABLE + "_(\\d{6})");
+
+    private final AuditConfiguration auditConfiguration;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    private volatile AuditStorageMode storageMode;
+
+    public AuditLogStorage(AuditConfiguration auditConfiguration, JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.auditConfiguration = auditConfiguration;
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageMode = auditConfiguration.getStorageMode();
+
+        // Makes MySQL stream the rows of a month instead of loading them at once
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public AuditStorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Partitions the table on first start. Falls back to rolled tables when the database refuses.
+     */
+    public void prepare() {
+        if (storageMode != AuditStorageMode.PARTITIONED || isPartitioned()) {
+            return;
+        }
+
+        try {
+            partition();
+            log.info("Audit table has been partitioned by month [table: {}]", TABLE);
+        } catch (DataAccessException e) {
+            storageMode = AuditStorageMode.ROLLING;
+            log.warn("Audit table couldn't be partitioned, falling back to rolled tables [table: {}]", TABLE, e);
+        }
+    }
+
+    /**
+     * Makes room for the coming months, or rolls the live table over when a month has passed.
+     */
+    public void maintain() {
+        if (storageMode == AuditStorageMode.PARTITIONED) {
+            addPartitions();
+        } else {
+            rollOver();
+        }
+    }
+
+    /**
+     * @return the months which have been archived and dropped
+     */
+    public List<YearMonth> archiveExpired() {
+        YearMonth cutoff = YearMonth.now().minusMonths(auditConfiguration.getRetentionMonths());
+        List<YearMonth> archived = new ArrayList<>();
+
+        if (storageMode == AuditStorageMode.PARTITIONED) {
+            for (String partition : partitionNames()) {
+                YearMonth month = month(PARTITION_NAME, partition);
+
+                if (month != null && month.isBefore(cutoff)) {
+                    archive(month, "select * from " + TABLE + " partition (" + partition + ")");
+                    jdbcTemplate.execute("alter table " + TABLE + " drop partition " + partition);
+                    archived.add(month);
+                }
+            }
+        } else {
+            for (String table : rolledTableNames()) {
+                YearMonth month = month(ROLLED_TABLE_NAME, table);
+
+                if (month != null && month.isBefore(cutoff)) {
+                    archive(month, "select * from " + table);
+                    jdbcTemplate.execute("drop table " + table);
+                    archived.add(month);
+                }
+            }
+        }
+
+        return archived;
+    }
+
+    /**
+     * @return the tables holding audit logs, the live one first; a single one when partitioned
+     */
+    public List<String> tableNames() {
+        List<String> tables = new ArrayList<>();
+        tables.add(TABLE);
+
+        if (storageMode == AuditStorageMode.ROLLING) {
+            List<String> rolledTables = rolledTableNames();
+            rolledTables.sort((first, second) -> second.compareTo(first));
+            tables.addAll(rolledTables);
+        }
+
+        return tables;
+    }
+
+    private boolean isPartitioned() {
+        Integer partitions = jdbcTemplate.queryForObject("select count(*) from information_schema.partitions"
+                + " where table_schema = database() and table_name = ? and partition_name is not null",
+                Integer.class, TABLE);
+
+        return partitions != null && partitions > 0;
+    }
+
+    /**
+     * Issues a single statement, so a refusal of the database never leaves the table half converted.
+     */
+    private void partition() {
+        List<String> foreignKeys = jdbcTemplate.queryForList("select constraint_name"
+                + " from information_schema.referential_constraints"
+                + " where constraint_schema = database() and table_name = ?", String.class, TABLE);
+
+        jdbcTemplate.update("update " + TABLE + " set created_at = coalesce(last_modified_at, now(6))"
+                + " where created_at is null");
+
+        Timestamp oldest = jdbcTemplate.queryForObject("select min(created_at) from " + TABLE, Timestamp.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(auditConfiguration.getPremadePartitions());
+
+        StringJoiner alterations = new StringJoiner(", ");
+        foreignKeys.forEach(foreignKey -> alterations.add("drop foreign key " + foreignKey));
+
+        // The partitioning column has to be part of every unique key
+        alterations.add("modify created_at datetime(6) not null");
+        alterations.add("drop primary key");
+        alterations.add("add primary key (id, created_at)");
+
+        StringJoiner partitions = new StringJoiner(", ", "(", ")");
+
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+
+        partitions.add("partition " + MAX_PARTITION + " values less than maxvalue");
+
+        jdbcTemplate.execute("alter table " + TABLE + " " + alterations
+                + " partition by range (to_days(created_at)) " + partitions);
+    }
+
+    private void addPartitions() {
+        YearMonth last = YearMonth.now().plusMonths(auditConfiguration.getPremadePartitions());
+        YearMonth newest = partitionNames().stream()
+                .map(partition -> month(PARTITION_NAME, partition))
+                .filter(month -> month != null)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+
+        if (!newest.isBefore(last)) {
+            return;
+        }
+
+        StringJoiner partitions = new StringJoiner(", ", "(", ")");
+
+        for (YearMonth month = newest.plusMonths(1); !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+
+        partitions.add("partition " + MAX_PARTITION + " values less than maxvalue");
+
+        jdbcTemplate.execute("alter table " + TABLE + " reorganize partition " + MAX_PARTITION + " into " + partitions);
+        log.info("Audit partitions have been added [until: {}]", last);
+    }
+
+    /**
+     * Renames the live table after the previous month. Logs of the current month which were written
+     * before the rename are moved back to the new live table.
+     */
+    private void rollOver() {
+        YearMonth current = YearMonth.now();
+        Timestamp oldest = jdbcTemplate.queryForObject("select min(created_at) from " + TABLE, Timestamp.class);
+
+        if (oldest == null || !YearMonth.from(oldest.toLocalDateTime()).isBefore(current)) {
+            return;
+        }
+
+        String rolledTable = TABLE + "_" + current.minusMonths(1).format(MONTH_SUFFIX);
+        String nextTable = TABLE + "_next";
+        Timestamp monthStart = Timestamp.valueOf(current.atDay(1).atStartOfDay());
+
+        if (!rolledTableNames().contains(rolledTable)) {
+            jdbcTemplate.execute("drop table if exists " + nextTable);
+            jdbcTemplate.execute("create table " + nextTable + " like " + TABLE);
+            jdbcTemplate.execute("rename table " + TABLE + " to " + rolledTable + ", " + nextTable + " to " + TABLE);
+        } else {
+            // A previous roll over was interrupted, older logs are moved into the existing table
+            jdbcTemplate.update("insert into " + rolledTable + " select * from " + TABLE + " where created_at < ?",
+                    monthStart);
+            jdbcTemplate.update("delete from " + TABLE + " where created_at < ?", monthStart);
+        }
+
+        jdbcTemplate.update("insert into " + TABLE + " select * from " + rolledTable + " where created_at >= ?",
+                monthStart);
+        jdbcTemplate.update("delete from " + rolledTable + " where created_at >= ?", monthStart);
+
+        log.info("Audit table has been rolled over [table: {}]", rolledTable);
+    }
+
+    /**
+     * Writes into a temporary file first, so an interrupted run never leaves a partial archive behind.
+     */
+    private void archive(YearMonth month, String query) {
+        Path directory = Paths.get(auditConfiguration.getArchiveDirectory());
+        Path archive = directory.resolve(TABLE + "_" + month.format(MONTH_SUFFIX) + ".csv.gz");
+        Path temporary = directory.resolve(archive.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temporary));
+                 SheetWriter sheetWriter = new CsvSheetWriter(outputStream)) {
+                streamingJdbcTemplate.query(query, resultSet -> {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    List<String> header = new ArrayList<>(metaData.getColumnCount());
+
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        header.add(metaData.getColumnLabel(i));
+                    }
+
+                    writeRow(sheetWriter, header);
+
+                    while (resultSet.next()) {
+                        List<String> row = new ArrayList<>(header.size());
+
+                        for (int i = 1; i <= header.size(); i++) {
+                            row.add(resultSet.getString(i));
+                        }
+
+                        writeRow(sheetWriter, row);
+                    }
+
+                    return null;
+                });
+            }
+
+            Files.move(temporary, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit logs couldn't be archived [month: " + month + "]", e);
+        }
+
+        log.info("Audit logs have been archived [month: {}, file: {}]", month, archive);
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList("select partition_name from information_schema.partitions"
+                + " where table_schema = database() and table_name = ? and partition_name is not null"
+                + " order by partition_ordinal_position", String.class, TABLE);
+    }
+
+    private List<String> rolledTableNames() {
+        List<String> tables = jdbcTemplate.queryForList("select table_name from information_schema.tables"
+                + " where table_schema = database() and table_name like ?", String.class, TABLE + "\\_%");
+        tables.removeIf(table -> !ROLLED_TABLE_NAME.matcher(table).matches());
+
+        return tables;
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        LocalDate nextMonth = month.plusMonths(1).atDay(1);
+
+        return "partition p" + month.format(MONTH_SUFFIX) + " values less than (to_days('" + nextMonth + "'))";
+    }
+
+    private static YearMonth month(Pattern pattern, String name) {
+        Matcher matcher = pattern.matcher(name);
+
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), MONTH_SUFFIX) : null;
+    }
+
+    private static void writeRow(SheetWriter sheetWriter, List<String> row) {
+        try {
+            sheetWriter.writeRow(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
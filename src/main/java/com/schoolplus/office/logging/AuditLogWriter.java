@@ -0,0 +1,228 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.repository.TransactionLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes audit logs off the request threads. Logs are put into a bounded buffer without blocking and
+ * a background thread writes them in batches, once {@code flushSize} logs are waiting or
+ * {@code flushInterval} has passed since the first of them. When the buffer is full the configured
+ * {@link com.schoolplus.office.web.models.AuditBackpressurePolicy} applies. On shutdown the buffer is
+ * drained before the data source goes away.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final int DROP_WARNING_INTERVAL = 1000;
+
+    private final AuditConfiguration auditConfiguration;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<TransactionLog> buffer;
+
+    private final AtomicLong droppedLogs = new AtomicLong();
+    private final AtomicLong writtenLogs = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public AuditLogWriter(AuditConfiguration auditConfiguration,
+                          TransactionLogRepository transactionLogRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.auditConfiguration = auditConfiguration;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(auditConfiguration.getBufferCapacity());
+    }
+
+    public void write(TransactionLog transactionLog) {
+        if (transactionLog.getCreatedAt() == null) {
+            transactionLog.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+        }
+
+        if (transactionLog.getEventCount() == null) {
+            transactionLog.setEventCount(1L);
+        }
+
+        if (!running) {
+            persist(List.of(transactionLog));
+            return;
+        }
+
+        if (!buffer.offer(transactionLog)) {
+            switch (auditConfiguration.getBackpressurePolicy()) {
+                case DROP_NEWEST:
+                    dropped();
+                    break;
+                case DROP_OLDEST:
+                    if (buffer.poll() != null) {
+                        dropped();
+                    }
+
+                    if (!buffer.offer(transactionLog)) {
+                        dropped();
+                    }
+                    break;
+                case CALLER_RUNS:
+                default:
+                    persist(List.of(transactionLog));
+                    break;
+            }
+        }
+
+        // Stopped since the check above, the drainer may have emptied the buffer for the last time already
+        if (!running) {
+            flushBuffer();
+        }
+    }
+
+    public long getDroppedLogs() {
+        return droppedLogs.get();
+    }
+
+    public long getWrittenLogs() {
+        return writtenLogs.get();
+    }
+
+    public int getBufferedLogs() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        drainer = new Thread(this::drain, "audit-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        if (drainer == null) {
+            return;
+        }
+
+        try {
+            drainer.join(auditConfiguration.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!drainer.isAlive()) {
+            // Logs offered by writers which saw the writer running just before it stopped
+            flushBuffer();
+        }
+
+        if (drainer.isAlive() || !buffer.isEmpty()) {
+            log.warn("Audit log writer couldn't flush in time [remaining: {}]", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so the logs of requests finishing during shutdown are still flushed.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1024;
+    }
+
+    private void drain() {
+        int flushSize = auditConfiguration.getFlushSize();
+        long flushInterval = auditConfiguration.getFlushInterval().toNanos();
+        List<TransactionLog> batch = new ArrayList<>(flushSize);
+
+        try {
+            while (running) {
+                TransactionLog first = buffer.poll(flushInterval, TimeUnit.NANOSECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, flushSize - batch.size());
+
+                long deadline = System.nanoTime() + flushInterval;
+
+                while (batch.size() < flushSize && running) {
+                    long remaining = deadline - System.nanoTime();
+
+                    if (remaining <= 0) {
+                        break;
+                    }
+
+                    TransactionLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+
+                    if (next == null) {
+                        break;
+                    }
+
+                    batch.add(next);
+                    buffer.drainTo(batch, flushSize - batch.size());
+                }
+
+                persist(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        persist(batch);
+        flushBuffer();
+    }
+
+    private void flushBuffer() {
+        int flushSize = auditConfiguration.getFlushSize();
+        List<TransactionLog> batch = new ArrayList<>(flushSize);
+
+        while (buffer.drainTo(batch, flushSize) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(List<TransactionLog> transactionLogs) {
+        if (transactionLogs.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> transactionLogRepository.saveAll(transactionLogs));
+            writtenLogs.addAndGet(transactionLogs.size());
+        } catch (RuntimeException e) {
+            log.error("Audit logs couldn't be written [count: {}]", transactionLogs.size(), e);
+        }
+    }
+
+    private void dropped() {
+        if (droppedLogs.incrementAndGet() % DROP_WARNING_INTERVAL == 1) {
+            log.warn("Audit log buffer is full, logs are being dropped [dropped: {}, policy: {}]",
+                    droppedLogs.get(), auditConfiguration.getBackpressurePolicy());
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.config.AuditConfiguration.AuditPolicy;
+import com.schoolplus.office.web.models.AuditMode;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how an audited call is recorded. An action policy wins over the policy of its domain;
+ * reads without either fall back to the read policy and everything else is always recorded.
+ */
+@RequiredArgsConstructor
+@Component
+public class AuditPolicyEvaluator {
+
+    private static final AuditPolicy ALWAYS = new AuditPolicy();
+
+    private final AuditConfiguration auditConfiguration;
+
+    /**
+     * @return {@link AuditMode#ALWAYS} when a row is written, {@link AuditMode#AGGREGATED} when the call is
+     * only counted and {@link AuditMode#OFF} when it is not recorded; sampling is already applied
+     */
+    public AuditMode evaluate(TransactionType transactionType, TransactionDomain transactionDomain,
+                              DomainAction domainAction) {
+        AuditPolicy auditPolicy = policyOf(transactionType, transactionDomain, domainAction);
+
+        switch (auditPolicy.getMode()) {
+            case OFF:
+                return AuditMode.OFF;
+            case AGGREGATED:
+                return AuditMode.AGGREGATED;
+            case SAMPLED:
+                return ThreadLocalRandom.current().nextInt(100) < auditPolicy.getSamplePercent()
+                        ? AuditMode.ALWAYS
+                        : AuditMode.OFF;
+            case ALWAYS:
+            default:
+                return AuditMode.ALWAYS;
+        }
+    }
+
+    private AuditPolicy policyOf(TransactionType transactionType, TransactionDomain transactionDomain,
+                                 DomainAction domainAction) {
+        AuditPolicy auditPolicy = auditConfiguration.getActionPolicies().get(domainAction);
+
+        if (auditPolicy == null) {
+            auditPolicy = auditConfiguration.getDomainPolicies().get(transactionDomain);
+        }
+
+        if (auditPolicy == null) {
+            auditPolicy = transactionType == TransactionType.READ ? auditConfiguration.getReadPolicy() : ALWAYS;
+        }
+
+        return auditPolicy;
+    }
+
+}
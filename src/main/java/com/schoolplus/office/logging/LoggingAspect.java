@@ -1,12 +1,15 @@
 package com.schoolplus.office.logging;
 
 import com.schoolplus.office.annotations.*;
+import com.schoolplus.office.components.LogableMetadata;
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.domain.User;
 import com.schoolplus.office.repository.UserRepository;
 import com.schoolplus.office.security.SecurityUser;
+import com.schoolplus.office.web.models.AuditMode;
+import com.schoolplus.office.web.models.DomainAction;
 import com.schoolplus.office.web.models.LogableType;
-import com.schoolplus.office.components.ColumnExtractor;
-import com.schoolplus.office.domain.TransactionLog;
-import com.schoolplus.office.repository.TransactionLogRepository;
+import com.schoolplus.office.web.models.TransactionDomain;
 import com.schoolplus.office.web.models.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,237 +18,199 @@ import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
+import javax.persistence.EntityManager;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Audits the annotated service calls. The annotations are bound by the pointcuts, ids of returned
+ * objects are read through {@link LogableMetadata} and the position of the {@code idArg} parameter
+ * is resolved once per method, so no reflection happens on the request path after the first call.
+ * Whether a call is written, sampled, aggregated or skipped is decided by {@link AuditPolicyEvaluator};
+ * authentications are always written.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Aspect
 @Configuration
 public class LoggingAspect {
 
-    private final TransactionLogRepository transactionLogRepository;
+    private static final int NO_ARGUMENT = -1;
+
+    private final AuditLogWriter auditLogWriter;
+    private final AuditPolicyEvaluator auditPolicyEvaluator;
+    private final AuditAggregator auditAggregator;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
 
-    @AfterReturning(value = "@annotation(com.schoolplus.office.annotations.ReadingEntity)", returning = "object")
-    public void afterReadingEntity(JoinPoint joinPoint, Object object) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-        ReadingEntity readingEntity = method.getAnnotation(ReadingEntity.class);
+    private final Map<Method, Integer> idArgIndexes = new ConcurrentHashMap<>();
 
-        TransactionLog transactionLog = new TransactionLog();
-        transactionLog.setTransactionType(TransactionType.READ);
-        transactionLog.setTransactionDomain(readingEntity.domain());
-        transactionLog.setDomainActionType(readingEntity.action());
+    @AfterReturning(value = "@annotation(readingEntity)", returning = "object")
+    public void afterReadingEntity(ReadingEntity readingEntity, Object object) {
+        TransactionLog transactionLog = transactionLog(TransactionType.READ, readingEntity.domain(), readingEntity.action());
 
-        if (SecurityContextHolder.getContext().getAuthentication().getDetails() instanceof SecurityUser) {
-            SecurityUser securityUser = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getDetails();
-            transactionLog.setPerformedBy(securityUser.getUser());
+        if (transactionLog == null) {
+            return;
         }
 
         if (!readingEntity.isList()) {
-            Field idField;
-
-            ColumnExtractor extractor = new ColumnExtractor(object.getClass());
-            idField = extractor.getColumnField(LogableType.ID);
+            transactionLog.setRelatedId(relatedId(object));
+        }
 
-            if (idField == null) {
-                ColumnExtractor superExtractor = new ColumnExtractor(object.getClass().getSuperclass());
-                idField = superExtractor.getColumnField(LogableType.ID);
-            }
+        auditLogWriter.write(transactionLog);
+    }
 
-            Object relatedId;
-
-            if (idField.getType().isAssignableFrom(Long.class)) {
-                relatedId = (Long) extractor.runGetter(idField, object);
-            } else if (idField.getType().isAssignableFrom(UUID.class)) {
-                relatedId = (UUID) extractor.runGetter(idField, object);
-            } else if (idField.getType().isAssignableFrom(String.class)) {
-                try {
-                    relatedId = UUID.fromString((String) extractor.runGetter(idField, object));
-                } catch (IllegalArgumentException e) {
-                    relatedId = (String) extractor.runGetter(idField, object);
-                }
-            } else {
-                relatedId = null;
-            }
+    @AfterReturning(value = "@annotation(creatingEntity)", returning = "object")
+    public void afterCreatingEntity(CreatingEntity creatingEntity, Object object) {
+        TransactionLog transactionLog = transactionLog(TransactionType.CREATE, creatingEntity.domain(), creatingEntity.action());
 
-            assert relatedId != null;
-            transactionLog.setRelatedId(relatedId.toString());
+        if (transactionLog == null) {
+            return;
         }
 
-        transactionLogRepository.save(transactionLog);
+        transactionLog.setRelatedId(relatedId(object));
+
+        auditLogWriter.write(transactionLog);
     }
 
-    @AfterReturning(value = "@annotation(com.schoolplus.office.annotations.CreatingEntity)", returning = "object")
-    public void afterCreatingEntity(JoinPoint joinPoint, Object object) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-        CreatingEntity creatingEntity = method.getAnnotation(CreatingEntity.class);
+    @AfterReturning(value = "@annotation(updatingEntity)", returning = "object")
+    public void afterUpdatingEntity(JoinPoint joinPoint, UpdatingEntity updatingEntity, Object object) {
+        TransactionLog transactionLog = transactionLog(TransactionType.UPDATE, updatingEntity.domain(), updatingEntity.action());
 
-        Field idField;
+        if (transactionLog == null) {
+            return;
+        }
 
-        ColumnExtractor extractor = new ColumnExtractor(object.getClass());
-        idField = extractor.getColumnField(LogableType.ID);
+        int idArgIndex = idArgIndex(joinPoint, updatingEntity.idArg());
 
-        if (idField == null) {
-            ColumnExtractor superExtractor = new ColumnExtractor(object.getClass().getSuperclass());
-            idField = superExtractor.getColumnField(LogableType.ID);
+        if (idArgIndex != NO_ARGUMENT) {
+            transactionLog.setRelatedId(Objects.toString(joinPoint.getArgs()[idArgIndex], null));
+        } else if (!updatingEntity.isList()) {
+            transactionLog.setRelatedId(relatedId(object));
         }
 
-        TransactionLog transactionLog = new TransactionLog();
-        transactionLog.setTransactionType(TransactionType.CREATE);
-        transactionLog.setTransactionDomain(creatingEntity.domain());
-        transactionLog.setDomainActionType(creatingEntity.action());
+        auditLogWriter.write(transactionLog);
+    }
+
+    @AfterReturning(value = "@annotation(deletingEntity)")
+    public void afterDeletingEntity(JoinPoint joinPoint, DeletingEntity deletingEntity) {
+        TransactionLog transactionLog = transactionLog(TransactionType.DELETE, deletingEntity.domain(), deletingEntity.action());
 
-        if (SecurityContextHolder.getContext().getAuthentication().getDetails() instanceof SecurityUser) {
-            SecurityUser securityUser = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getDetails();
-            transactionLog.setPerformedBy(securityUser.getUser());
+        if (transactionLog == null) {
+            return;
         }
 
-        Object relatedId;
+        int idArgIndex = idArgIndex(joinPoint, deletingEntity.idArg());
 
-        if (idField.getType().isAssignableFrom(Long.class)) {
-            relatedId = (Long) extractor.runGetter(idField, object);
-        } else if (idField.getType().isAssignableFrom(UUID.class)) {
-            relatedId = (UUID) extractor.runGetter(idField, object);
-        } else if (idField.getType().isAssignableFrom(String.class)) {
-            try {
-                relatedId = UUID.fromString((String) extractor.runGetter(idField, object));
-            } catch (IllegalArgumentException e) {
-                relatedId = (String) extractor.runGetter(idField, object);
-            }
-        } else {
-            relatedId = null;
+        if (idArgIndex != NO_ARGUMENT) {
+            transactionLog.setRelatedId(Objects.toString(joinPoint.getArgs()[idArgIndex], null));
         }
 
-        assert relatedId != null;
-        transactionLog.setRelatedId(relatedId.toString());
-
-        transactionLogRepository.save(transactionLog);
+        auditLogWriter.write(transactionLog);
     }
 
-    @Transactional
-    @AfterReturning(value = "@annotation(com.schoolplus.office.annotations.UpdatingEntity)", returning = "object")
-    public void afterUpdatingEntity(JoinPoint joinPoint, Object object) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-        UpdatingEntity updatingEntity = method.getAnnotation(UpdatingEntity.class);
-
+    @AfterReturning(value = "@annotation(authenticationProcess)")
+    public void afterAuthenticationProcess(JoinPoint joinPoint, AuthenticationProcess authenticationProcess) {
         TransactionLog transactionLog = new TransactionLog();
-        transactionLog.setTransactionType(TransactionType.UPDATE);
-        transactionLog.setTransactionDomain(updatingEntity.domain());
-        transactionLog.setDomainActionType(updatingEntity.action());
+        transactionLog.setTransactionType(TransactionType.AUTHENTICATION);
+        transactionLog.setTransactionDomain(authenticationProcess.domain());
+        transactionLog.setDomainActionType(authenticationProcess.action());
 
-        if (SecurityContextHolder.getContext().getAuthentication().getDetails() instanceof SecurityUser) {
-            SecurityUser securityUser = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getDetails();
-            transactionLog.setPerformedBy(securityUser.getUser());
+        Object requestObject = joinPoint.getArgs()[0];
+        Object username = LogableMetadata.of(requestObject.getClass()).get(LogableType.NAME, requestObject);
+
+        if (username instanceof String) {
+            userRepository
+                    .findByUsername((String) username)
+                    .ifPresent(user -> transactionLog.setRelatedId(user.getId().toString()));
         }
 
-        int idArgIndex = -1;
-        for (int i = 0; i < method.getParameters().length; i++) {
-            Parameter parameter = method.getParameters()[i];
+        auditLogWriter.write(transactionLog);
+    }
 
-            if (parameter.getName().equals(updatingEntity.idArg())) {
-                idArgIndex = i;
-                break;
-            }
-        }
+    /**
+     * @return the log to be written, {@code null} when the call is skipped or only counted by the aggregator
+     */
+    private TransactionLog transactionLog(TransactionType transactionType, TransactionDomain transactionDomain,
+                                          DomainAction domainAction) {
+        AuditMode auditMode = auditPolicyEvaluator.evaluate(transactionType, transactionDomain, domainAction);
 
-        if (idArgIndex > -1 && joinPoint.getArgs().length > idArgIndex) {
-            transactionLog.setRelatedId(joinPoint.getArgs()[idArgIndex].toString());
-        } else {
-            if (!updatingEntity.isList()) {
-                ColumnExtractor extractor = new ColumnExtractor(object.getClass());
-                Field idField = extractor.getColumnField(LogableType.ID);
-
-                Object relatedId;
-
-                if (idField.getType().isAssignableFrom(Long.class)) {
-                    relatedId = (Long) extractor.runGetter(idField, object);
-                } else if (idField.getType().isAssignableFrom(UUID.class)) {
-                    relatedId = (UUID) extractor.runGetter(idField, object);
-                } else if (idField.getType().isAssignableFrom(String.class)) {
-                    try {
-                        relatedId = UUID.fromString((String) extractor.runGetter(idField, object));
-                    } catch (IllegalArgumentException e) {
-                        relatedId = (String) extractor.runGetter(idField, object);
-                    }
-                } else {
-                    relatedId = null;
-                }
-
-                assert relatedId != null;
-                transactionLog.setRelatedId(relatedId.toString());
-            }
+        if (auditMode == AuditMode.OFF) {
+            return null;
         }
 
-        transactionLogRepository.save(transactionLog);
-    }
+        User performedBy = performedBy();
 
-    @AfterReturning(value = "@annotation(com.schoolplus.office.annotations.DeletingEntity)")
-    public void afterDeletingEntity(JoinPoint joinPoint) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-        DeletingEntity deletingEntity = method.getAnnotation(DeletingEntity.class);
+        if (auditMode == AuditMode.AGGREGATED) {
+            auditAggregator.record(transactionType, transactionDomain, domainAction, performedBy);
+            return null;
+        }
 
         TransactionLog transactionLog = new TransactionLog();
-        transactionLog.setTransactionType(TransactionType.DELETE);
-        transactionLog.setTransactionDomain(deletingEntity.domain());
-        transactionLog.setDomainActionType(deletingEntity.action());
+        transactionLog.setTransactionType(transactionType);
+        transactionLog.setTransactionDomain(transactionDomain);
+        transactionLog.setDomainActionType(domainAction);
+        transactionLog.setPerformedBy(performedBy);
 
-        if (SecurityContextHolder.getContext().getAuthentication().getDetails() instanceof SecurityUser) {
-            SecurityUser securityUser = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getDetails();
-            transactionLog.setPerformedBy(securityUser.getUser());
-        }
+        return transactionLog;
+    }
 
-        int idArgIndex = -1;
-        for (int i = 0; i < method.getParameters().length; i++) {
-            Parameter parameter = method.getParameters()[i];
+    /**
+     * A reference to the authenticated user, so the user isn't loaded just to be linked from the log.
+     */
+    private User performedBy() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (parameter.getName().equals(deletingEntity.idArg())) {
-                idArgIndex = i;
-                break;
-            }
+        if (authentication == null || !(authentication.getPrincipal() instanceof SecurityUser)) {
+            return null;
         }
 
-        if (idArgIndex > -1 && joinPoint.getArgs().length > idArgIndex) {
-            transactionLog.setRelatedId(joinPoint.getArgs()[idArgIndex].toString());
-        }
+        UUID userId = ((SecurityUser) authentication.getPrincipal()).getId();
 
-        transactionLogRepository.save(transactionLog);
+        return userId != null ? entityManager.getReference(User.class, userId) : null;
     }
 
-    @AfterReturning(value = "@annotation(com.schoolplus.office.annotations.AuthenticationProcess)", returning = "object")
-    public void afterAuthenticationProcess(JoinPoint joinPoint, Object object) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-        AuthenticationProcess authenticationProcess = method.getAnnotation(AuthenticationProcess.class);
+    /**
+     * UUIDs given as strings are normalized, every other id is taken as is.
+    private static String relatedId(Object object) {
+        if (object == null) {
+            return null;
+        }
 
-        Object requestObject = joinPoint.getArgs()[0];
+        Object id = LogableMetadata.of(object.getClass()).get(LogableType.ID, object);
 
-        ColumnExtractor extractor = new ColumnExtractor(requestObject.getClass());
-        Field usernameField = extractor.getColumnField(LogableType.NAME);
+        if (id instanceof String) {
+            try {
+                return UUID.fromString((String) id).toString();
+            } catch (IllegalArgumentException e) {
+                return (String) id;
+            }
+        }
 
-        TransactionLog transactionLog = new TransactionLog();
-        transactionLog.setTransactionType(TransactionType.AUTHENTICATION);
-        transactionLog.setTransactionDomain(authenticationProcess.domain());
-        transactionLog.setDomainActionType(authenticationProcess.action());
+        return id != null ? id.toString() : null;
+    }
 
-        if (usernameField.getType().isAssignableFrom(String.class)) {
-            String username = (String) extractor.runGetter(usernameField, requestObject);
+    private int idArgIndex(JoinPoint joinPoint, String idArg) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        int idArgIndex = idArgIndexes.computeIfAbsent(method, key -> parameterIndex(key, idArg));
 
-            userRepository.
-                    findByUsername(username)
-                    .ifPresent(user -> transactionLog.setRelatedId(user.getId().toString()));
+        return idArgIndex < joinPoint.getArgs().length ? idArgIndex : NO_ARGUMENT;
+    }
+
+    private static int parameterIndex(Method method, String parameterName) {
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            if (method.getParameters()[i].getName().equals(parameterName)) {
+                return i;
+            }
         }
 
-        transactionLogRepository.save(transactionLog);
+        return NO_ARGUMENT;
     }
 
 }
@@ -1,12 +1,46 @@
 package com.schoolplus.office.repository;
 
+import com.schoolplus.office.components.appointment.AppointmentInterval;
+import com.schoolplus.office.components.appointment.StudentAppointmentInterval;
 import com.schoolplus.office.domain.Appointment;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 
 public interface AppointmentRepository extends PagingAndSortingRepository<Appointment, UUID>, QueryByExampleExecutor<Appointment> {
 
+    /**
+     * Appointments of the teacher overlapping {@code [from, to)}, a range scan on the teacher's dates index.
+     */
+    @Query("SELECT new com.schoolplus.office.components.appointment.AppointmentInterval(a.id, a.appointmentStartDate, a.appointmentEndDate) " +
+            "FROM Appointment a WHERE a.teacher.id = :teacherId AND a.appointmentStartDate < :to AND a.appointmentEndDate > :from")
+    List<AppointmentInterval> findTeacherIntervals(@Param("teacherId") UUID teacherId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Appointments of the student overlapping {@code [from, to)}, a range scan on the student's dates index.
+     */
+    @Query("SELECT new com.schoolplus.office.components.appointment.AppointmentInterval(a.id, a.appointmentStartDate, a.appointmentEndDate) " +
+            "FROM Appointment a WHERE a.student.id = :studentId AND a.appointmentStartDate < :to AND a.appointmentEndDate > :from")
+    List<AppointmentInterval> findStudentIntervals(@Param("studentId") UUID studentId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Appointments of the students overlapping {@code [from, to)}, one range scan per student on the dates index.
+     */
+    @Query("SELECT new com.schoolplus.office.components.appointment.StudentAppointmentInterval(a.student.id, a.appointmentStartDate, a.appointmentEndDate) " +
+            "FROM Appointment a WHERE a.student.id IN :studentIds AND a.appointmentStartDate < :to AND a.appointmentEndDate > :from")
+    List<StudentAppointmentInterval> findStudentsIntervals(@Param("studentIds") Collection<UUID> studentIds,
+                                                           @Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to);
+
 }
@@ -3,12 +3,16 @@ package com.schoolplus.office.repository;
 import com.schoolplus.office.domain.Classroom;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClassroomRepository extends PagingAndSortingRepository<Classroom, Long> {
 
     Optional<Classroom> findByClassNumber(Long classNumber);
 
+    List<Classroom> findAllByClassNumberIn(Collection<Long> classNumbers);
+
     boolean existsByClassNumber(Long classNumber);
 
 }
@@ -1,7 +1,42 @@
 package com.schoolplus.office.repository;
 
 import com.schoolplus.office.domain.ExamResultItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface ExamResultItemRepository extends PagingAndSortingRepository<ExamResultItem, Long> {
+
+    List<ExamResultItem> findAllByExamResult_IdAndOverallRankNotNullOrderByOverallRankAsc(Long examResultId,
+                                                                                          Pageable pageable);
+
+    Optional<ExamResultItem> findFirstByExamResult_IdAndStudent_Id(Long examResultId, UUID studentId);
+
+    List<ExamResultItem> findAllByExamResult_IdOrderByIdAsc(Long examResultId, Pageable pageable);
+
+    @Query("select distinct key(d) from ExamResultItem i join i.resultData d where i.examResult.id = :examResultId")
+    List<String> findAllResultDataKeysByExamResultId(@Param("examResultId") Long examResultId);
+
+    /**
+     * Scrolls the items of a result; the MySQL driver streams rows one by one for this fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select i from ExamResultItem i where i.examResult.id = :examResultId order by i.id")
+    Stream<ExamResultItem> streamAllByExamResultId(@Param("examResultId") Long examResultId);
+
 }
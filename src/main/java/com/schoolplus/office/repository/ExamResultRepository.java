@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ExamResultRepository extends PagingAndSortingRepository<ExamResult, Long> {
@@ -19,4 +20,6 @@ public interface ExamResultRepository extends PagingAndSortingRepository<ExamRes
 
     Page<ExamResult> findAllByExam(Exam exam, Pageable pageable);
 
+    List<ExamResult> findTop20ByResultColumnsIsNull();
+
 }
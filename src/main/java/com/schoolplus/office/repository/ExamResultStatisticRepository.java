@@ -0,0 +1,23 @@
+package com.schoolplus.office.repository;
+
+import com.schoolplus.office.domain.ExamResultStatistic;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ExamResultStatisticRepository extends PagingAndSortingRepository<ExamResultStatistic, Long> {
+
+    List<ExamResultStatistic> findAllByExamResult_Id(Long examResultId);
+
+    List<ExamResultStatistic> findAllByExamResult_IdAndColumnName(Long examResultId, String columnName);
+
+    boolean existsByExamResult_Id(Long examResultId);
+
+    @Modifying
+    @Query("DELETE FROM ExamResultStatistic s WHERE s.examResult.id = :examResultId")
+    void deleteAllByExamResultId(@Param("examResultId") Long examResultId);
+
+}
@@ -11,15 +11,19 @@ import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    @Query("SELECT t FROM RefreshToken t WHERE t.token = :value AND t.expiryDateTime > CURRENT_TIMESTAMP")
-    Optional<RefreshToken> findByToken(@Param("value") String token);
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash AND t.expiryDateTime > CURRENT_TIMESTAMP")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
 
-    boolean existsByToken(String token);
-
-    void deleteByToken(String string);
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
 
+    /**
+     * Deletes at most {@code limit} tokens expired before the given time, walking the expiry index.
+     */
     @Modifying
-    @Query("DELETE FROM RefreshToken t WHERE t.expiryDateTime < CURRENT_TIMESTAMP")
-    void deleteAllExpiredSince();
+    @Query(value = "DELETE FROM refresh_token WHERE expiry_date_time < :expiredBefore ORDER BY expiry_date_time LIMIT :limit",
+            nativeQuery = true)
+    int deleteExpiredBefore(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("limit") int limit);
 
 }
@@ -1,11 +1,16 @@
 package com.schoolplus.office.repository;
 
+import com.schoolplus.office.components.appointment.TimeSlot;
 import com.schoolplus.office.domain.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 
 public interface SyllabusRepository extends PagingAndSortingRepository<Syllabus, Long> {
@@ -20,4 +25,13 @@ public interface SyllabusRepository extends PagingAndSortingRepository<Syllabus,
 
     Page<Syllabus> findAllByOrganizationAndSyllabusStartDateBetween(Organization organization, LocalDateTime from, LocalDateTime to, Pageable pageable);
 
-}
\ No newline at end of file
+    /**
+     * Lessons of the teacher overlapping {@code [from, to)}, a range scan on the teacher's dates index.
+     */
+    @Query("SELECT new com.schoolplus.office.components.appointment.TimeSlot(s.syllabusStartDate, s.syllabusEndDate) " +
+            "FROM Syllabus s WHERE s.teacher.id = :teacherId AND s.syllabusStartDate < :to AND s.syllabusEndDate > :from")
+    List<TimeSlot> findTeacherTimeSlots(@Param("teacherId") UUID teacherId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+}
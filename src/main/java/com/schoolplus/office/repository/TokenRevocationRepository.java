@@ -0,0 +1,20 @@
+package com.schoolplus.office.repository;
+
+import com.schoolplus.office.domain.TokenRevocation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface TokenRevocationRepository extends CrudRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findAllByRevokedAtGreaterThanEqual(Timestamp revokedAt);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation t WHERE t.revokedAt < :revokedAt")
+    int deleteAllRevokedBefore(@Param("revokedAt") Timestamp revokedAt);
+
+}
@@ -2,13 +2,18 @@ package com.schoolplus.office.repository;
 
 import com.schoolplus.office.domain.Organization;
 import com.schoolplus.office.domain.Student;
+import com.schoolplus.office.domain.Teacher;
 import com.schoolplus.office.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +23,32 @@ public interface UserRepository extends PagingAndSortingRepository<User, UUID> {
 
     Optional<Student> findByStudentNumber(Long studentNumber);
 
+    /**
+     * Locks the row of the teacher until the transaction ends, so the appointments of a teacher are
+     * checked and written by one transaction at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Teacher t where t.id = :teacherId")
+    Optional<Teacher> findTeacherForUpdate(@Param("teacherId") UUID teacherId);
+
+    /**
+     * Locks the row of the student until the transaction ends. Teachers are always locked before their
+     * students, so transactions booking the same people can't deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Student s where s.id = :studentId")
+    Optional<Student> findStudentForUpdate(@Param("studentId") UUID studentId);
+
+    /**
+     * Locks the rows of the students in id order, the order every transaction locks several students in.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Student s where s.id in :studentIds order by s.id")
+    List<Student> findStudentsForUpdate(@Param("studentIds") Collection<UUID> studentIds);
+
+    @Query("select s from Student s where s.studentNumber in :studentNumbers")
+    List<Student> findAllStudentsByStudentNumberIn(@Param("studentNumbers") Collection<Long> studentNumbers);
+
     Page<Student> findAllStudentsByOrganization(Organization organization, Pageable pageable);
 
     @Query("select s from Student s where s.organization = :organization and ( lower(s.firstName) like :searchKey% or lower(s.lastName) like :searchKey% or lower(s.username) like :searchKey% or cast(s.studentNumber as string) like :searchKey%)")
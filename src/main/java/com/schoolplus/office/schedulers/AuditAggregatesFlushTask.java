@@ -0,0 +1,19 @@
+package com.schoolplus.office.schedulers;
+
+import com.schoolplus.office.logging.AuditAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class AuditAggregatesFlushTask {
+
+    private final AuditAggregator auditAggregator;
+
+    @Scheduled(fixedDelayString = "${school-plus.audit.flushing-aggregates-delay:15000}")
+    public void flushCompletedMinutes() {
+        auditAggregator.flushCompletedMinutes();
+    }
+
+}
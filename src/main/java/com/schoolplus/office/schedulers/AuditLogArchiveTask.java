@@ -0,0 +1,32 @@
+package com.schoolplus.office.schedulers;
+
+import com.schoolplus.office.logging.AuditLogStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Slf4j
+@ConditionalOnProperty(name = "school-plus.audit.manage-storage", havingValue = "true")
+@RequiredArgsConstructor
+@Service
+public class AuditLogArchiveTask {
+
+    private final AuditLogStorage auditLogStorage;
+
+    @Scheduled(cron = "${school-plus.audit.archiving-cron}", zone = "Europe/Istanbul")
+    public void archiveExpiredAuditLogs() {
+        auditLogStorage.maintain();
+
+        List<YearMonth> archivedMonths = auditLogStorage.archiveExpired();
+
+        if (!archivedMonths.isEmpty()) {
+            log.info("Expired audit logs have been archived [months: {}]", archivedMonths);
+        }
+    }
+
+}
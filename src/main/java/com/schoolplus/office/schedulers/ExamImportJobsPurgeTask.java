@@ -0,0 +1,19 @@
+package com.schoolplus.office.schedulers;
+
+import com.schoolplus.office.services.ExamImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class ExamImportJobsPurgeTask {
+
+    private final ExamImportService examImportService;
+
+    @Scheduled(fixedDelayString = "${school-plus.exam-import.purging-jobs-delay:60000}")
+    public void purgeFinishedImportJobs() {
+        examImportService.purgeFinishedImportJobs();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.schoolplus.office.schedulers;
+
+import com.schoolplus.office.components.DistributedLock;
+import com.schoolplus.office.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class JwtKeyRingTask {
+
+    private static final String LOCK_NAME = "school-plus.jwt-key-ring-rotation";
+
+    private final JwtKeyRing jwtKeyRing;
+    private final DistributedLock distributedLock;
+
+    /**
+     * Every instance runs the cron, the lock and the staged key make only the first one rotate.
+     */
+    @Scheduled(cron = "${school-plus.jwt-pki.rotating-keys-cron:-}", zone = "Europe/Istanbul")
+    public void rotateSigningKey() {
+        distributedLock.runExclusively(LOCK_NAME, jwtKeyRing::rotate);
+    }
+
+    @Scheduled(fixedDelayString = "${school-plus.jwt-pki.reloading-key-ring-delay:30000}")
+    public void reloadKeyRing() {
+        jwtKeyRing.reloadIfChanged();
+    }
+
+}
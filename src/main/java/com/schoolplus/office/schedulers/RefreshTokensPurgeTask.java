@@ -1,26 +1,90 @@
 package com.schoolplus.office.schedulers;
 
+import com.schoolplus.office.components.DistributedLock;
+import com.schoolplus.office.config.ServerConfiguration;
 import com.schoolplus.office.repository.RefreshTokenRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 
+/**
+ * Deletes expired refresh tokens in chunks of {@code purgingRefreshTokensChunkSize}, one transaction per
+ * chunk with a pause in between, so logins never wait behind a long delete. Only one instance purges
+ * at a time.
+ */
 @Slf4j
-@RequiredArgsConstructor
-@Transactional
 @Service
 public class RefreshTokensPurgeTask {
 
+    private static final String LOCK_NAME = "school-plus.refresh-tokens-purge";
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributedLock distributedLock;
+    private final ServerConfiguration serverConfiguration;
+
+    private final Counter purgedTokens;
+    private final Timer purgingTimer;
+
+    public RefreshTokensPurgeTask(RefreshTokenRepository refreshTokenRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  DistributedLock distributedLock,
+                                  ServerConfiguration serverConfiguration,
+                                  MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.distributedLock = distributedLock;
+        this.serverConfiguration = serverConfiguration;
+
+        this.purgedTokens = Counter.builder("refresh.tokens.purged")
+                .description("Expired refresh tokens deleted")
+                .register(meterRegistry);
+        this.purgingTimer = Timer.builder("refresh.tokens.purging")
+                .description("Time spent purging expired refresh tokens")
+                .register(meterRegistry);
+    }
 
     @Scheduled(cron = "${school-plus.auth-config.purging-refresh-tokens-cron}", zone="Europe/Istanbul")
     public void purgeExpiredRefreshTokens() {
-        if(refreshTokenRepository.findAll().size() > 0) {
-            refreshTokenRepository.deleteAllExpiredSince();
-            log.info("Expired tokens have been purged");
+        distributedLock.runExclusively(LOCK_NAME, () -> purgingTimer.record(this::purge));
+    }
+
+    private void purge() {
+        LocalDateTime expiredBefore = LocalDateTime.now();
+        int chunkSize = serverConfiguration.getPurgingRefreshTokensChunkSize();
+        long purged = 0;
+        Integer deleted;
+
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    refreshTokenRepository.deleteExpiredBefore(expiredBefore, chunkSize));
+
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+
+            purged += deleted;
+            purgedTokens.increment(deleted);
+        } while (deleted == chunkSize && pause());
+
+        if (purged > 0) {
+            log.info("Expired tokens have been purged [count: {}]", purged);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(serverConfiguration.getPurgingRefreshTokensPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
@@ -0,0 +1,21 @@
+package com.schoolplus.office.schedulers;
+
+import com.schoolplus.office.security.TokenRevocationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class TokenRevocationsRefreshTask {
+
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Scheduled(fixedDelayString = "${school-plus.auth-config.refreshing-revocations-delay:5000}")
+    public void refreshTokenRevocations() {
+        tokenRevocationRegistry.refresh();
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.schoolplus.office.security;
+
+/**
+ * Claims of the access tokens. Tokens of an older {@link #VERSION} lack the claims needed to
+ * authenticate without loading the user.
+ */
+public final class AccessTokenClaims {
+
+    public static final String USERNAME = "username";
+    public static final String ROLES = "roles";
+    public static final String AUTHORITIES = "authorities";
+    public static final String VERSION = "ver";
+
+    /**
+     * Issue time to the millisecond, the registered issue time claim has second precision only.
+     */
+    public static final String ISSUED_AT = "iat_ms";
+
+    public static final long CURRENT_VERSION = 2;
+
+    private AccessTokenClaims() {
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.schoolplus.office.security;
+
+import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps snapshots of loaded users for {@code userDetailsCacheTtl}, least recently used ones are dropped
+ * beyond {@code userDetailsCacheSize}. A user is evicted as soon as it changes on this instance; on other
+ * instances the snapshot lives until the TTL is over. The entity itself is loaded again only when asked for.
+ */
+@Slf4j
+@Primary
+@Service
+public class CachingSecurityUserDetailsService extends SecurityUserDetailsService {
+
+    private final int maximumSize;
+    private final long timeToLive;
+
+    private final Map<String, Entry> entries;
+
+    public CachingSecurityUserDetailsService(UserRepository userRepository, ServerConfiguration serverConfiguration) {
+        super(userRepository);
+
+        this.maximumSize = serverConfiguration.getUserDetailsCacheSize();
+        this.timeToLive = serverConfiguration.getUserDetailsCacheTtl().toMillis();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    @Override
+    public SecurityUser loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (maximumSize <= 0) {
+            return super.loadUserByUsername(username);
+        }
+
+        Entry entry = entries.get(username);
+
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            return new SecurityUser(entry.snapshot, () -> super.loadUserByUsername(username).getUser());
+        }
+
+        SecurityUser securityUser = super.loadUserByUsername(username);
+        entries.put(username, new Entry(securityUser.getSnapshot(), System.currentTimeMillis() + timeToLive));
+
+        return securityUser;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent userChangedEvent) {
+        evict(userChangedEvent.getUserId());
+    }
+
+    /**
+     * Evicts now and again after the surrounding transaction commits, so a snapshot loaded from the
+     * previous state in between isn't kept.
+     */
+    public void evict(UUID userId) {
+        Runnable eviction = () -> {
+            synchronized (entries) {
+                entries.values().removeIf(entry -> entry.snapshot.getId().equals(userId));
+            }
+        };
+
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private static class Entry {
+
+        private final SecurityUserSnapshot snapshot;
+        private final long expiresAt;
+
+        private Entry(SecurityUserSnapshot snapshot, long expiresAt) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.schoolplus.office.security;
+
+import com.schoolplus.office.config.ServerConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Digests of refresh tokens that turned out unknown, expired or revoked, so clients retrying them
+ * don't reach the database again. Refresh tokens are random and never reissued, hence a token that
+ * is invalid once stays invalid; entries are kept for {@code invalidRefreshTokenCacheTtl} only to bound
+ * memory, least recently used ones are dropped beyond {@code invalidRefreshTokenCacheSize}.
+ */
+@Component
+public class InvalidRefreshTokenCache {
+
+    private final int maximumSize;
+    private final long timeToLive;
+
+    private final Map<String, Long> entries;
+
+    public InvalidRefreshTokenCache(ServerConfiguration serverConfiguration) {
+        this.maximumSize = serverConfiguration.getInvalidRefreshTokenCacheSize();
+        this.timeToLive = serverConfiguration.getInvalidRefreshTokenCacheTtl().toMillis();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    public boolean contains(String tokenHash) {
+        Long expiresAt = entries.get(tokenHash);
+
+        if (expiresAt == null) {
+            return false;
+        }
+
+        if (expiresAt <= System.currentTimeMillis()) {
+            entries.remove(tokenHash);
+            return false;
+        }
+
+        return true;
+    }
+
+    public void add(String tokenHash) {
+        if (maximumSize > 0) {
+            entries.put(tokenHash, System.currentTimeMillis() + timeToLive);
+        }
+    }
+
+}
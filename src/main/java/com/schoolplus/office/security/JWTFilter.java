@@ -2,15 +2,20 @@ package com.schoolplus.office.security;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
+import com.schoolplus.office.config.ServerConfiguration;
 import com.schoolplus.office.services.JwtService;
+import com.schoolplus.office.web.controllers.authentication.JwksController;
 import com.schoolplus.office.web.controllers.authentication.LoginController;
 import com.schoolplus.office.web.controllers.authentication.TokenController;
 import com.schoolplus.office.web.exceptions.JWTException;
+import com.schoolplus.office.web.models.ErrorDesc;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -25,8 +30,10 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 
 @RequiredArgsConstructor
@@ -35,9 +42,13 @@ public class JWTFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final SecurityUserDetailsService securityUserDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final ServerConfiguration serverConfiguration;
 
     private final List<String> skipUrls = List.of(LoginController.ENDPOINT,
             TokenController.ENDPOINT,
+            JwksController.ENDPOINT,
             "/swagger-ui.html",
             "/swagger-ui",
             "/api-docs");
@@ -70,12 +81,12 @@ public class JWTFilter extends OncePerRequestFilter {
 
             final String accessToken = headers.split(" ")[1].trim();
 
-            if (!jwtService.validate(accessToken)) {
-                httpServletResponse.sendError(HttpStatus.UNAUTHORIZED.value());
-                return;
-            }
+            JWTClaimsSet jwtClaimsSet = verifiedTokenCache.get(accessToken);
 
-            JWTClaimsSet jwtClaimsSet = jwtService.parseAndValidate(accessToken);
+            if (jwtClaimsSet == null) {
+                jwtClaimsSet = jwtService.parseAndValidate(accessToken);
+                verifiedTokenCache.put(accessToken, jwtClaimsSet);
+            }
 
             Date date = jwtClaimsSet.getExpirationTime();
             Instant now = Instant.now();
@@ -85,10 +96,14 @@ public class JWTFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String username = jwtClaimsSet.getStringClaim("username");
+            SecurityUser securityUser = serverConfiguration.isStatelessAuthentication()
+                    ? statelessUser(jwtClaimsSet)
+                    : null;
 
-            SecurityUser securityUser =
-                    securityUserDetailsService.loadUserByUsername(username);
+            if (securityUser == null) {
+                securityUser = securityUserDetailsService.loadUserByUsername(
+                        jwtClaimsSet.getStringClaim(AccessTokenClaims.USERNAME));
+            }
 
             UsernamePasswordAuthenticationToken authenticationToken =
                     new UsernamePasswordAuthenticationToken(securityUser, null, securityUser.getAuthorities());
@@ -105,6 +120,42 @@ public class JWTFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * @return the user described by the claims, {@code null} when the token predates the claims
+     */
+    private SecurityUser statelessUser(JWTClaimsSet jwtClaimsSet) throws ParseException {
+        Long version = jwtClaimsSet.getLongClaim(AccessTokenClaims.VERSION);
+
+        if (version == null || version != AccessTokenClaims.CURRENT_VERSION) {
+            return null;
+        }
+
+        UUID userId = UUID.fromString(jwtClaimsSet.getSubject());
+
+        Long issuedAt = jwtClaimsSet.getLongClaim(AccessTokenClaims.ISSUED_AT);
+
+        if (issuedAt == null || tokenRevocationRegistry.isRevoked(userId, issuedAt)) {
+            throw new JWTException(ErrorDesc.INVALID_TOKEN.getDesc());
+        }
+
+        String username = jwtClaimsSet.getStringClaim(AccessTokenClaims.USERNAME);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+
+        for (String authority : jwtClaimsSet.getStringListClaim(AccessTokenClaims.AUTHORITIES)) {
+            authorities.add(new SimpleGrantedAuthority(authority));
+        }
+
+        for (String role : jwtClaimsSet.getStringListClaim(AccessTokenClaims.ROLES)) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+
+        // The token was issued to an active account, later changes revoke it
+        SecurityUserSnapshot snapshot = new SecurityUserSnapshot(userId, username, null,
+                true, true, true, true, authorities);
+
+        return new SecurityUser(snapshot, () -> securityUserDetailsService.loadUserByUsername(username).getUser());
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         return skipUrls.stream().anyMatch(skipUrl -> request.getRequestURI().startsWith(skipUrl));
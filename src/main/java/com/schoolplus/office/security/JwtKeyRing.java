@@ -0,0 +1,318 @@
+package com.schoolplus.office.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.schoolplus.office.config.JwtPkiConfiguration;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The signing keys, kept in a local JWK set file so tokens survive restarts and instances sharing
+ * the file accept each other's tokens. The first key signs; every key verifies the tokens carrying
+ * its {@code kid}. A rotation puts a new key first and keeps {@code retainedKeys} in total, so tokens
+ * signed by the previous keys stay valid until they expire. The new key only verifies until
+ * {@value #PROMOTED_AT} has passed, twice the reload delay, so every instance sharing the file knows
+ * it before any token is signed with it.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    /**
+     * Member of the JWK set holding the time the first key starts signing, in epoch milliseconds.
+     */
+    static final String PROMOTED_AT = "promoted_at";
+
+    private final JwtPkiConfiguration jwtPkiConfiguration;
+
+    private volatile Keys keys;
+    private volatile long loadedModifiedTime;
+
+    public JwtKeyRing(JwtPkiConfiguration jwtPkiConfiguration) {
+        this.jwtPkiConfiguration = jwtPkiConfiguration;
+    }
+
+    @PostConstruct
+    public void init() {
+        Path path = keyRingPath();
+
+        if (Files.exists(path)) {
+            load(path);
+        } else {
+            install(List.of(generate()), 0);
+            log.info("JWT key ring has been created [path: {}, kid: {}]", path, keys.signingKey().getKeyID());
+        }
+    }
+
+    public SigningKey getSigningKey() {
+        return keys.signingKey();
+    }
+
+    /**
+     * @return the verifier of the key with the given id, {@code null} when the key is unknown or retired
+     */
+    public JWSVerifier getVerifier(String keyId) {
+        return keyId != null ? keys.verifiers.get(keyId) : null;
+    }
+
+    public JWKSet getPublicJwkSet() {
+        return keys.publicJwkSet;
+    }
+
+    /**
+     * Stages a new signing key. Reads the file first so the keys of other instances are kept, and does
+     * nothing while a staged key is still waiting, as another instance has just rotated then.
+     *
+     * @return {@code false} when the rotation has been skipped
+     */
+    public synchronized boolean rotate() {
+        reloadIfChanged();
+
+        long now = System.currentTimeMillis();
+
+        if (keys.promotedAt > now) {
+            log.info("JWT signing key is already staged [kid: {}]", keys.jwkSet.getKeys().get(0).getKeyID());
+            return false;
+        }
+
+        List<JWK> jwks = new ArrayList<>();
+        jwks.add(generate());
+
+        // The staged key does not sign yet, so the current signing key is always kept
+        for (JWK jwk : keys.jwkSet.getKeys()) {
+            if (jwks.size() >= Math.max(2, jwtPkiConfiguration.getRetainedKeys())) {
+                break;
+            }
+
+            jwks.add(jwk);
+        }
+
+        long promotionDelay = jwtPkiConfiguration.getReloadingKeyRingDelay()
+                .plus(jwtPkiConfiguration.getJwksMaxAge())
+                .toMillis();
+
+        install(jwks, now + promotionDelay);
+        log.info("JWT signing key has been staged [kid: {}, promotedAt: {}]", jwks.get(0).getKeyID(),
+                keys.promotedAt);
+
+        return true;
+    }
+
+    /**
+     * Loads the file again when another instance has rotated the keys.
+     */
+    public synchronized void reloadIfChanged() {
+        Path path = keyRingPath();
+
+        try {
+            if (Files.exists(path) && Files.getLastModifiedTime(path).toMillis() != loadedModifiedTime) {
+                load(path);
+                log.info("JWT key ring has been reloaded [kid: {}]", keys.signingKey().getKeyID());
+            }
+        } catch (IOException e) {
+            log.warn("JWT key ring couldn't be checked [path: {}]", path, e);
+        }
+    }
+
+    private void load(Path path) {
+        try {
+            JWKSet jwkSet = JWKSet.parse(Files.readString(path, StandardCharsets.UTF_8));
+
+            keys = new Keys(jwkSet);
+            loadedModifiedTime = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("JWT key ring couldn't be read [path: " + path + "]", e);
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException("JWT key ring is invalid [path: " + path + "]", e);
+        }
+    }
+
+    /**
+     * Written into a temporary file and moved, so readers never see a partial key ring.
+     */
+    private void install(List<JWK> jwks, long promotedAt) {
+        JWKSet jwkSet = promotedAt > 0 ? new JWKSet(jwks, Map.of(PROMOTED_AT, promotedAt)) : new JWKSet(jwks);
+        Path path = keyRingPath();
+
+        try {
+            Keys installed = new Keys(jwkSet);
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            Files.writeString(temporary, jwkSet.toString(false), StandardCharsets.UTF_8);
+
+            try {
+                Files.setPosixFilePermissions(temporary, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                log.warn("JWT key ring permissions couldn't be restricted [path: {}]", path);
+            }
+
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            keys = installed;
+            loadedModifiedTime = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("JWT key ring couldn't be written [path: " + path + "]", e);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("JWT key ring couldn't be installed", e);
+        }
+    }
+
+    private JWK generate() {
+        String keyId = UUID.randomUUID().toString();
+
+        try {
+            switch (jwtPkiConfiguration.getSigningAlgorithm()) {
+                case RS256:
+                    return new RSAKeyGenerator(2048).keyID(keyId).keyUse(KeyUse.SIGNATURE)
+                            .algorithm(JWSAlgorithm.RS256).generate();
+                case EdDSA:
+                    return new OctetKeyPairGenerator(Curve.Ed25519).keyID(keyId).keyUse(KeyUse.SIGNATURE)
+                            .algorithm(JWSAlgorithm.EdDSA).generate();
+                case ES256:
+                default:
+                    return new ECKeyGenerator(Curve.P_256).keyID(keyId).keyUse(KeyUse.SIGNATURE)
+                            .algorithm(JWSAlgorithm.ES256).generate();
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("JWT signing key couldn't be generated", e);
+        }
+    }
+
+    private Path keyRingPath() {
+        return Paths.get(jwtPkiConfiguration.getKeyRingPath());
+    }
+
+    @Getter
+    public static class SigningKey {
+
+        private final String keyID;
+        private final JWSAlgorithm algorithm;
+        private final JWSSigner signer;
+
+        private SigningKey(String keyID, JWSAlgorithm algorithm, JWSSigner signer) {
+            this.keyID = keyID;
+            this.algorithm = algorithm;
+            this.signer = signer;
+        }
+
+    }
+
+    private static class Keys {
+
+        private final JWKSet jwkSet;
+        private final JWKSet publicJwkSet;
+        private final SigningKey newestKey;
+        private final SigningKey previousKey;
+        private final long promotedAt;
+        private final Map<String, JWSVerifier> verifiers = new HashMap<>();
+
+        private Keys(JWKSet jwkSet) throws JOSEException {
+            if (jwkSet.getKeys().isEmpty()) {
+                throw new JOSEException("JWT key ring has no keys");
+            }
+
+            this.jwkSet = jwkSet;
+            this.publicJwkSet = jwkSet.toPublicJWKSet();
+
+            for (JWK jwk : jwkSet.getKeys()) {
+                verifiers.put(jwk.getKeyID(), verifier(jwk));
+            }
+
+            JWK first = jwkSet.getKeys().get(0);
+            this.newestKey = new SigningKey(first.getKeyID(), algorithm(first), signer(first));
+
+            Object promotedAt = jwkSet.getAdditionalMembers().get(PROMOTED_AT);
+
+            if (promotedAt instanceof Number && jwkSet.getKeys().size() > 1) {
+                JWK second = jwkSet.getKeys().get(1);
+
+                this.previousKey = new SigningKey(second.getKeyID(), algorithm(second), signer(second));
+                this.promotedAt = ((Number) promotedAt).longValue();
+            } else {
+                this.previousKey = null;
+                this.promotedAt = 0;
+            }
+        }
+
+        private SigningKey signingKey() {
+            return previousKey != null && System.currentTimeMillis() < promotedAt ? previousKey : newestKey;
+        }
+
+        private static JWSAlgorithm algorithm(JWK jwk) {
+            if (jwk.getAlgorithm() != null) {
+                return JWSAlgorithm.parse(jwk.getAlgorithm().getName());
+            }
+
+            if (jwk instanceof ECKey) {
+                return JWSAlgorithm.ES256;
+            }
+
+            return jwk instanceof OctetKeyPair ? JWSAlgorithm.EdDSA : JWSAlgorithm.RS256;
+        }
+
+        private static JWSSigner signer(JWK jwk) throws JOSEException {
+            if (jwk instanceof ECKey) {
+                return new ECDSASigner((ECKey) jwk);
+            }
+
+            if (jwk instanceof OctetKeyPair) {
+                return new Ed25519Signer((OctetKeyPair) jwk);
+            }
+
+            return new RSASSASigner((RSAKey) jwk);
+        }
+
+        private static JWSVerifier verifier(JWK jwk) throws JOSEException {
+            if (jwk instanceof ECKey) {
+                return new ECDSAVerifier(((ECKey) jwk).toPublicJWK());
+            }
+
+            if (jwk instanceof OctetKeyPair) {
+                return new Ed25519Verifier(((OctetKeyPair) jwk).toPublicJWK());
+            }
+
+            return new RSASSAVerifier(((RSAKey) jwk).toPublicJWK());
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.schoolplus.office.security;
+
+import com.schoolplus.office.config.LoginConfiguration;
+import com.schoolplus.office.web.exceptions.LoginThrottledException;
+import com.schoolplus.office.web.models.ErrorDesc;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Verifies passwords on the bounded login executor rather than on the request thread, so a login
+ * burst occupies at most {@code poolSize} cores with BCrypt and the rest of the API keeps its CPU.
+ * Logins that find the queue full, or wait longer than {@code waitingTimeout}, are rejected with 429
+ * instead of piling up behind the hashing threads.
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor loginExecutor;
+    private final LoginConfiguration loginConfiguration;
+
+    private final Timer hashingTimer;
+    private final Timer waitingTimer;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Qualifier("loginExecutor") ThreadPoolTaskExecutor loginExecutor,
+                            LoginConfiguration loginConfiguration,
+                            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.loginExecutor = loginExecutor;
+        this.loginConfiguration = loginConfiguration;
+
+        this.hashingTimer = Timer.builder("login.password.hashing")
+                .description("Time spent verifying a password hash")
+                .register(meterRegistry);
+        this.waitingTimer = Timer.builder("login.queue.waiting")
+                .description("Time a login waited for a hashing thread")
+                .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("login.rejected")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.timeoutRejections = Counter.builder("login.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+
+        Gauge.builder("login.queue.depth", loginExecutor, executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Logins waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("login.active", loginExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Passwords being hashed")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String username, CharSequence rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> verification;
+
+        try {
+            verification = loginExecutor.submit(() -> {
+                waitingTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashingTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            });
+        } catch (TaskRejectedException e) {
+            queueFullRejections.increment();
+            log.warn("The login queue is full [username: {}]", username);
+            throw new LoginThrottledException(ErrorDesc.TOO_MANY_LOGIN_REQUESTS.getDesc());
+        }
+
+        try {
+            return verification.get(loginConfiguration.getWaitingTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            verification.cancel(false);
+            timeoutRejections.increment();
+            log.warn("The login has timed out waiting for verification [username: {}]", username);
+            throw new LoginThrottledException(ErrorDesc.TOO_MANY_LOGIN_REQUESTS.getDesc());
+        } catch (InterruptedException e) {
+            verification.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new LoginThrottledException(ErrorDesc.TOO_MANY_LOGIN_REQUESTS.getDesc());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+}
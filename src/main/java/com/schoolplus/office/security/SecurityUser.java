@@ -5,80 +5,99 @@ import com.schoolplus.office.domain.Organization;
 import com.schoolplus.office.domain.Role;
 import com.schoolplus.office.domain.User;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
+/**
+ * Answers authentication from a {@link SecurityUserSnapshot}; the {@link User} entity is loaded only
+ * when it is asked for.
+ */
 public class SecurityUser implements UserDetails {
 
-    private final User user;
+    private final SecurityUserSnapshot snapshot;
+    private final Supplier<User> userLoader;
+
+    private User user;
 
     public SecurityUser(User user) {
+        this.snapshot = SecurityUserSnapshot.of(user);
+        this.userLoader = null;
         this.user = user;
     }
 
+    public SecurityUser(SecurityUserSnapshot snapshot, Supplier<User> userLoader) {
+        this.snapshot = snapshot;
+        this.userLoader = userLoader;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> grantedAuthorities = new ArrayList<>();
-
-        user.getAuthorities().forEach(authority -> grantedAuthorities.add(new SimpleGrantedAuthority(authority.getAuthorityName())));
-        user.getRoles().forEach(role -> grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_" + role.getRoleName().toUpperCase())));
-
-        return grantedAuthorities;
+        return snapshot.getAuthorities();
     }
 
     public User getUser() {
+        if (user == null) {
+            user = userLoader.get();
+        }
+
         return this.user;
     }
 
     public UUID getId() {
-        return user.getId();
+        return snapshot.getId();
+    }
+
+    public SecurityUserSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public List<Role> getPureRoles() {
-        return new ArrayList<>(user.getRoles());
+        return new ArrayList<>(getUser().getRoles());
     }
 
     public List<Authority> getPureAuthorities() {
-        return new ArrayList<>(user.getAuthorities());
+        return new ArrayList<>(getUser().getAuthorities());
     }
 
     public Organization getOrganization() {
-        return user.getOrganization();
+        return getUser().getOrganization();
     }
 
+    /**
+     * Users authenticated by an access token carry no password, it is loaded if asked for.
+     */
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return snapshot.getPassword() != null ? snapshot.getPassword() : getUser().getPassword();
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return snapshot.getUsername();
     }
 
     @Override
     public boolean isAccountNonExpired() {
-        return user.getIsAccountNonExpired();
+        return snapshot.isAccountNonExpired();
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return user.getIsAccountNonLocked();
+        return snapshot.isAccountNonLocked();
     }
 
     @Override
     public boolean isCredentialsNonExpired() {
-        return user.getIsCredentialsNonExpired();
+        return snapshot.isCredentialsNonExpired();
     }
 
     @Override
     public boolean isEnabled() {
-        return user.getIsEnabled();
+        return snapshot.isEnabled();
     }
 }
@@ -0,0 +1,55 @@
+package com.schoolplus.office.security;
+
+import com.schoolplus.office.domain.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What authentication needs of a user, copied out of the entity so it can be shared between requests.
+ */
+@Getter
+public final class SecurityUserSnapshot {
+
+    private final UUID id;
+    private final String username;
+    private final String password;
+    private final boolean accountNonExpired;
+    private final boolean accountNonLocked;
+    private final boolean credentialsNonExpired;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    public SecurityUserSnapshot(UUID id, String username, String password, boolean accountNonExpired,
+                                boolean accountNonLocked, boolean credentialsNonExpired, boolean enabled,
+                                Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.accountNonExpired = accountNonExpired;
+        this.accountNonLocked = accountNonLocked;
+        this.credentialsNonExpired = credentialsNonExpired;
+        this.enabled = enabled;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    public static SecurityUserSnapshot of(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+
+        user.getAuthorities().forEach(authority -> authorities.add(new SimpleGrantedAuthority(authority.getAuthorityName())));
+        user.getRoles().forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getRoleName().toUpperCase())));
+
+        return new SecurityUserSnapshot(user.getId(), user.getUsername(), user.getPassword(),
+                Boolean.TRUE.equals(user.getIsAccountNonExpired()),
+                Boolean.TRUE.equals(user.getIsAccountNonLocked()),
+                Boolean.TRUE.equals(user.getIsCredentialsNonExpired()),
+                Boolean.TRUE.equals(user.getIsEnabled()),
+                authorities);
+    }
+
+}
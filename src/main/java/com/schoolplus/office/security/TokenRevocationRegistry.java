@@ -0,0 +1,114 @@
+package com.schoolplus.office.security;
+
+import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.domain.TokenRevocation;
+import com.schoolplus.office.repository.TokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Guards stateless authentication: when a user changes, access tokens issued to them before the change
+ * are rejected. Revocations are stored so that other instances pick them up on their next refresh, and
+ * are forgotten once every token they could apply to has expired.
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    /**
+     * Overlap between refreshes, so revocations committed late are not missed.
+     */
+    private static final long REFRESH_OVERLAP = 1000;
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final ServerConfiguration serverConfiguration;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<UUID, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    private volatile long lastRefresh;
+
+    public TokenRevocationRegistry(TokenRevocationRepository tokenRevocationRepository,
+                                   ServerConfiguration serverConfiguration,
+                                   PlatformTransactionManager transactionManager) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.serverConfiguration = serverConfiguration;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lastRefresh = System.currentTimeMillis() - accessTokenLifetime();
+    }
+
+    /**
+     * Revokes now and again once the change has committed, as tokens issued in between may have been
+     * built from the user as it was before the change.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent userChangedEvent) {
+        UUID userId = userChangedEvent.getUserId();
+
+        revoke(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // The committed transaction is still bound, the revocation is stored in one of its own
+                    newTransaction.executeWithoutResult(status -> revoke(userId));
+                }
+            });
+        }
+    }
+
+    public void revoke(UUID userId) {
+        long now = System.currentTimeMillis();
+
+        revokedBefore.merge(userId, now, Math::max);
+        tokenRevocationRepository.save(new TokenRevocation(null, userId, new Timestamp(now)));
+
+        log.info("Access tokens of the User have been revoked [userId: {}]", userId);
+    }
+
+    /**
+     * @param issuedAt issue time of the token in milliseconds; a token issued in the very millisecond of
+     *                 a revocation may predate the change, so it is revoked as well
+     */
+    public boolean isRevoked(UUID userId, long issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+
+        return revokedAt != null && issuedAt <= revokedAt;
+    }
+
+    /**
+     * Picks up the revocations of other instances and drops the ones which can no longer apply.
+     */
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - accessTokenLifetime();
+
+        for (TokenRevocation tokenRevocation : tokenRevocationRepository
+                .findAllByRevokedAtGreaterThanEqual(new Timestamp(lastRefresh - REFRESH_OVERLAP))) {
+            revokedBefore.merge(tokenRevocation.getUserId(), tokenRevocation.getRevokedAt().getTime(), Math::max);
+        }
+
+        lastRefresh = now;
+
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < expiredBefore);
+        tokenRevocationRepository.deleteAllRevokedBefore(new Timestamp(expiredBefore));
+    }
+
+    private long accessTokenLifetime() {
+        return serverConfiguration.getAccessToken().getLifetime().toMillis();
+    }
+
+}
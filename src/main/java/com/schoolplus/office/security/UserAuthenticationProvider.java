@@ -8,7 +8,6 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -17,7 +16,7 @@ import org.springframework.stereotype.Service;
 public class UserAuthenticationProvider implements AuthenticationProvider {
 
     private final SecurityUserDetailsService securityUserDetailsService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -27,7 +26,7 @@ public class UserAuthenticationProvider implements AuthenticationProvider {
         SecurityUser securityUser =
                 securityUserDetailsService.loadUserByUsername(username);
 
-        if(passwordEncoder.matches(password, securityUser.getPassword())) {
+        if(passwordVerifier.matches(username, password, securityUser.getPassword())) {
             return new UsernamePasswordAuthenticationToken(username,
                     password, securityUser.getAuthorities());
         } else  {
@@ -0,0 +1,20 @@
+package com.schoolplus.office.security;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a user, or a student, teacher or parent, is edited or deleted, so that anything
+ * derived from the user for authentication can be dropped.
+ */
+@Getter
+public class UserChangedEvent {
+
+    private final UUID userId;
+
+    public UserChangedEvent(UUID userId) {
+        this.userId = userId;
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.schoolplus.office.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.utils.TokenUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claims of access tokens whose signature has already been verified, kept until the token expires.
+ * Entries are keyed by the SHA-256 of the token, so tokens are not held in memory. All access tokens
+ * share a lifetime, hence insertion order is close to expiry order and the oldest entries are evicted
+ * first once the cache is full.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maximumSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public VerifiedTokenCache(ServerConfiguration serverConfiguration) {
+        this.maximumSize = serverConfiguration.getVerifiedTokenCacheSize();
+    }
+
+    /**
+     * @return the claims of the token, {@code null} when it has not been verified or has expired since
+     */
+    public JWTClaimsSet get(String token) {
+        String key = TokenUtils.digest(token);
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            remove(entry);
+            return null;
+        }
+
+        return entry.claims;
+    }
+
+    public void put(String token, JWTClaimsSet claims) {
+        Date expirationTime = claims.getExpirationTime();
+
+        if (maximumSize <= 0 || expirationTime == null || expirationTime.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        Entry entry = new Entry(TokenUtils.digest(token), claims, expirationTime.getTime());
+
+        if (entries.putIfAbsent(entry.key, entry) == null) {
+            insertionOrder.add(entry);
+            size.incrementAndGet();
+            evict();
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        insertionOrder.clear();
+        size.set(0);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * A key put again after its entry was removed is queued twice; the older queued entry is no longer
+     * the cached one and is skipped without touching the newer.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+
+        while (true) {
+            Entry oldest = insertionOrder.peek();
+
+            if (oldest == null) {
+                return;
+            }
+
+            boolean removed = entries.get(oldest.key) != oldest;
+            boolean expired = oldest.expiresAt <= now;
+
+            if (!removed && !expired && size.get() <= maximumSize) {
+                return;
+            }
+
+            if (insertionOrder.remove(oldest)) {
+                remove(oldest);
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private static class Entry {
+
+        private final String key;
+        private final JWTClaimsSet claims;
+        private final long expiresAt;
+
+        private Entry(String key, JWTClaimsSet claims, long expiresAt) {
+            this.key = key;
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -6,6 +6,9 @@ import com.schoolplus.office.domain.Teacher;
 import com.schoolplus.office.web.models.AppointmentDto;
 import com.schoolplus.office.web.models.CreatingAppointmentDto;
 import com.schoolplus.office.web.models.EditingAppointmentDto;
+import com.schoolplus.office.web.models.FreeSlotDto;
+import com.schoolplus.office.web.models.ScheduledAppointmentDto;
+import com.schoolplus.office.web.models.SchedulingAppointmentsDto;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
@@ -20,10 +23,14 @@ public interface AppointmentService {
 
     AppointmentDto createAppointment(CreatingAppointmentDto creatingAppointment);
 
+    List<ScheduledAppointmentDto> scheduleAppointments(SchedulingAppointmentsDto schedulingAppointments);
+
     void updateAppointment(UUID appointmentId, EditingAppointmentDto editingAppointment);
 
     void deleteAppointment(UUID appointmentId);
 
+    List<FreeSlotDto> getFreeSlots(Long organizationId, UUID teacherId, LocalDateTime from, LocalDateTime to, Integer minimumMinutes);
+
     boolean isAppointmentTaken(CanAppointment t, UUID appointmentId, LocalDateTime start, LocalDateTime end);
 
 }
@@ -0,0 +1,13 @@
+package com.schoolplus.office.services;
+
+import com.schoolplus.office.web.models.AuditLogCriteria;
+import com.schoolplus.office.web.models.AuditLogPageDto;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface AuditLogService {
+
+    AuditLogPageDto listAuditLogs(AuditLogCriteria criteria, String cursor, Integer size);
+
+    StreamingResponseBody streamAuditLogs(AuditLogCriteria criteria);
+
+}
@@ -0,0 +1,16 @@
+package com.schoolplus.office.services;
+
+import com.schoolplus.office.web.models.ExamImportJobDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface ExamImportService {
+
+    ExamImportJobDto submitExamResultImport(Long examId, MultipartFile result);
+
+    ExamImportJobDto getExamImportJob(UUID jobId);
+
+    void purgeFinishedImportJobs();
+
+}
@@ -1,9 +1,12 @@
 package com.schoolplus.office.services;
 
+import com.schoolplus.office.components.exam.ExamImportJob;
 import com.schoolplus.office.web.models.*;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.File;
 import java.util.List;
 import java.util.UUID;
 
@@ -47,8 +50,20 @@ public interface ExamService {
 
     ExamResultDto createExamResult(Long examId, MultipartFile result);
 
+    ExamResultDto createExamResult(Long examId, File result, ExamImportJob importJob);
+
+    ExamResultDto createBulkExamResult(Long examId, List<MultipartFile> results);
+
     ExamResultItemDto getExamResultItem(Long examResultItemId);
 
+    List<ExamResultRankingDto> getExamResultRankings(Long examResultId, Pageable pageable);
+
+    ExamResultRankingDto getExamResultRankingByStudent(Long examResultId, UUID studentId);
+
+    List<ExamResultAnalyticsDto> getExamResultAnalytics(Long examResultId, String columnName);
+
+    StreamingResponseBody exportExamResult(Long examResultId, ExamResultExportFormat format);
+
     void updateExam(Long examId, EditingExamDto editingExam);
 
     void updateExamType(Long examTypeId, EditingExamTypeDto editingExamType);
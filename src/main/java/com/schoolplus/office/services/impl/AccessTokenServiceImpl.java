@@ -2,6 +2,7 @@ package com.schoolplus.office.services.impl;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.security.AccessTokenClaims;
 import com.schoolplus.office.security.SecurityUser;
 import com.schoolplus.office.services.AccessTokenService;
 import com.schoolplus.office.services.JwtService;
@@ -50,7 +51,14 @@ public class AccessTokenServiceImpl implements AccessTokenService {
             claims.put("scopes", claimedAuthority);
         }
 
-        claims.put("roles", roles);
+        claims.put(AccessTokenClaims.ROLES, roles);
+
+        // Kept as they are, @PreAuthorize expressions are case sensitive
+        claims.put(AccessTokenClaims.AUTHORITIES, securityUser.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> !authority.startsWith("ROLE_"))
+                .collect(Collectors.toList()));
+        claims.put(AccessTokenClaims.VERSION, AccessTokenClaims.CURRENT_VERSION);
 
         Duration accessTokenDuration = accessTokenCommand.getExpiryDateTime() != null ?
                 accessTokenCommand.getExpiryDateTime() : configuredAccessTokenDuration;
@@ -4,9 +4,17 @@ import com.schoolplus.office.annotations.CreatingEntity;
 import com.schoolplus.office.annotations.DeletingEntity;
 import com.schoolplus.office.annotations.ReadingEntity;
 import com.schoolplus.office.annotations.UpdatingEntity;
+import com.schoolplus.office.components.appointment.AppointmentInterval;
+import com.schoolplus.office.components.appointment.AppointmentSlotPlanner;
+import com.schoolplus.office.components.appointment.StudentAppointmentInterval;
+import com.schoolplus.office.components.appointment.TeacherAppointmentIndex;
+import com.schoolplus.office.components.appointment.TeacherFreeSlotFinder;
+import com.schoolplus.office.components.appointment.TimeSlot;
+import com.schoolplus.office.config.AppointmentConfiguration;
 import com.schoolplus.office.domain.*;
 import com.schoolplus.office.repository.AppointmentRepository;
 import com.schoolplus.office.repository.OrganizationRepository;
+import com.schoolplus.office.repository.SyllabusRepository;
 import com.schoolplus.office.repository.UserRepository;
 import com.schoolplus.office.services.AppointmentService;
 import com.schoolplus.office.utils.AppointmentUtils;
@@ -15,17 +23,18 @@ import com.schoolplus.office.web.mappers.AppointmentMapper;
 import com.schoolplus.office.web.models.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -35,7 +44,12 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
+    private final SyllabusRepository syllabusRepository;
     private final AppointmentMapper appointmentMapper;
+    private final TeacherAppointmentIndex teacherAppointmentIndex;
+    private final TeacherFreeSlotFinder teacherFreeSlotFinder;
+    private final AppointmentConfiguration appointmentConfiguration;
+    private final AppointmentSlotPlanner appointmentSlotPlanner;
 
     @ReadingEntity(domain = TransactionDomain.APPOINTMENT, action = DomainAction.READ_APPOINTMENT)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('read:appointments'))")
@@ -58,6 +72,11 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentMapper.appointmentToAppointmentDto(appointments.getContent());
     }
 
+    /**
+     * The rows of the teacher and then the student are locked. Read committed, so the overlap queries run
+     * after the locks are taken see the appointments committed while waiting for them.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @CreatingEntity(domain = TransactionDomain.APPOINTMENT, action = DomainAction.CREATE_APPOINTMENT)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('write:appointment'))")
     @Override
@@ -84,13 +103,13 @@ public class AppointmentServiceImpl implements AppointmentService {
         UUID teacherId = UUID.fromString(creatingAppointment.getTeacherId());
         UUID studentId = UUID.fromString(creatingAppointment.getStudentId());
 
-        Teacher teacher = (Teacher) userRepository.findById(teacherId)
+        Teacher teacher = userRepository.findTeacherForUpdate(teacherId)
                 .orElseThrow(() -> {
                     log.warn("Teacher with given id does not exists [teacherId: {}]", teacherId);
                     throw new TeacherNotFoundException(ErrorDesc.TEACHER_NOT_FOUND.getDesc());
                 });
 
-        Student student = (Student) userRepository.findById(studentId)
+        Student student = userRepository.findStudentForUpdate(studentId)
                 .orElseThrow(() -> {
                     log.warn("Student with given id does not exists [studentId: {}]", studentId);
                     throw new StudentNotFoundException(ErrorDesc.STUDENT_NOT_FOUND.getDesc());
@@ -120,13 +139,129 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         Appointment savedAppointment = appointmentRepository.save(appointment);
 
+        teacherAppointmentIndex.put(teacher.getId(), toInterval(savedAppointment));
+        teacherFreeSlotFinder.evict(teacher.getId());
+
         log.info("The Appointment has been created successfully [appointmentId: {}, performedBy: {}]", savedAppointment.getId().toString(),
                 SecurityContextHolder.getContext().getAuthentication().getName());
 
         return appointmentMapper.appointmentToAppointmentDto(savedAppointment);
     }
 
-    @Transactional
+    /**
+     * Everything the slots depend on is loaded up front, a query per kind, and the appointments are
+     * inserted in JDBC batches when the transaction commits. Either every student gets a slot or
+     * nothing is scheduled. The rows of the teacher and then the students stay locked until then, so the
+     * busy periods the plan is made from can't change before it is saved. The window is bounded like the
+     * free slot range, as the planner considers every slot in it.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @CreatingEntity(domain = TransactionDomain.APPOINTMENT, action = DomainAction.SCHEDULE_APPOINTMENTS)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('write:appointment'))")
+    @Override
+    public List<ScheduledAppointmentDto> scheduleAppointments(SchedulingAppointmentsDto schedulingAppointments) {
+        TimeSlot window = new TimeSlot(schedulingAppointments.getWindowStartDate(), schedulingAppointments.getWindowEndDate());
+        Duration slotLength = Duration.ofMinutes(schedulingAppointments.getSlotMinutes());
+
+        if (!window.getStart().isBefore(window.getEnd())
+                || Duration.between(window.getStart(), window.getEnd()).compareTo(appointmentConfiguration.getMaximumFreeSlotRange()) > 0) {
+            log.warn("Appointment window is invalid [startDate: {}, endDate: {}]", window.getStart(), window.getEnd());
+            throw new InvalidRequestException(ErrorDesc.INVALID_APPOINTMENT_WINDOW.getDesc());
+        }
+
+        Organization organization = organizationRepository.findById(schedulingAppointments.getOrganizationId())
+                .orElseThrow(() -> {
+                    log.warn("Organization with given id does not exists [organizationId: {}]", schedulingAppointments.getOrganizationId());
+                    throw new OrganizationNotFoundException(ErrorDesc.ORGANIZATION_NOT_FOUND.getDesc());
+                });
+
+        UUID teacherId = UUID.fromString(schedulingAppointments.getTeacherId());
+
+        Teacher teacher = userRepository.findTeacherForUpdate(teacherId)
+                .orElseThrow(() -> {
+                    log.warn("Teacher with given id does not exists [teacherId: {}]", teacherId);
+                    throw new TeacherNotFoundException(ErrorDesc.TEACHER_NOT_FOUND.getDesc());
+                });
+
+        Set<UUID> uniqueStudentIds = new LinkedHashSet<>();
+        schedulingAppointments.getStudentIds().forEach(studentId -> uniqueStudentIds.add(UUID.fromString(studentId)));
+        List<UUID> studentIds = new ArrayList<>(uniqueStudentIds);
+
+        Map<UUID, Student> students = new HashMap<>();
+
+        for (Student student : userRepository.findStudentsForUpdate(studentIds)) {
+            students.put(student.getId(), student);
+        }
+
+        for (UUID studentId : studentIds) {
+            if (!students.containsKey(studentId)) {
+                log.warn("Student with given id does not exists [studentId: {}]", studentId);
+                throw new StudentNotFoundException(ErrorDesc.STUDENT_NOT_FOUND.getDesc());
+            }
+        }
+
+        List<TimeSlot> teacherBusySlots = new ArrayList<>(syllabusRepository.findTeacherTimeSlots(teacherId, window.getStart(), window.getEnd()));
+
+        for (AppointmentInterval interval : appointmentRepository.findTeacherIntervals(teacherId, window.getStart(), window.getEnd())) {
+            teacherBusySlots.add(new TimeSlot(interval.getStart(), interval.getEnd()));
+        }
+
+        Map<UUID, List<TimeSlot>> studentBusySlots = new HashMap<>();
+
+        for (StudentAppointmentInterval interval : appointmentRepository.findStudentsIntervals(studentIds, window.getStart(), window.getEnd())) {
+            studentBusySlots.computeIfAbsent(interval.getStudentId(), studentId -> new ArrayList<>())
+                    .add(new TimeSlot(interval.getStart(), interval.getEnd()));
+        }
+
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(window, slotLength, teacherBusySlots, studentIds, studentBusySlots);
+
+        if (plan.size() < studentIds.size()) {
+            log.warn("There are not enough free slots for the students [teacherId: {}, students: {}, slots: {}]",
+                    teacherId, studentIds.size(), plan.size());
+            throw new AppointmentNotAvailableException(ErrorDesc.NOT_ENOUGH_APPOINTMENT_SLOTS.getDesc());
+        }
+
+        String appointmentName = schedulingAppointments.getAppointmentName() != null ? schedulingAppointments.getAppointmentName()
+                : AppointmentUtils.generateName(teacher.getFirstName(), teacher.getLastName());
+
+        List<Appointment> appointments = new ArrayList<>(plan.size());
+
+        for (Map.Entry<UUID, TimeSlot> assignment : plan.entrySet()) {
+            Appointment appointment = new Appointment();
+            appointment.setAppointmentName(appointmentName);
+            appointment.setAppointmentNote(schedulingAppointments.getAppointmentNote());
+            appointment.setAppointmentStartDate(assignment.getValue().getStart());
+            appointment.setAppointmentEndDate(assignment.getValue().getEnd());
+            appointment.setOrganization(organization);
+
+            // Only the owning side is set, so the appointment collections of the teacher and students aren't loaded
+            appointment.setTeacher(teacher);
+            appointment.setStudent(students.get(assignment.getKey()));
+
+            appointments.add(appointment);
+        }
+
+        appointmentRepository.saveAll(appointments);
+
+        List<AppointmentInterval> intervals = new ArrayList<>(appointments.size());
+        List<ScheduledAppointmentDto> scheduledAppointments = new ArrayList<>(appointments.size());
+
+        for (Appointment appointment : appointments) {
+            intervals.add(toInterval(appointment));
+            scheduledAppointments.add(new ScheduledAppointmentDto(appointment.getId().toString(), appointment.getStudent().getId().toString(),
+                    appointment.getAppointmentStartDate(), appointment.getAppointmentEndDate()));
+        }
+
+        teacherAppointmentIndex.putAll(teacherId, intervals);
+        teacherFreeSlotFinder.evict(teacherId);
+
+        log.info("The Appointments have been scheduled successfully [teacherId: {}, appointments: {}, performedBy: {}]", teacherId,
+                appointments.size(), SecurityContextHolder.getContext().getAuthentication().getName());
+
+        return scheduledAppointments;
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @UpdatingEntity(domain = TransactionDomain.APPOINTMENT, action = DomainAction.UPDATE_APPOINTMENT, idArg = "appointmentId")
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('update:appointment'))")
     @Override
@@ -137,6 +272,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                    throw new AppointmentNotFoundException(ErrorDesc.APPOINTMENT_NOT_FOUND.getDesc());
                 });
 
+        UUID previousTeacherId = appointment.getTeacher().getId();
+
         LocalDateTime startDate = editingAppointment.getAppointmentStartDate() != null ?
                 editingAppointment.getAppointmentStartDate() : appointment.getAppointmentStartDate();
 
@@ -166,8 +303,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                 && !editingAppointment.getTeacherId().equals(appointment.getTeacher().getId().toString())) {
             UUID teacherId = UUID.fromString(editingAppointment.getTeacherId());
 
-            Teacher teacher = (Teacher) userRepository
-                    .findById(teacherId)
+            Teacher teacher = userRepository
+                    .findTeacherForUpdate(teacherId)
                     .orElseThrow(() -> {
                         log.warn("Teacher with given id does not exists [teachetId: {}]", teacherId);
                         throw new TeacherNotFoundException(ErrorDesc.TEACHER_NOT_FOUND.getDesc());
@@ -181,6 +318,8 @@ public class AppointmentServiceImpl implements AppointmentService {
 
             teacher.addAppointment(appointment);
         } else {
+            userRepository.findTeacherForUpdate(appointment.getTeacher().getId());
+
             if (isAppointmentTaken(appointment.getTeacher(), appointmentId, startDate, endDate)) {
                 log.warn("The Teacher is not available between the start and end date of the taken appointment [teacherId: {}, startDate: {}, endDate: {}]",
                         appointment.getTeacher().getId(), startDate, endDate);
@@ -192,7 +331,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 && !editingAppointment.getStudentId().equals(appointment.getStudent().getId().toString())) {
             UUID studentId = UUID.fromString(editingAppointment.getStudentId());
 
-            Student student = (Student) userRepository.findById(studentId)
+            Student student = userRepository.findStudentForUpdate(studentId)
                     .orElseThrow(() -> {
                         log.warn("Student with given id does not exists [studentId: {}]", studentId);
                         throw new StudentNotFoundException(ErrorDesc.STUDENT_NOT_FOUND.getDesc());
@@ -206,6 +345,8 @@ public class AppointmentServiceImpl implements AppointmentService {
 
             student.addAppointment(appointment);
         } else {
+            userRepository.findStudentForUpdate(appointment.getStudent().getId());
+
             if (isAppointmentTaken(appointment.getStudent(), appointmentId, startDate, endDate)) {
                 log.warn("The Student is not available between the start and end date of the taken appointment [teacherId: {}, startDate: {}, endDate: {}]",
                         appointment.getStudent().getId(), startDate, endDate);
@@ -215,6 +356,14 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         appointmentRepository.save(appointment);
 
+        if (!previousTeacherId.equals(appointment.getTeacher().getId())) {
+            teacherAppointmentIndex.remove(previousTeacherId, appointmentId);
+            teacherFreeSlotFinder.evict(previousTeacherId);
+        }
+
+        teacherAppointmentIndex.put(appointment.getTeacher().getId(), toInterval(appointment));
+        teacherFreeSlotFinder.evict(appointment.getTeacher().getId());
+
         log.info("The Appointment has been edited successfully [appointmentId: {}, performedBy: {}]", appointment.getId().toString(),
                 SecurityContextHolder.getContext().getAuthentication().getName());
     }
@@ -223,28 +372,90 @@ public class AppointmentServiceImpl implements AppointmentService {
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('delete:appointment'))")
     @Override
     public void deleteAppointment(UUID appointmentId) {
-        if(!appointmentRepository.existsById(appointmentId)) {
-            log.warn("Appointment with given id does not exists [appointmentId: {}]", appointmentId);
-            throw new AppointmentNotFoundException(ErrorDesc.APPOINTMENT_NOT_FOUND.getDesc());
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> {
+                    log.warn("Appointment with given id does not exists [appointmentId: {}]", appointmentId);
+                    throw new AppointmentNotFoundException(ErrorDesc.APPOINTMENT_NOT_FOUND.getDesc());
+                });
+
+        appointmentRepository.delete(appointment);
+
+        if (appointment.getTeacher() != null) {
+            teacherAppointmentIndex.remove(appointment.getTeacher().getId(), appointmentId);
+            teacherFreeSlotFinder.evict(appointment.getTeacher().getId());
+        }
+    }
+
+    @ReadingEntity(domain = TransactionDomain.APPOINTMENT, action = DomainAction.READ_APPOINTMENT_FREE_SLOTS, isList = true)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('read:appointment'))")
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long organizationId, UUID teacherId, LocalDateTime from, LocalDateTime to, Integer minimumMinutes) {
+        if (from == null) {
+            from = LocalDateTime.now();
+        }
+
+        if (to == null) {
+            to = from.plusDays(7);
+        }
+
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(appointmentConfiguration.getMaximumFreeSlotRange()) > 0
+                || (minimumMinutes != null && minimumMinutes < 0)) {
+            log.warn("Free slot range is invalid [teacherId: {}, from: {}, to: {}, minimumMinutes: {}]", teacherId, from, to, minimumMinutes);
+            throw new InvalidRequestException(ErrorDesc.INVALID_FREE_SLOT_RANGE.getDesc());
         }
 
-        appointmentRepository.deleteById(appointmentId);
+        User user = userRepository.findById(teacherId)
+                .orElseThrow(() -> {
+                    log.warn("Teacher with given id does not exists [teacherId: {}]", teacherId);
+                    throw new TeacherNotFoundException(ErrorDesc.TEACHER_NOT_FOUND.getDesc());
+                });
+
+        if (!(user instanceof Teacher)) {
+            log.warn("Teacher with given id does not exists [teacherId: {}]", teacherId);
+            throw new TeacherNotFoundException(ErrorDesc.TEACHER_NOT_FOUND.getDesc());
+        }
+
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> {
+                    log.warn("Organization with given id does not exists [organizationId: {}]", organizationId);
+                    throw new OrganizationNotFoundException(ErrorDesc.ORGANIZATION_NOT_FOUND.getDesc());
+                });
+
+        // Reported as missing, so teachers of other organizations can't be probed
+        if (user.getOrganization() == null || !organization.getId().equals(user.getOrganization().getId())) {
+            log.warn("Teacher does not belong to the organization [teacherId: {}, organizationId: {}]", teacherId, organizationId);
+            throw new TeacherNotFoundException(ErrorDesc.TEACHER_NOT_FOUND.getDesc());
+        }
+
+        Duration minimumDuration = Duration.ofMinutes(minimumMinutes != null ? minimumMinutes : 0);
+
+        return teacherFreeSlotFinder.findFreeSlots(teacherId, from, to, minimumDuration).stream()
+                .map(timeSlot -> new FreeSlotDto(timeSlot.getStart(), timeSlot.getEnd()))
+                .collect(Collectors.toList());
     }
 
+    /**
+     * A teacher's slot found free is only final while the caller's transaction holds the teacher's row lock.
+     */
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:appointments') || hasAuthority('read:appointment'))")
     @Override
     public boolean isAppointmentTaken(CanAppointment t, UUID appointmentId, LocalDateTime start, LocalDateTime end) {
-        Appointment appointment = new Appointment();
-        appointment.setAppointmentStartDate(start);
-        appointment.setAppointmentEndDate(end);
+        if (t instanceof Teacher && teacherAppointmentIndex.isKnownTaken(t.getId(), appointmentId, start, end)) {
+            return true;
+        }
 
-        if (t instanceof Teacher)
-            appointment.setTeacher((Teacher) t);
+        if (t instanceof Teacher) {
+            return appointmentRepository.findTeacherIntervals(t.getId(), start, end).stream()
+                    .anyMatch(interval -> !interval.getAppointmentId().equals(appointmentId));
+        }
 
-        if (t instanceof Student)
-            appointment.setStudent((Student) t);
+        return appointmentRepository.findStudentIntervals(t.getId(), start, end).stream()
+                .anyMatch(interval -> !interval.getAppointmentId().equals(appointmentId));
+    }
 
-        return appointmentRepository.exists(Example.of(appointment));
+    private static AppointmentInterval toInterval(Appointment appointment) {
+        return new AppointmentInterval(appointment.getId(), appointment.getAppointmentStartDate(),
+                appointment.getAppointmentEndDate());
     }
 
 }
@@ -0,0 +1,109 @@
+package com.schoolplus.office.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolplus.office.annotations.ReadingEntity;
+import com.schoolplus.office.logging.AuditLogReader;
+import com.schoolplus.office.logging.AuditLogReader.Position;
+import com.schoolplus.office.services.AuditLogService;
+import com.schoolplus.office.web.exceptions.InvalidRequestException;
+import com.schoolplus.office.web.models.AuditLogCriteria;
+import com.schoolplus.office.web.models.AuditLogDto;
+import com.schoolplus.office.web.models.AuditLogPageDto;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.ErrorDesc;
+import com.schoolplus.office.web.models.TransactionDomain;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AuditLogServiceImpl implements AuditLogService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAMING_CHUNK_SIZE = 1000;
+    private static final char CURSOR_SEPARATOR = '|';
+
+    private final AuditLogReader auditLogReader;
+    private final ObjectMapper objectMapper;
+
+    @ReadingEntity(domain = TransactionDomain.AUDIT_LOG, action = DomainAction.READ_AUDIT_LOGS, isList = true)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:audit-logs') || hasAuthority('read:audit-logs'))")
+    @Override
+    public AuditLogPageDto listAuditLogs(AuditLogCriteria criteria, String cursor, Integer size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // One more than asked tells whether there is a next page
+        List<AuditLogDto> logs = auditLogReader.read(criteria, decodeCursor(cursor), limit + 1);
+
+        if (logs.size() <= limit) {
+            return new AuditLogPageDto(logs, null);
+        }
+
+        logs = logs.subList(0, limit);
+
+        return new AuditLogPageDto(logs, encodeCursor(logs.get(limit - 1)));
+    }
+
+    @ReadingEntity(domain = TransactionDomain.AUDIT_LOG, action = DomainAction.EXPORT_AUDIT_LOGS, isList = true)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:audit-logs') || hasAuthority('read:audit-logs'))")
+    @Override
+    public StreamingResponseBody streamAuditLogs(AuditLogCriteria criteria) {
+        return outputStream -> {
+            OutputStream bufferedStream = new BufferedOutputStream(outputStream);
+            Position position = null;
+            List<AuditLogDto> logs;
+
+            do {
+                logs = auditLogReader.read(criteria, position, STREAMING_CHUNK_SIZE);
+
+                for (AuditLogDto auditLog : logs) {
+                    bufferedStream.write(objectMapper.writeValueAsBytes(auditLog));
+                    bufferedStream.write('\n');
+                }
+
+                if (!logs.isEmpty()) {
+                    AuditLogDto last = logs.get(logs.size() - 1);
+                    position = new Position(last.getCreatedAt(), last.getLogId());
+                }
+
+                bufferedStream.flush();
+            } while (logs.size() == STREAMING_CHUNK_SIZE);
+        };
+    }
+
+    private static String encodeCursor(AuditLogDto auditLog) {
+        String position = auditLog.getCreatedAt().toInstant().toString() + CURSOR_SEPARATOR + auditLog.getLogId();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+
+            return new Position(Timestamp.from(Instant.parse(position.substring(0, separator))),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Audit log cursor couldn't be decoded [cursor: {}]", cursor);
+            throw new InvalidRequestException(ErrorDesc.INVALID_AUDIT_LOG_CURSOR.getDesc());
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.schoolplus.office.services.impl;
+
+import com.schoolplus.office.components.exam.ExamImportJob;
+import com.schoolplus.office.config.ExamImportConfiguration;
+import com.schoolplus.office.domain.Exam;
+import com.schoolplus.office.domain.Organization;
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.repository.ExamRepository;
+import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.SecurityUser;
+import com.schoolplus.office.services.ExamImportService;
+import com.schoolplus.office.services.ExamService;
+import com.schoolplus.office.web.exceptions.ExamImportJobNotFoundException;
+import com.schoolplus.office.web.exceptions.ExamImportLimitExceededException;
+import com.schoolplus.office.web.exceptions.ExamNotFoundException;
+import com.schoolplus.office.web.exceptions.FileNotReadableException;
+import com.schoolplus.office.web.models.ErrorDesc;
+import com.schoolplus.office.web.models.ExamImportJobDto;
+import com.schoolplus.office.web.models.ExamResultDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ExamImportServiceImpl implements ExamImportService {
+
+    private final ExamRepository examRepository;
+    private final UserRepository userRepository;
+    private final ExamService examService;
+    private final ExamImportConfiguration examImportConfiguration;
+    private final ThreadPoolTaskExecutor examImportExecutor;
+
+    private final Map<UUID, ExamImportJob> importJobs = new ConcurrentHashMap<>();
+    private final Map<Long, Semaphore> organizationPermits = new ConcurrentHashMap<>();
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('create:exam'))")
+    @Override
+    public ExamImportJobDto submitExamResultImport(Long examId, MultipartFile result) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> {
+                    log.warn("Exam with given id does not exists [examId: {}]", examId);
+                    throw new ExamNotFoundException(ErrorDesc.EXAM_NOT_FOUND.getDesc());
+                });
+
+        Long organizationId = exam.getOrganization().getId();
+        Semaphore permits = organizationPermits.computeIfAbsent(organizationId,
+                id -> new Semaphore(examImportConfiguration.getMaxConcurrentImportsPerOrganization()));
+
+        if (!permits.tryAcquire()) {
+            log.warn("Organization has reached the concurrent import limit [organizationId: {}, examId: {}]",
+                    organizationId, examId);
+            throw new ExamImportLimitExceededException(ErrorDesc.EXAM_IMPORT_LIMIT_EXCEEDED.getDesc());
+        }
+
+        Path spooledResult;
+
+        try {
+            spooledResult = Files.createTempFile(Paths.get(examImportConfiguration.getSpoolDirectory()),
+                    "exam-import-", ".tmp");
+            result.transferTo(spooledResult);
+        } catch (IOException e) {
+            permits.release();
+            log.warn("The excel file couldn't able to spool [examId: {}]", examId);
+            throw new FileNotReadableException(ErrorDesc.FILE_NOT_READABLE.getDesc());
+        }
+
+        ExamImportJob importJob = new ExamImportJob(examId, organizationId,
+                SecurityContextHolder.getContext().getAuthentication().getName());
+        importJobs.put(importJob.getJobId(), importJob);
+
+        try {
+            examImportExecutor.execute(new DelegatingSecurityContextRunnable(
+                    () -> runImport(importJob, spooledResult, permits)));
+        } catch (TaskRejectedException e) {
+            importJobs.remove(importJob.getJobId());
+            permits.release();
+            deleteSpooledResult(spooledResult);
+            log.warn("The import queue is full [examId: {}]", examId);
+            throw new ExamImportLimitExceededException(ErrorDesc.EXAM_IMPORT_LIMIT_EXCEEDED.getDesc());
+        }
+
+        log.info("The Result import has been queued [jobId: {}, examId: {}, performedBy: {}]", importJob.getJobId(),
+                examId, SecurityContextHolder.getContext().getAuthentication().getName());
+
+        return toDto(importJob);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('create:exam'))")
+    @Override
+    public ExamImportJobDto getExamImportJob(UUID jobId) {
+        ExamImportJob importJob = importJobs.get(jobId);
+
+        if (importJob == null || !isVisibleToCaller(importJob)) {
+            log.warn("Exam import job with given id does not exists [jobId: {}]", jobId);
+            throw new ExamImportJobNotFoundException(ErrorDesc.EXAM_IMPORT_JOB_NOT_FOUND.getDesc());
+        }
+
+        return toDto(importJob);
+    }
+
+    @Override
+    public void purgeFinishedImportJobs() {
+        long finishedBefore = System.currentTimeMillis() - examImportConfiguration.getJobRetention().toMillis();
+
+        importJobs.values().removeIf(importJob -> importJob.isFinished() && importJob.getFinishedAt() < finishedBefore);
+    }
+
+    private void runImport(ExamImportJob importJob, Path spooledResult, Semaphore permits) {
+        importJob.start();
+
+        try {
+            ExamResultDto examResult = examService.createExamResult(importJob.getExamId(), spooledResult.toFile(),
+                    importJob);
+
+            importJob.complete(examResult.getExamResultId(), examResult.getImportReport());
+
+            log.info("The Result import has been completed [jobId: {}, resultId: {}, rows: {}]",
+                    importJob.getJobId(), examResult.getExamResultId(), importJob.getRowsPersisted().get());
+        } catch (RuntimeException e) {
+            importJob.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.warn("The Result import has been failed [jobId: {}, examId: {}]", importJob.getJobId(),
+                    importJob.getExamId(), e);
+        } finally {
+            permits.release();
+            deleteSpooledResult(spooledResult);
+        }
+    }
+
+    /**
+     * A job is visible to whoever submitted it and to the users of the exam's organization; to anyone
+     * else it doesn't exist.
+     */
+    private boolean isVisibleToCaller(ExamImportJob importJob) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication.getName().equals(importJob.getSubmittedBy())) {
+            return true;
+        }
+
+        Organization organization = authentication.getPrincipal() instanceof SecurityUser
+                ? ((SecurityUser) authentication.getPrincipal()).getOrganization()
+                : userRepository.findByUsername(authentication.getName()).map(User::getOrganization).orElse(null);
+
+        return organization != null && organization.getId().equals(importJob.getOrganizationId());
+    }
+
+    private void deleteSpooledResult(Path spooledResult) {
+        try {
+            Files.deleteIfExists(spooledResult);
+        } catch (IOException e) {
+            log.warn("The spooled result couldn't be deleted [path: {}]", spooledResult);
+        }
+    }
+
+    private ExamImportJobDto toDto(ExamImportJob importJob) {
+        ExamImportJobDto importJobDto = new ExamImportJobDto();
+        importJobDto.setJobId(importJob.getJobId());
+        importJobDto.setExamId(importJob.getExamId());
+        importJobDto.setStatus(importJob.getStatus());
+        importJobDto.setRowsParsed(importJob.getRowsParsed().get());
+        importJobDto.setRowsPersisted(importJob.getRowsPersisted().get());
+        importJobDto.setRowsPerSecond(importJob.getRowsPerSecond());
+        importJobDto.setErrors(new ArrayList<>(importJob.getErrors()));
+        importJobDto.setExamResultId(importJob.getExamResultId());
+        importJobDto.setImportReport(importJob.getImportReport());
+        importJobDto.setSubmittedAt(new Timestamp(importJob.getSubmittedAt()));
+        importJobDto.setStartedAt(importJob.getStartedAt() != 0 ? new Timestamp(importJob.getStartedAt()) : null);
+        importJobDto.setFinishedAt(importJob.getFinishedAt() != 0 ? new Timestamp(importJob.getFinishedAt()) : null);
+        return importJobDto;
+    }
+
+}
@@ -4,6 +4,19 @@ import com.schoolplus.office.annotations.CreatingEntity;
 import com.schoolplus.office.annotations.DeletingEntity;
 import com.schoolplus.office.annotations.ReadingEntity;
 import com.schoolplus.office.annotations.UpdatingEntity;
+import com.schoolplus.office.components.exam.CompiledExamSkeleton;
+import com.schoolplus.office.components.exam.ExamImportJob;
+import com.schoolplus.office.components.exam.ExamResultDataCodec;
+import com.schoolplus.office.components.exam.ExamResultExporter;
+import com.schoolplus.office.components.exam.ExamResultRankingEngine;
+import com.schoolplus.office.components.exam.ExamResultReferenceResolver;
+import com.schoolplus.office.components.exam.ExamResultSheetHandler;
+import com.schoolplus.office.components.exam.ExamResultSheetParser;
+import com.schoolplus.office.components.exam.ExamResultSheetSource;
+import com.schoolplus.office.components.exam.ExamResultStatistics;
+import com.schoolplus.office.components.exam.ExamResultStatisticsAggregator;
+import com.schoolplus.office.components.exam.ExamSkeletonLayoutCache;
+import com.schoolplus.office.config.ExamImportConfiguration;
 import com.schoolplus.office.domain.*;
 import com.schoolplus.office.repository.*;
 import com.schoolplus.office.services.ExamService;
@@ -12,8 +25,6 @@ import com.schoolplus.office.web.mappers.*;
 import com.schoolplus.office.web.models.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,9 +32,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.persistence.EntityManager;
+
+import java.io.File;
 import java.io.IOException;
-import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.util.*;
 
 @Slf4j
@@ -46,6 +61,15 @@ public class ExamServiceImpl implements ExamService {
     private final ExamTypeMapper examTypeMapper;
     private final ExamResultMapper examResultMapper;
     private final ExamResultItemMapper examResultItemMapper;
+    private final ExamResultReferenceResolver examResultReferenceResolver;
+    private final ExamResultRankingEngine examResultRankingEngine;
+    private final ExamResultStatisticsAggregator examResultStatisticsAggregator;
+    private final ExamResultStatisticRepository examResultStatisticRepository;
+    private final ExamResultExporter examResultExporter;
+    private final ExamSkeletonLayoutCache examSkeletonLayoutCache;
+    private final ExamResultSheetParser examResultSheetParser;
+    private final ExamImportConfiguration examImportConfiguration;
+    private final EntityManager entityManager;
 
     @ReadingEntity(domain = TransactionDomain.EXAM, action = DomainAction.READ_EXAM, isList = true)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('read:exams'))")
@@ -344,119 +368,172 @@ public class ExamServiceImpl implements ExamService {
     @Override
     public ExamResultDto createExamResult(Long examId, MultipartFile result) {
         try {
-            Exam exam = examRepository.findById(examId)
-                    .orElseThrow(() -> {
-                        log.warn("Exam with given id does not exists [examId: {}]", examId);
-                        throw new ExamNotFoundException(ErrorDesc.EXAM_NOT_FOUND.getDesc());
-                    });
+            File spooledResult = File.createTempFile("exam-result-", ".tmp");
 
-            Workbook workbook = new HSSFWorkbook(result.getInputStream());
-            workbook.setMissingCellPolicy(Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
+            try {
+                result.transferTo(spooledResult);
 
-            Sheet worksheet = workbook.getSheetAt(0);
+                return importExamResult(examId, spooledResult, new ExamImportJob(examId, null));
+            } finally {
+                Files.deleteIfExists(spooledResult.toPath());
+            }
+        } catch (IOException e) {
+            log.warn("The excel file couldn't able to read");
+            throw new FileNotReadableException(ErrorDesc.FILE_NOT_READABLE.getDesc());
+        }
+    }
 
-            Row firstRow = worksheet.getRow(0);
+    @CreatingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.CREATE_EXAM_RESULT)
+    @Transactional
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('create:exam'))")
+    @Override
+    public ExamResultDto createExamResult(Long examId, File result, ExamImportJob importJob) {
+        return importExamResult(examId, result, importJob);
+    }
 
-            Iterator<Cell> firstRowIterator = firstRow.iterator();
+    @CreatingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.CREATE_EXAM_RESULT)
+    @Transactional
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('create:exam'))")
+    @Override
+    public ExamResultDto createBulkExamResult(Long examId, List<MultipartFile> results) {
+        List<File> spooledResults = new ArrayList<>(results.size());
 
-            Map<Integer, String> rowsName = new HashMap<>();
+        try {
+            ExamImportReportDto importReport = new ExamImportReportDto();
+            List<ExamResultSheetSource> sheets = new ArrayList<>();
 
-            int rowIndex = 0;
-            while (firstRowIterator.hasNext()) {
-                Cell cell = firstRowIterator.next();
+            for (MultipartFile result : results) {
+                File spooledResult = File.createTempFile("exam-result-", ".tmp");
+                spooledResults.add(spooledResult);
 
-                rowsName.put(rowIndex, cell.getStringCellValue());
-                rowIndex++;
+                result.transferTo(spooledResult);
+                sheets.addAll(examResultSheetParser.listSheets(result.getOriginalFilename(), spooledResult, importReport));
             }
 
-            ExamResult examResult = new ExamResult();
-            examResult.setExam(exam);
+            return importExamResult(examId, sheets, new ExamImportJob(examId, null), importReport);
+        } catch (IOException e) {
+            log.warn("The excel file couldn't able to read");
+            throw new FileNotReadableException(ErrorDesc.FILE_NOT_READABLE.getDesc());
+        } finally {
+            spooledResults.forEach(File::delete);
+        }
+    }
 
-            String studentNoCellName = exam.getExamSkeleton().getExamFields().stream()
-                    .filter(examField -> examField.getReferenceField().equals(ReferenceField.STUDENT_NO))
-                    .findFirst()
-                    .orElseThrow(() -> {
-                        log.warn("Student cell position is not defined in system [examId: {}]", examId);
-                        throw new CellNotDefinedException(ErrorDesc.STUDENT_CELL_NOT_DEFINED.getDesc());
-                    })
-                    .getExamFieldName();
-
-            String classroomNoCellName = exam.getExamSkeleton().getExamFields().stream()
-                    .filter(examField -> examField.getReferenceField().equals(ReferenceField.CLASSROOM_NO))
-                    .findFirst()
-                    .orElseThrow(() -> {
-                        log.warn("Classroom cell position is not defined in system [examId: {}]", examId);
-                        throw new CellNotDefinedException(ErrorDesc.CLASSROOM_CELL_NOT_DEFINED.getDesc());
-                    })
-                    .getExamFieldName();
-
-            String sortableNoCellName = exam.getExamSkeleton().getExamFields().stream()
-                    .filter(examField -> examField.getReferenceField().equals(ReferenceField.SORTABLE))
-                    .findFirst()
+    private ExamResultDto importExamResult(Long examId, File result, ExamImportJob importJob) {
+        return importExamResult(examId, List.of(new ExamResultSheetSource(result.getName(), result, 0)), importJob,
+                new ExamImportReportDto());
+    }
+
+    /**
+     * Imports the sheets into a single result. A lone sheet is parsed on the calling thread and its
+     * failures abort the import; several sheets are parsed in parallel and failures are reported per sheet.
+     */
+    private ExamResultDto importExamResult(Long examId, List<ExamResultSheetSource> sheets, ExamImportJob importJob,
+                                           ExamImportReportDto importReport) {
+        try {
+            Exam exam = examRepository.findById(examId)
                     .orElseThrow(() -> {
-                        log.warn("Sortable cell position is not defined in system [examId: {}]", examId);
-                        throw new CellNotDefinedException(ErrorDesc.SORTABLE_CELL_NOT_DEFINED.getDesc());
-                    })
-                    .getExamFieldName();
+                        log.warn("Exam with given id does not exists [examId: {}]", examId);
+                        throw new ExamNotFoundException(ErrorDesc.EXAM_NOT_FOUND.getDesc());
+                    });
 
-            for (int i = 0; i < worksheet.getPhysicalNumberOfRows(); i++) {
-                if (i > 0) {
-                    Row row = worksheet.getRow(i);
+            CompiledExamSkeleton compiledSkeleton = examSkeletonLayoutCache.get(exam.getExamSkeleton());
 
-                    ExamResultItem examResultItem = new ExamResultItem();
+            if (!compiledSkeleton.defines(ReferenceField.STUDENT_NO)) {
+                log.warn("Student cell position is not defined in system [examId: {}]", examId);
+                throw new CellNotDefinedException(ErrorDesc.STUDENT_CELL_NOT_DEFINED.getDesc());
+            }
 
-                    for (int ic = 0; ic < row.getPhysicalNumberOfCells(); ic++) {
-                        Cell cell = row.getCell(ic);
+            if (!compiledSkeleton.defines(ReferenceField.CLASSROOM_NO)) {
+                log.warn("Classroom cell position is not defined in system [examId: {}]", examId);
+                throw new CellNotDefinedException(ErrorDesc.CLASSROOM_CELL_NOT_DEFINED.getDesc());
+            }
 
-                        String rowVal;
+            if (!compiledSkeleton.defines(ReferenceField.SORTABLE)) {
+                log.warn("Sortable cell position is not defined in system [examId: {}]", examId);
+                throw new CellNotDefinedException(ErrorDesc.SORTABLE_CELL_NOT_DEFINED.getDesc());
+            }
 
-                        if (cell.getCellType().equals(CellType.STRING)) {
-                            rowVal = String.valueOf(cell.getStringCellValue());
-                        } else if (cell.getCellType().equals(CellType.NUMERIC)) {
-                            rowVal = String.valueOf(cell.getNumericCellValue());
-                        } else if (cell.getCellType().equals(CellType.BLANK)) {
-                            rowVal = null;
-                        } else if (cell.getCellType().equals(CellType._NONE)) {
-                            rowVal = null;
-                        } else {
-                            rowVal = null;
-                        }
+            List<ExamResultSheetHandler> sheetHandlers = sheets.size() == 1
+                    ? List.of(examResultSheetParser.parse(sheets.get(0), compiledSkeleton, importJob))
+                    : examResultSheetParser.parseAll(sheets, compiledSkeleton, importJob, importReport);
 
-                        if (rowsName.get(ic).equals(studentNoCellName) && rowVal != null) {
-                            Optional<Student> student = userRepository.findByStudentNumber((long) Math.round(Float.parseFloat(rowVal)));
+            if (sheetHandlers.isEmpty()) {
+                log.warn("None of the result sheets could be read [examId: {}, sheetErrors: {}]",
+                        examId, importReport.getSheetErrors().size());
+                throw new FileNotReadableException(ErrorDesc.FILE_NOT_READABLE.getDesc());
+            }
 
-                            student.ifPresent(examResultItem::setStudent);
-                        }
+            ExamResult examResult = new ExamResult();
+            examResult.setExam(exam);
 
-                        if (rowsName.get(ic).equals(classroomNoCellName) && rowVal != null) {
-                            Optional<Classroom> classroom = classroomRepository.findByClassNumber((long) Math.round(Float.parseFloat(rowVal)));
+            Set<Long> studentNumbers = new HashSet<>();
+            Set<Long> classNumbers = new HashSet<>();
 
-                            classroom.ifPresent(examResultItem::setClassroom);
-                        }
+            for (ExamResultSheetHandler sheetHandler : sheetHandlers) {
+                sheetHandler.mergeInto(examResult);
+                studentNumbers.addAll(sheetHandler.getStudentNumbers());
+                classNumbers.addAll(sheetHandler.getClassNumbers());
+            }
 
-                        if (rowsName.get(ic).equals(sortableNoCellName) && rowVal != null) {
-                            examResultItem.setSortable(new BigDecimal(rowVal.replace(",", ".")));
-                        }
+            Map<Long, Student> students = examResultReferenceResolver.resolveStudents(studentNumbers);
+            Map<Long, Classroom> classrooms = examResultReferenceResolver.resolveClassrooms(classNumbers);
 
-                        examResultItem.addResultData(rowsName.get(ic), rowVal);
-                    }
+            sheetHandlers.forEach(sheetHandler -> sheetHandler.bindReferences(students, classrooms, importReport));
 
-                    examResult.addExamResultItem(examResultItem);
-                }
+            if (!importReport.getSheetErrors().isEmpty()) {
+                log.warn("Some sheets of the result couldn't be read [examId: {}, sheetErrors: {}]",
+                        examId, importReport.getSheetErrors());
+            }
+
+            if (!importReport.getUnresolvedStudentNumbers().isEmpty()
+                    || !importReport.getUnresolvedClassNumbers().isEmpty()) {
+                log.warn("Some references in the result couldn't be resolved [examId: {}, studentNumbers: {}, classNumbers: {}]",
+                        examId, importReport.getUnresolvedStudentNumbers(), importReport.getUnresolvedClassNumbers());
             }
 
-            examResultRepository.save(examResult);
+            examResultRankingEngine.rank(examResult);
+
+            persistExamResult(examResult, importJob);
+            examResultStatisticsAggregator.rebuild(examResult);
 
             log.info("The Result has been created successfully [resultId: {}, performedBy: {}}", examResult.getId(),
                     SecurityContextHolder.getContext().getAuthentication().getName());
 
-            return examResultMapper.examResultToExamResultDto(examResult);
+            ExamResultDto examResultDto = examResultMapper.examResultToExamResultDto(examResult);
+            examResultDto.setImportReport(importReport);
+
+            return examResultDto;
         } catch (IOException e) {
             log.warn("The excel file couldn't able to read");
             throw new FileNotReadableException(ErrorDesc.FILE_NOT_READABLE.getDesc());
         }
     }
 
+    /**
+     * The items are flushed a chunk at a time rather than all at commit, so the job's persisted rows
+     * follow the inserts.
+     */
+    private void persistExamResult(ExamResult examResult, ExamImportJob importJob) {
+        List<ExamResultItem> examResultItems = new ArrayList<>(examResult.getExamResultItems());
+        examResult.getExamResultItems().clear();
+
+        examResultRepository.save(examResult);
+
+        int chunkSize = Math.max(1, examImportConfiguration.getPersistingChunkSize());
+
+        for (int from = 0; from < examResultItems.size(); from += chunkSize) {
+            List<ExamResultItem> chunk = examResultItems.subList(from, Math.min(from + chunkSize, examResultItems.size()));
+
+            examResultItemRepository.saveAll(chunk);
+            entityManager.flush();
+
+            importJob.rowsPersisted(chunk.size());
+        }
+
+        examResult.getExamResultItems().addAll(examResultItems);
+    }
+
     @ReadingEntity(domain = TransactionDomain.EXAM_RESULT_ITEM, action = DomainAction.READ_EXAM_RESULT_ITEM)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('create:exam'))")
     @Override
@@ -470,6 +547,69 @@ public class ExamServiceImpl implements ExamService {
         return examResultItemMapper.examResultItemToExamResultItemDto(examResultItem);
     }
 
+    @ReadingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.READ_EXAM_RESULT_RANKINGS, isList = true)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('read:exams'))")
+    @Override
+    public List<ExamResultRankingDto> getExamResultRankings(Long examResultId, Pageable pageable) {
+        if (!examResultRepository.existsById(examResultId)) {
+            log.warn("Exam Result with given id does not exists [examResultId: {}]", examResultId);
+            throw new ExamResultNotFoundException(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc());
+        }
+
+        List<ExamResultItem> examResultItems = examResultItemRepository
+                .findAllByExamResult_IdAndOverallRankNotNullOrderByOverallRankAsc(examResultId, pageable);
+
+        return examResultItemMapper.examResultItemToExamResultRankingDtoList(examResultItems);
+    }
+
+    @ReadingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.EXPORT_EXAM_RESULT, isList = true)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('read:exams'))")
+    @Override
+    public StreamingResponseBody exportExamResult(Long examResultId, ExamResultExportFormat format) {
+        if (!examResultRepository.existsById(examResultId)) {
+            log.warn("Exam Result with given id does not exists [examResultId: {}]", examResultId);
+            throw new ExamResultNotFoundException(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc());
+        }
+
+        return outputStream -> examResultExporter.export(examResultId, format, outputStream);
+    }
+
+    @ReadingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.READ_EXAM_RESULT_ANALYTICS, isList = true)
+    @Transactional
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('read:exams'))")
+    @Override
+    public List<ExamResultAnalyticsDto> getExamResultAnalytics(Long examResultId, String columnName) {
+        ExamResult examResult = examResultRepository.findById(examResultId)
+                .orElseThrow(() -> {
+                    log.warn("Exam Result with given id does not exists [examResultId: {}]", examResultId);
+                    throw new ExamResultNotFoundException(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc());
+                });
+
+        if (!examResultStatisticRepository.existsByExamResult_Id(examResultId)) {
+            examResultStatisticsAggregator.rebuild(examResult);
+        }
+
+        List<ExamResultStatistic> statistics = columnName != null
+                ? examResultStatisticRepository.findAllByExamResult_IdAndColumnName(examResultId, columnName)
+                : examResultStatisticRepository.findAllByExamResult_Id(examResultId);
+
+        return examResultStatisticsAggregator.summarize(examResultId, statistics);
+    }
+
+    @ReadingEntity(domain = TransactionDomain.EXAM_RESULT_ITEM, action = DomainAction.READ_EXAM_RESULT_RANKING_BY_STUDENT)
+    @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('read:exams'))")
+    @Override
+    public ExamResultRankingDto getExamResultRankingByStudent(Long examResultId, UUID studentId) {
+        ExamResultItem examResultItem = examResultItemRepository.findFirstByExamResult_IdAndStudent_Id(examResultId, studentId)
+                .orElseThrow(() -> {
+                    log.warn("Exam Result Item of student does not exists [examResultId: {}, studentId: {}]",
+                            examResultId, studentId);
+                    throw new ExamResultItemNotFoundException(ErrorDesc.EXAM_RESULT_ITEM_NOT_FOUND.getDesc());
+                });
+
+        return examResultItemMapper.examResultItemToExamResultRankingDto(examResultItem);
+    }
+
     @UpdatingEntity(domain = TransactionDomain.EXAM, action = DomainAction.UPDATE_EXAM, idArg = "examId")
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('edit:exam'))")
     @Override
@@ -609,12 +749,14 @@ public class ExamServiceImpl implements ExamService {
         }
 
         examSkeletonRepository.save(examSkeleton);
+        examSkeletonLayoutCache.invalidate(examSkeletonId);
 
         log.info("The Exam Skeleton has been updated successfully [examTypeId: {}, performedBy: {}]",
                 examSkeletonId, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
     @UpdatingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.UPDATE_EXAM_RESULT, idArg = "examResultId")
+    @Transactional
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('edit:exam'))")
     @Override
     public void updateExamResult(Long examResultId, EditingExamResultDto editingExamResult) {
@@ -634,6 +776,8 @@ public class ExamServiceImpl implements ExamService {
             examResult.setExam(exam);
         }
 
+        ExamResultStatistics statistics = examResultStatisticsAggregator.load(examResult);
+
         if (editingExamResult.getRemovedExamResultItems() != null
                 && editingExamResult.getRemovedExamResultItems().size() > 0) {
             editingExamResult.getRemovedExamResultItems().forEach(removedExamResultItemId -> {
@@ -644,6 +788,10 @@ public class ExamServiceImpl implements ExamService {
                             throw new ExamResultItemNotFoundException(ErrorDesc.EXAM_RESULT_ITEM_NOT_FOUND.getDesc());
                         });
 
+                if (examResult.getExamResultItems().contains(examResultItem)) {
+                    statistics.remove(examResultItem);
+                }
+
                 examResult.removeExamResultItem(examResultItem);
             });
         }
@@ -652,7 +800,6 @@ public class ExamServiceImpl implements ExamService {
                 && editingExamResult.getAddedExamResultItems().size() > 0) {
             editingExamResult.getAddedExamResultItems().forEach(creatingExamResultItemDto -> {
                 ExamResultItem examResultItem = new ExamResultItem();
-                examResultItem.setResultData(creatingExamResultItemDto.getResultData());
                 examResultItem.setSortable(creatingExamResultItemDto.getSortable());
 
                 if (creatingExamResultItemDto.getStudentId() != null) {
@@ -669,16 +816,22 @@ public class ExamServiceImpl implements ExamService {
                 }
 
                 examResult.addExamResultItem(examResultItem);
+                ExamResultDataCodec.writeResultData(examResultItem, creatingExamResultItemDto.getResultData());
+                statistics.add(examResultItem);
             });
         }
 
+        examResultRankingEngine.rank(examResult);
+
         examResultRepository.save(examResult);
+        examResultStatisticsAggregator.save(statistics);
 
         log.info("The Exam Result has been updated successfully [examResultId: {}, performedBy: {}]",
                 examResultId, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
     @UpdatingEntity(domain = TransactionDomain.EXAM_RESULT_ITEM, action = DomainAction.UPDATE_EXAM_RESULT_ITEM, idArg = "examResultItemId")
+    @Transactional
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('edit:exam'))")
     @Override
     public void updateExamResultItem(Long examResultItemId, EditingExamResultItemDto editingExamResultItem) {
@@ -688,14 +841,19 @@ public class ExamServiceImpl implements ExamService {
                     throw new ExamResultItemNotFoundException(ErrorDesc.EXAM_RESULT_ITEM_NOT_FOUND.getDesc());
                 });
 
+        ExamResultStatistics previousStatistics = null;
+
+        if (examResultItem.getExamResult() != null) {
+            previousStatistics = examResultStatisticsAggregator.load(examResultItem.getExamResult());
+            previousStatistics.remove(examResultItem);
+        }
+
         if (editingExamResultItem.getSortable() != null) {
             examResultItem.setSortable(editingExamResultItem.getSortable());
         }
 
-        if (editingExamResultItem.getResultData() != null
-                && editingExamResultItem.getResultData().size() > 0) {
-            examResultItem.setResultData(editingExamResultItem.getResultData());
-        }
+        ExamResult previousExamResult = examResultItem.getExamResult();
+        ExamResultStatistics statistics = null;
 
         if (editingExamResultItem.getExamResultId() != null) {
             ExamResult examResult = examResultRepository.findById(editingExamResultItem.getExamResultId())
@@ -706,7 +864,19 @@ public class ExamServiceImpl implements ExamService {
                         throw new ExamResultNotFoundException(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc());
                     });
 
-            examResultItem.setExamResult(examResult);
+            if (examResult != examResultItem.getExamResult()) {
+                // The values are encoded against the columns of their result, so they are decoded before the move
+                Map<String, String> resultData = new HashMap<>(ExamResultDataCodec.readResultData(examResultItem));
+
+                if (previousExamResult != null) {
+                    previousExamResult.removeExamResultItem(examResultItem);
+                }
+
+                // Loaded before the item joins, statistics computed from the items of a legacy result leave it out
+                statistics = examResultStatisticsAggregator.load(examResult);
+                examResult.addExamResultItem(examResultItem);
+                ExamResultDataCodec.writeResultData(examResultItem, resultData);
+            }
         }
 
         if (editingExamResultItem.getClassRoomId() != null) {
@@ -731,8 +901,40 @@ public class ExamServiceImpl implements ExamService {
             examResultItem.setStudent(student);
         }
 
+        if (editingExamResultItem.getResultData() != null
+                && editingExamResultItem.getResultData().size() > 0) {
+            ExamResultDataCodec.writeResultData(examResultItem, editingExamResultItem.getResultData());
+        }
+
+        boolean moved = previousExamResult != examResultItem.getExamResult();
+
+        if (moved && previousExamResult != null) {
+            // The ranks left behind have a gap where the item was
+            examResultRankingEngine.rank(previousExamResult);
+        }
+
+        if (examResultItem.getExamResult() != null && (moved || editingExamResultItem.getSortable() != null
+                || editingExamResultItem.getClassRoomId() != null)) {
+            examResultRankingEngine.rank(examResultItem.getExamResult());
+        }
+
         examResultItemRepository.save(examResultItem);
 
+        // Within the same result the removal and the addition are saved together as one net change
+        if (previousStatistics != null && !moved) {
+            previousStatistics.add(examResultItem);
+            examResultStatisticsAggregator.save(previousStatistics);
+        } else {
+            if (previousStatistics != null) {
+                examResultStatisticsAggregator.save(previousStatistics);
+            }
+
+            if (statistics != null) {
+                statistics.add(examResultItem);
+                examResultStatisticsAggregator.save(statistics);
+            }
+        }
+
         log.info("The Exam Result Item has been updated successfully [examResultItemId: {}, performedBy: {}]",
                 examResultItemId, SecurityContextHolder.getContext().getAuthentication().getName());
     }
@@ -786,12 +988,14 @@ public class ExamServiceImpl implements ExamService {
         examSkeleton.getExams().forEach(exam -> exam.setExamSkeleton(null));
 
         examSkeletonRepository.deleteById(examSkeletonId);
+        examSkeletonLayoutCache.invalidate(examSkeletonId);
 
         log.info("The Exam Skeleton has been deleted successfully [examSkeleton: {}, performedBy: {}]",
                 examSkeletonId, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
     @DeletingEntity(domain = TransactionDomain.EXAM_RESULT, action = DomainAction.DELETE_EXAM_RESULT, idArg = "examResultId")
+    @Transactional
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:exams') || hasAuthority('edit:exam'))")
     @Override
     public void deleteExamResult(Long examResultId) {
@@ -800,6 +1004,7 @@ public class ExamServiceImpl implements ExamService {
             throw new ExamResultNotFoundException(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc());
         }
 
+        examResultStatisticRepository.deleteAllByExamResultId(examResultId);
         examResultRepository.deleteById(examResultId);
 
         log.info("The Exam Result has been deleted successfully [examResultId: {}, performedBy: {}]",
@@ -1,12 +1,13 @@
 package com.schoolplus.office.services.impl;
 
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
-import com.schoolplus.office.config.JwtPkiConfiguration;
 import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.security.AccessTokenClaims;
+import com.schoolplus.office.security.JwtKeyRing;
 import com.schoolplus.office.security.SecurityUser;
 import com.schoolplus.office.services.JwtService;
 import com.schoolplus.office.web.exceptions.JWTException;
@@ -30,7 +31,7 @@ public class JwtServiceImpl implements JwtService {
 
     private final IdGenerator idGenerator;
     private final ServerConfiguration serverConfiguration;
-    private final JwtPkiConfiguration jwtPkiConfiguration;
+    private final JwtKeyRing jwtKeyRing;
 
     @Override
     public SignedJWT createJwt(TokenCommand tokenCommand) {
@@ -44,15 +45,18 @@ public class JwtServiceImpl implements JwtService {
 
         String audience = tokenCommand.getAudience() == null ? serverConfiguration.getServerUrl() : tokenCommand.getAudience();
 
+        Date issueTime = new Date();
+
         JWTClaimsSet.Builder jwtClaimsSetBuilder = new JWTClaimsSet.Builder()
                 .subject(securityUser.getId().toString())
                 .jwtID(idGenerator.generateId().toString())
                 .audience(audience)
                 .issuer(serverConfiguration.getServerUrl())
-                .issueTime(new Date())
+                .issueTime(issueTime)
                 .notBeforeTime(notBeforeTime)
                 .expirationTime(Date.from(expiryDateTime.atZone(ZoneId.systemDefault()).toInstant()))
-                .claim("username", securityUser.getUsername());
+                .claim(AccessTokenClaims.USERNAME, securityUser.getUsername())
+                .claim(AccessTokenClaims.ISSUED_AT, issueTime.getTime());
 
         for (Map.Entry<String, Object> claim: tokenCommand.getClaims().entrySet()) {
             jwtClaimsSetBuilder.claim(claim.getKey(), claim.getValue());
@@ -68,11 +72,13 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public SignedJWT signJWT(JWTClaimsSet jwtClaimsSet) {
         try {
-            JWSHeader.Builder jwsHeader = new JWSHeader.Builder(JWSAlgorithm.RS256);
-            jwsHeader.keyID(jwtPkiConfiguration.getPublicKey().getKeyID());
+            JwtKeyRing.SigningKey signingKey = jwtKeyRing.getSigningKey();
+
+            JWSHeader.Builder jwsHeader = new JWSHeader.Builder(signingKey.getAlgorithm());
+            jwsHeader.keyID(signingKey.getKeyID());
 
             SignedJWT signedJWT =  new SignedJWT(jwsHeader.build(), jwtClaimsSet);
-            signedJWT.sign(jwtPkiConfiguration.getJwsSigner());
+            signedJWT.sign(signingKey.getSigner());
 
             return signedJWT;
         } catch (JOSEException ex) {
@@ -85,7 +91,11 @@ public class JwtServiceImpl implements JwtService {
     public JWTClaimsSet parseAndValidate(String token) {
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
-            signedJWT.verify(jwtPkiConfiguration.getJwsVerifier());
+
+            if (!verify(signedJWT)) {
+                log.warn("Jwt signature couldn't be verified");
+                throw new JWTException(ErrorDesc.INVALID_TOKEN.getDesc());
+            }
 
             return signedJWT.getJWTClaimsSet();
         } catch (JOSEException | ParseException ex) {
@@ -98,12 +108,23 @@ public class JwtServiceImpl implements JwtService {
     public boolean validate(String token) {
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
-            return signedJWT.verify(jwtPkiConfiguration.getJwsVerifier());
+            return verify(signedJWT);
         } catch (JOSEException | ParseException ex) {
             log.warn("Error while parsing jwt [message: {}]", ex.getMessage());
             throw new JWTException(ErrorDesc.INVALID_TOKEN.getDesc());
         }
     }
 
+    private boolean verify(SignedJWT signedJWT) throws JOSEException {
+        String keyId = signedJWT.getHeader().getKeyID();
+        JWSVerifier jwsVerifier = jwtKeyRing.getVerifier(keyId);
+
+        if (jwsVerifier == null) {
+            log.warn("Jwt is signed by an unknown key [kid: {}]", keyId);
+            return false;
+        }
+
+        return signedJWT.verify(jwsVerifier);
+    }
 
 }
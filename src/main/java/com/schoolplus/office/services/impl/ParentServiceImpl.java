@@ -8,6 +8,7 @@ import com.schoolplus.office.domain.Parent;
 import com.schoolplus.office.domain.Student;
 import com.schoolplus.office.repository.OrganizationRepository;
 import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.UserChangedEvent;
 import com.schoolplus.office.services.ParentService;
 import com.schoolplus.office.web.exceptions.OrganizationNotFoundException;
 import com.schoolplus.office.web.exceptions.ParentNotFoundException;
@@ -16,6 +17,7 @@ import com.schoolplus.office.web.mappers.ParentMapper;
 import com.schoolplus.office.web.models.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,6 +34,7 @@ public class ParentServiceImpl implements ParentService {
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
     private final ParentMapper parentMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @ReadingEntity(domain = TransactionDomain.PARENT, action = DomainAction.READ_PARENT)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:users:parents') || hasAuthority('read:parent'))")
@@ -137,6 +140,7 @@ public class ParentServiceImpl implements ParentService {
         }
 
         userRepository.save(parent);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(parent.getId()));
 
         log.info("Parent has been edited [parentId: {}, performedBy: {}]", parent.getId().toString(),
                 SecurityContextHolder.getContext().getAuthentication().getName());
@@ -6,6 +6,7 @@ import com.schoolplus.office.domain.RefreshToken;
 import com.schoolplus.office.domain.User;
 import com.schoolplus.office.repository.RefreshTokenRepository;
 import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.InvalidRefreshTokenCache;
 import com.schoolplus.office.security.SecurityUser;
 import com.schoolplus.office.services.AccessTokenService;
 import com.schoolplus.office.services.RefreshTokenService;
@@ -37,6 +38,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     private final UserRepository userRepository;
     private final ServerConfiguration serverConfiguration;
     private final AccessTokenService accessTokenService;
+    private final InvalidRefreshTokenCache invalidRefreshTokenCache;
 
     @Override
     public String createToken(RefreshTokenCommand refreshTokenCommand) {
@@ -62,7 +64,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
                 });
 
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setToken(generatedToken);
+        refreshToken.setTokenHash(TokenUtils.digest(generatedToken));
         refreshToken.setIssueTime(issuedAt);
         refreshToken.setExpiryDateTime(expiryDateTime);
         refreshToken.setNotBefore(notBeforeTime);
@@ -70,7 +72,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
         refreshTokenRepository.save(refreshToken);
 
-        return refreshToken.getToken();
+        return generatedToken;
     }
 
     @Override
@@ -80,14 +82,22 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             throw new InvalidGrantException(ErrorDesc.INVALID_TOKEN.getDesc());
         }
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(tokenRequest.getRefreshToken())
+        String tokenHash = TokenUtils.digest(tokenRequest.getRefreshToken());
+
+        if (invalidRefreshTokenCache.contains(tokenHash)) {
+            log.warn("Refresh token is known to be invalid [tokenHash: {}]", tokenHash);
+            throw new TokenNotFoundException(ErrorDesc.INVALID_TOKEN.getDesc());
+        }
+
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
                 .orElseThrow(() -> {
-                    log.warn("Refresh token with given id does not exists [refreshToken: {}]", tokenRequest.getRefreshToken());
+                    invalidRefreshTokenCache.add(tokenHash);
+                    log.warn("Refresh token does not exists or expired [tokenHash: {}]", tokenHash);
                     throw new TokenNotFoundException(ErrorDesc.INVALID_TOKEN.getDesc());
                 });
 
         if (!TokenUtils.isValid(refreshToken.getExpiryDateTime(), refreshToken.getNotBefore())) {
-            log.warn("Refresh token is expired or not active [refreshToken: {}]", tokenRequest.getRefreshToken());
+            log.warn("Refresh token is expired or not active [tokenHash: {}]", tokenHash);
             throw new TokenNotFoundException(ErrorDesc.INVALID_TOKEN.getDesc());
         }
 
@@ -103,7 +113,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
         return TokenResponseDto.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
+                .refreshToken(tokenRequest.getRefreshToken())
                 .expiresIn(serverConfiguration.getAccessToken().getLifetime().getSeconds())
                 .build();
     }
@@ -117,12 +127,15 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             throw new InvalidGrantException(ErrorDesc.INVALID_TOKEN.getDesc());
         }
 
-        if (!refreshTokenRepository.existsByToken(tokenRequest.getRefreshToken())) {
-            log.warn("Refresh token is empty or it was not inside request [refreshToken: {}]", tokenRequest.getRefreshToken());
+        String tokenHash = TokenUtils.digest(tokenRequest.getRefreshToken());
+
+        if (invalidRefreshTokenCache.contains(tokenHash) || refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            invalidRefreshTokenCache.add(tokenHash);
+            log.warn("Refresh token does not exists or already revoked [tokenHash: {}]", tokenHash);
             throw new InvalidGrantException(ErrorDesc.INVALID_TOKEN.getDesc());
         }
 
-        refreshTokenRepository.deleteByToken(tokenRequest.getRefreshToken());
+        invalidRefreshTokenCache.add(tokenHash);
 
         return TokenResponseDto.builder().build();
     }
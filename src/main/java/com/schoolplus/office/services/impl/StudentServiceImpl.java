@@ -5,6 +5,7 @@ import com.schoolplus.office.annotations.ReadingEntity;
 import com.schoolplus.office.annotations.UpdatingEntity;
 import com.schoolplus.office.domain.*;
 import com.schoolplus.office.repository.*;
+import com.schoolplus.office.security.UserChangedEvent;
 import com.schoolplus.office.services.StudentService;
 import com.schoolplus.office.web.exceptions.*;
 import com.schoolplus.office.web.mappers.StudentMapper;
@@ -15,6 +16,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,6 +36,7 @@ public class StudentServiceImpl implements StudentService {
     private final ClassroomRepository classroomRepository;
     private final StudentMapper studentMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @ReadingEntity(domain = TransactionDomain.ANNOUNCEMENT, action = DomainAction.READ_ANNOUNCEMENTS, isList = true)
     @PreAuthorize("hasRole('ROLE_ADMIN') || hasAuthority('manage:users:students') || hasAuthority('read:students')")
@@ -217,5 +220,6 @@ public class StudentServiceImpl implements StudentService {
                 SecurityContextHolder.getContext().getAuthentication().getName());
 
         userRepository.save(student);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(student.getId()));
     }
 }
@@ -4,6 +4,7 @@ import com.schoolplus.office.annotations.CreatingEntity;
 import com.schoolplus.office.annotations.DeletingEntity;
 import com.schoolplus.office.annotations.ReadingEntity;
 import com.schoolplus.office.annotations.UpdatingEntity;
+import com.schoolplus.office.components.appointment.TeacherFreeSlotFinder;
 import com.schoolplus.office.domain.*;
 import com.schoolplus.office.repository.*;
 import com.schoolplus.office.services.SyllabusService;
@@ -33,6 +34,7 @@ public class SyllabusServiceImpl implements SyllabusService {
     private final LessonRepository lessonRepository;
     private final UserRepository userRepository;
     private final SyllabusMapper syllabusMapper;
+    private final TeacherFreeSlotFinder teacherFreeSlotFinder;
 
     @ReadingEntity(domain = TransactionDomain.SYLLABUS, action = DomainAction.READ_SYLLABUSES, isList = true)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:syllabuses') || hasAuthority('read:syllabuses'))")
@@ -193,6 +195,8 @@ public class SyllabusServiceImpl implements SyllabusService {
 
         syllabusRepository.save(syllabus);
 
+        teacherFreeSlotFinder.evict(teacher.getId());
+
         log.info("The Syllabus has been created successfully [syllabusId: {}, performedBy: {}]", syllabus.getId(),
                 SecurityContextHolder.getContext().getAuthentication().getName());
 
@@ -209,6 +213,8 @@ public class SyllabusServiceImpl implements SyllabusService {
                     throw new SyllabusNotFoundException(ErrorDesc.SYLLABUS_NOT_FOUND.getDesc());
                 });
 
+        Teacher previousTeacher = syllabus.getTeacher();
+
         LocalDateTime startDate = editingSyllabus.getSyllabusStartDate() != null ?
                 editingSyllabus.getSyllabusStartDate() : syllabus.getSyllabusStartDate();
 
@@ -269,6 +275,14 @@ public class SyllabusServiceImpl implements SyllabusService {
 
         syllabusRepository.save(syllabus);
 
+        if (previousTeacher != null) {
+            teacherFreeSlotFinder.evict(previousTeacher.getId());
+        }
+
+        if (syllabus.getTeacher() != null) {
+            teacherFreeSlotFinder.evict(syllabus.getTeacher().getId());
+        }
+
         log.info("The Syllabus has been updated successfully [syllabusId: {}, performedBy: {}]", syllabusId,
                 SecurityContextHolder.getContext().getAuthentication().getName());
     }
@@ -277,12 +291,17 @@ public class SyllabusServiceImpl implements SyllabusService {
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:syllabuses') || hasAuthority('delete:syllabus'))")
     @Override
     public void deleteSyllabus(Long syllabusId) {
-        if (!syllabusRepository.existsById(syllabusId)) {
-            log.warn("Syllabus with given id does not exists [syllabusId: {}]", syllabusId);
-            throw new SyllabusNotFoundException(ErrorDesc.SYLLABUS_NOT_FOUND.getDesc());
-        }
+        Syllabus syllabus = syllabusRepository.findById(syllabusId)
+                .orElseThrow(() -> {
+                    log.warn("Syllabus with given id does not exists [syllabusId: {}]", syllabusId);
+                    throw new SyllabusNotFoundException(ErrorDesc.SYLLABUS_NOT_FOUND.getDesc());
+                });
+
+        syllabusRepository.delete(syllabus);
 
-        syllabusRepository.deleteById(syllabusId);
+        if (syllabus.getTeacher() != null) {
+            teacherFreeSlotFinder.evict(syllabus.getTeacher().getId());
+        }
 
         log.info("The Syllabus has been deleted successfully [syllabusId: {}, performedBy: {}]", syllabusId,
                 SecurityContextHolder.getContext().getAuthentication().getName());
@@ -9,6 +9,7 @@ import com.schoolplus.office.domain.TeachingSubject;
 import com.schoolplus.office.repository.OrganizationRepository;
 import com.schoolplus.office.repository.TeachingSubjectRepository;
 import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.UserChangedEvent;
 import com.schoolplus.office.services.TeacherService;
 import com.schoolplus.office.web.exceptions.OrganizationNotFoundException;
 import com.schoolplus.office.web.exceptions.TeacherNotFoundException;
@@ -17,6 +18,7 @@ import com.schoolplus.office.web.mappers.TeacherMapper;
 import com.schoolplus.office.web.models.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,6 +36,7 @@ public class TeacherServiceImpl implements TeacherService {
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
     private final TeacherMapper teacherMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @ReadingEntity(domain = TransactionDomain.TEACHER, action = DomainAction.READ_TEACHER)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:users:teachers') || hasAuthority('read:teacher'))")
@@ -130,6 +133,7 @@ public class TeacherServiceImpl implements TeacherService {
                 SecurityContextHolder.getContext().getAuthentication().getName());
 
         userRepository.save(teacher);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(teacher.getId()));
     }
 
 
@@ -11,6 +11,7 @@ import com.schoolplus.office.repository.AuthorityRepository;
 import com.schoolplus.office.repository.OrganizationRepository;
 import com.schoolplus.office.repository.RoleRepository;
 import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.UserChangedEvent;
 import com.schoolplus.office.services.UserService;
 import com.schoolplus.office.web.exceptions.AuthorityNotFoundException;
 import com.schoolplus.office.web.exceptions.OrganizationNotFoundException;
@@ -22,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -42,6 +44,7 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @ReadingEntity(domain = TransactionDomain.USER, action = DomainAction.READ_USER)
     @PreAuthorize("hasRole('ROLE_ADMIN') && (hasAuthority('manage:users') || hasAuthority('read:user'))")
@@ -102,7 +105,7 @@ public class UserServiceImpl implements UserService {
             user.setOrganization(organization);
         }
 
-        if (editUser.getDeletedAuthorities() != null && editUser.getNewAuthorities().size() != 0)
+        if (editUser.getNewAuthorities() != null && editUser.getNewAuthorities().size() != 0)
             addNewAuthority(editUser, user);
 
         if (editUser.getDeletedAuthorities() != null && editUser.getDeletedAuthorities().size() != 0)
@@ -118,6 +121,7 @@ public class UserServiceImpl implements UserService {
                 SecurityContextHolder.getContext().getAuthentication().getName());
 
         userRepository.save(user);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @DeletingEntity(domain = TransactionDomain.USER, action = DomainAction.DELETE_USER, idArg = "userId")
@@ -133,6 +137,7 @@ public class UserServiceImpl implements UserService {
                 SecurityContextHolder.getContext().getAuthentication().getName());
 
         userRepository.deleteById(userId);
+        applicationEventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     private void deleteGivenRole(EditingUserDto editUser, User user) {
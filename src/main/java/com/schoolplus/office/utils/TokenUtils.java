@@ -1,11 +1,32 @@
 package com.schoolplus.office.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 public final class TokenUtils {
 
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     public static boolean isValid(LocalDateTime expiryDate, LocalDateTime notBefore) {
         return !(LocalDateTime.now().isBefore(notBefore) || LocalDateTime.now().isAfter(expiryDate));
     }
 
+    /**
+     * @return the SHA-256 of the token, base64url encoded without padding (43 characters)
+     */
+    public static String digest(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.schoolplus.office.web.controllers.authentication;
+
+import com.schoolplus.office.config.JwtPkiConfiguration;
+import com.schoolplus.office.security.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Tag(name = "JWKS Controller", description = "Exposes the public keys verifying access tokens")
+@RequiredArgsConstructor
+@RequestMapping(JwksController.ENDPOINT)
+@CrossOrigin(originPatterns = "*", allowedHeaders = "*")
+@RestController
+public class JwksController {
+
+    public static final String ENDPOINT = "/.well-known/jwks.json";
+
+    private final JwtKeyRing jwtKeyRing;
+    private final JwtPkiConfiguration jwtPkiConfiguration;
+
+    @Operation(summary = "Get JSON Web Key Set")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Public keys are returned")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtPkiConfiguration.getJwksMaxAge().getSeconds(), TimeUnit.SECONDS)
+                        .cachePublic())
+                .body(jwtKeyRing.getPublicJwkSet().toJSONObject());
+    }
+
+}
@@ -5,6 +5,9 @@ import com.schoolplus.office.web.models.AppointmentDto;
 import com.schoolplus.office.web.models.CreatingAppointmentDto;
 import com.schoolplus.office.web.models.EditingAppointmentDto;
 import com.schoolplus.office.web.models.ErrorResponseDto;
+import com.schoolplus.office.web.models.FreeSlotDto;
+import com.schoolplus.office.web.models.ScheduledAppointmentDto;
+import com.schoolplus.office.web.models.SchedulingAppointmentsDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -49,6 +54,29 @@ public class AppointmentManagementController {
         return new ResponseEntity<>(appointmentService.getAppointments(PageRequest.of(page, size)), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get Free Slots Of The Teacher")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Free slots are listed"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Organization or teacher of the organization not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/free-slots", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<FreeSlotDto>> getFreeSlots(@RequestParam Long organizationId,
+                                                          @RequestParam UUID teacherId,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                          @RequestParam(required = false) Integer minimumMinutes) {
+        return new ResponseEntity<>(appointmentService.getFreeSlots(organizationId, teacherId, from, to, minimumMinutes), HttpStatus.OK);
+    }
+
     @Operation(summary = "Get Appointment")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointment info is generated"),
@@ -87,6 +115,25 @@ public class AppointmentManagementController {
         return new ResponseEntity<>(appointmentService.createAppointment(creatingAppointment), HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Schedule Appointments Of The Teacher With Many Students")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Appointments are scheduled"),
+            @ApiResponse(responseCode = "400", description = "Invalid input, malformed data or not enough free slots",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Organization || Teacher || Student not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ScheduledAppointmentDto>> scheduleAppointments(@Valid @RequestBody SchedulingAppointmentsDto schedulingAppointments) {
+        return new ResponseEntity<>(appointmentService.scheduleAppointments(schedulingAppointments), HttpStatus.CREATED);
+    }
+
     @Operation(summary = "Update Appointment")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "308", description = "Appointment is updated",
@@ -0,0 +1,64 @@
+package com.schoolplus.office.web.controllers.backoffice;
+
+import com.schoolplus.office.services.AuditLogService;
+import com.schoolplus.office.web.models.AuditLogCriteria;
+import com.schoolplus.office.web.models.AuditLogPageDto;
+import com.schoolplus.office.web.models.ErrorResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RequiredArgsConstructor
+@Tag(name = "Audit Log Management Controller", description = "Exposes audit log management endpoints")
+@RequestMapping(AuditLogManagementController.ENDPOINT)
+@RestController
+public class AuditLogManagementController {
+
+    public static final String ENDPOINT = "/management/audit-logs";
+
+    private final AuditLogService auditLogService;
+
+    @Operation(summary = "Get Audit Logs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit logs are listed, newest first"),
+            @ApiResponse(responseCode = "400", description = "Invalid input, malformed data or cursor", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AuditLogPageDto> listAuditLogs(AuditLogCriteria criteria,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") Integer size) {
+        return new ResponseEntity<>(auditLogService.listAuditLogs(criteria, cursor, size), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export Audit Logs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit logs are being streamed as NDJSON, newest first"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(AuditLogCriteria criteria) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(auditLogService.streamAuditLogs(criteria));
+    }
+
+}
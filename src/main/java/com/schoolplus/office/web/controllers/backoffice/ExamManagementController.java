@@ -1,5 +1,6 @@
 package com.schoolplus.office.web.controllers.backoffice;
 
+import com.schoolplus.office.services.ExamImportService;
 import com.schoolplus.office.services.ExamService;
 import com.schoolplus.office.web.models.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,12 +11,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -28,8 +31,11 @@ import java.util.UUID;
 public class ExamManagementController {
 
     public final static String ENDPOINT = "/management/exams";
+    public final static String XLS_MEDIA_TYPE = "application/vnd.ms-excel";
+    public final static String XLSX_MEDIA_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
     public final ExamService examService;
+    public final ExamImportService examImportService;
 
     @Operation(summary = "Get Exams")
     @ApiResponses(value = {
@@ -343,6 +349,96 @@ public class ExamManagementController {
         return new ResponseEntity<>(examService.getExamResultItem(examResultItemId), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get Exam Result Rankings")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exam Result rankings are listed"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Exam Result was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/results/{examResultId}/rankings", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ExamResultRankingDto>> getExamResultRankings(@Valid @PathVariable Long examResultId,
+                                                                            @RequestParam(defaultValue = "0") Integer page,
+                                                                            @RequestParam(defaultValue = "10") Integer size) {
+        return new ResponseEntity<>(examService.getExamResultRankings(examResultId, PageRequest.of(page, size)), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get Exam Result Analytics")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exam Result analytics are generated"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Exam Result was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/results/{examResultId}/analytics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ExamResultAnalyticsDto>> getExamResultAnalytics(@Valid @PathVariable Long examResultId,
+                                                                               @RequestParam(required = false) String column) {
+        return new ResponseEntity<>(examService.getExamResultAnalytics(examResultId, column), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export Exam Result")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exam Result is being streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Exam Result was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/results/{examResultId}/export")
+    public ResponseEntity<StreamingResponseBody> exportExamResult(@Valid @PathVariable Long examResultId,
+                                                                  @RequestParam(defaultValue = "XLSX") ExamResultExportFormat format) {
+        StreamingResponseBody body = examService.exportExamResult(examResultId, format);
+
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("exam-result-" + examResultId + "." + format.getExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
+    @Operation(summary = "Get Exam Result Ranking By Student")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exam Result ranking of the student is generated"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Exam Result Item of the student was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/results/{examResultId}/rankings/student/{studentId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExamResultRankingDto> getExamResultRankingByStudent(@Valid @PathVariable Long examResultId,
+                                                                              @Valid @PathVariable UUID studentId) {
+        return new ResponseEntity<>(examService.getExamResultRankingByStudent(examResultId, studentId), HttpStatus.OK);
+    }
+
     @Operation(summary = "Create Exam")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Exam is created"),
@@ -414,12 +510,70 @@ public class ExamManagementController {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
             }),
     })
-    @PostMapping(value = "/results/exam/{examId}", consumes = "application/vnd.ms-excel", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/results/exam/{examId}", consumes = {XLS_MEDIA_TYPE, XLSX_MEDIA_TYPE}, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity createExamResult(@Valid @PathVariable Long examId,
                                            @Valid @RequestParam("result") MultipartFile result) {
         return new ResponseEntity<>(examService.createExamResult(examId, result), HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Create Exam Result From Several Files Or Sheets")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Exam Result is created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Exam was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @PostMapping(value = "/results/exam/{examId}/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExamResultDto> createBulkExamResult(@Valid @PathVariable Long examId,
+                                                              @RequestParam("results") List<MultipartFile> results) {
+        return new ResponseEntity<>(examService.createBulkExamResult(examId, results), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Import Exam Result Asynchronously")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Exam Result import is queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or malformed data",
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+                    }),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Exam was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "429", description = "Too many imports are in progress", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @PostMapping(value = "/results/exam/{examId}/imports", consumes = {XLS_MEDIA_TYPE, XLSX_MEDIA_TYPE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExamImportJobDto> importExamResult(@Valid @PathVariable Long examId,
+                                                             @Valid @RequestParam("result") MultipartFile result) {
+        return new ResponseEntity<>(examImportService.submitExamResultImport(examId, result), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "Get Exam Result Import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exam Result import status is generated"),
+            @ApiResponse(responseCode = "403", description = "Don't have permission", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Import job was not found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDto.class))
+            }),
+    })
+    @GetMapping(value = "/results/imports/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExamImportJobDto> getExamResultImport(@Valid @PathVariable UUID jobId) {
+        return new ResponseEntity<>(examImportService.getExamImportJob(jobId), HttpStatus.OK);
+    }
+
     @Operation(summary = "Update Exam")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Exam is updated"),
@@ -0,0 +1,7 @@
+package com.schoolplus.office.web.exceptions;
+
+public class ExamImportJobNotFoundException extends RuntimeException {
+    public ExamImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
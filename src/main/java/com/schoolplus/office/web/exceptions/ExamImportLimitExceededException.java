@@ -0,0 +1,7 @@
+package com.schoolplus.office.web.exceptions;
+
+public class ExamImportLimitExceededException extends RuntimeException {
+    public ExamImportLimitExceededException(String message) {
+        super(message);
+    }
+}
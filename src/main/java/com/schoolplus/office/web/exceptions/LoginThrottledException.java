@@ -0,0 +1,7 @@
+package com.schoolplus.office.web.exceptions;
+
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
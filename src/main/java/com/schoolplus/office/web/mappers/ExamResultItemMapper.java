@@ -1,20 +1,34 @@
 package com.schoolplus.office.web.mappers;
 
+import com.schoolplus.office.components.exam.ExamResultDataCodec;
 import com.schoolplus.office.domain.ExamResultItem;
 import com.schoolplus.office.web.models.ExamResultItemDto;
+import com.schoolplus.office.web.models.ExamResultRankingDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
 
-@Mapper(uses = {StudentMapper.class})
+import java.util.List;
+
+@Mapper(uses = {StudentMapper.class}, imports = {ExamResultDataCodec.class})
 public interface ExamResultItemMapper {
 
     @Mappings({
             @Mapping(target = "examResultItemId", source = "id"),
             @Mapping(target = "student", source = "student"),
+            @Mapping(target = "resultData", expression = "java(ExamResultDataCodec.readResultData(examResultItem))"),
             @Mapping(target = "createdAt", source = "createdAt"),
             @Mapping(target = "lastModifiedAt", source = "lastModifiedAt")
     })
     ExamResultItemDto examResultItemToExamResultItemDto(ExamResultItem examResultItem);
 
+    @Mappings({
+            @Mapping(target = "examResultItemId", source = "id"),
+            @Mapping(target = "student", source = "student"),
+            @Mapping(target = "classRoomId", source = "classroom.id")
+    })
+    ExamResultRankingDto examResultItemToExamResultRankingDto(ExamResultItem examResultItem);
+
+    List<ExamResultRankingDto> examResultItemToExamResultRankingDtoList(List<ExamResultItem> examResultItems);
+
 }
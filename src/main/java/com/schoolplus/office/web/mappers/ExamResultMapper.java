@@ -16,7 +16,8 @@ public interface ExamResultMapper {
             @Mapping(target = "examResultId", source = "id"),
             @Mapping(target = "examResultItems", source = "examResultItems"),
             @Mapping(target = "createdAt", source = "createdAt"),
-            @Mapping(target = "lastModifiedAt", source = "lastModifiedAt")
+            @Mapping(target = "lastModifiedAt", source = "lastModifiedAt"),
+            @Mapping(target = "importReport", ignore = true)
     })
     ExamResultDto examResultToExamResultDto(ExamResult examResult);
 
@@ -25,7 +26,8 @@ public interface ExamResultMapper {
             @Mapping(target = "examResultId", source = "id"),
             @Mapping(target = "examResultItems", source = "examResultItems", ignore = true),
             @Mapping(target = "createdAt", source = "createdAt"),
-            @Mapping(target = "lastModifiedAt", source = "lastModifiedAt")
+            @Mapping(target = "lastModifiedAt", source = "lastModifiedAt"),
+            @Mapping(target = "importReport", ignore = true)
     })
     ExamResultDto examResultToExamResultDtoWithoutItems(ExamResult examResult);
 
@@ -34,7 +36,8 @@ public interface ExamResultMapper {
             @Mapping(target = "examResultId", source = "id"),
             @Mapping(target = "examResultItems", source = "examResultItems", ignore = true),
             @Mapping(target = "createdAt", source = "createdAt"),
-            @Mapping(target = "lastModifiedAt", source = "lastModifiedAt")
+            @Mapping(target = "lastModifiedAt", source = "lastModifiedAt"),
+            @Mapping(target = "importReport", ignore = true)
     })
     List<ExamResultDto> examResultToExamResultDtoWithoutItemsList(List<ExamResult> examResults);
 
@@ -0,0 +1,7 @@
+package com.schoolplus.office.web.models;
+
+public enum AuditBackpressurePolicy {
+    CALLER_RUNS,
+    DROP_NEWEST,
+    DROP_OLDEST
+}
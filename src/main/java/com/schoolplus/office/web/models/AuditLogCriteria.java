@@ -0,0 +1,35 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Filters of the audit log queries, each one optional. The time window includes {@code from} and excludes {@code to}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AuditLogCriteria {
+
+    private UUID performedBy;
+
+    private TransactionDomain domain;
+
+    private DomainAction action;
+
+    private String relatedId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime to;
+
+}
@@ -0,0 +1,34 @@
+package com.schoolplus.office.web.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditLogDto {
+
+    private Long logId;
+
+    private TransactionType transactionType;
+
+    private TransactionDomain transactionDomain;
+
+    private DomainAction domainAction;
+
+    private String performedBy;
+
+    private String relatedId;
+
+    private Long eventCount;
+
+    private Timestamp createdAt;
+
+}
@@ -0,0 +1,25 @@
+package com.schoolplus.office.web.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditLogPageDto {
+
+    private List<AuditLogDto> logs;
+
+    /**
+     * Passed back as {@code cursor} to get the next page, absent on the last page.
+     */
+    private String nextCursor;
+
+}
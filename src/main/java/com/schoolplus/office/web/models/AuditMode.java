@@ -0,0 +1,8 @@
+package com.schoolplus.office.web.models;
+
+public enum AuditMode {
+    ALWAYS,
+    SAMPLED,
+    AGGREGATED,
+    OFF
+}
@@ -0,0 +1,6 @@
+package com.schoolplus.office.web.models;
+
+public enum AuditStorageMode {
+    PARTITIONED,
+    ROLLING
+}
@@ -0,0 +1,36 @@
+package com.schoolplus.office.web.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ColumnStatisticsDto {
+
+    private Long classRoomId;
+
+    private Long gradeId;
+
+    private Long count;
+
+    private BigDecimal average;
+
+    private BigDecimal median;
+
+    private BigDecimal standardDeviation;
+
+    private BigDecimal min;
+
+    private BigDecimal max;
+
+    private List<HistogramBucketDto> histogram = new ArrayList<>();
+
+}
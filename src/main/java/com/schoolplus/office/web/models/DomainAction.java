@@ -12,6 +12,12 @@ public enum DomainAction {
     DELETE_ANNOUNCEMENT_IMAGE,
     DELETE_ANNOUNCEMENT,
 
+    /*
+     * Audit Log
+     */
+    READ_AUDIT_LOGS,
+    EXPORT_AUDIT_LOGS,
+
     /*
      * Appointment
      */
@@ -20,6 +26,8 @@ public enum DomainAction {
     CREATE_APPOINTMENT,
     UPDATE_APPOINTMENT,
     DELETE_APPOINTMENT,
+    READ_APPOINTMENT_FREE_SLOTS,
+    SCHEDULE_APPOINTMENTS,
 
     /*
      * Classroom
@@ -82,6 +90,8 @@ public enum DomainAction {
     READ_EXAM_RESULTS_BY_STUDENT,
     READ_EXAM_RESULTS_BY_CLASSROOM,
     READ_EXAM_RESULTS_BY_GRADE,
+    READ_EXAM_RESULT_ANALYTICS,
+    EXPORT_EXAM_RESULT,
     CREATE_EXAM_RESULT,
     UPDATE_EXAM_RESULT,
     DELETE_EXAM_RESULT,
@@ -90,6 +100,8 @@ public enum DomainAction {
      * Exam Result Item
      */
     READ_EXAM_RESULT_ITEM,
+    READ_EXAM_RESULT_RANKINGS,
+    READ_EXAM_RESULT_RANKING_BY_STUDENT,
     UPDATE_EXAM_RESULT_ITEM,
 
     /*
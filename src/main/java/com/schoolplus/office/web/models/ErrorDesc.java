@@ -49,7 +49,14 @@ public enum ErrorDesc {
     SUPPORT_REQUEST_NOT_FOUND("Support request not found", 39),
     SUPPORT_THREAD_NOT_FOUND("Support thread not found", 40),
     FAILED_IMAGE_UPLOAD("Failed to upload image", 41),
-    INVALID_CONTENT_TYPE("Invalid content type", 42);
+    INVALID_CONTENT_TYPE("Invalid content type", 42),
+    EXAM_IMPORT_JOB_NOT_FOUND("Exam import job not found", 43),
+    EXAM_IMPORT_LIMIT_EXCEEDED("Too many exam imports are in progress", 44),
+    INVALID_AUDIT_LOG_CURSOR("Invalid audit log cursor", 45),
+    TOO_MANY_LOGIN_REQUESTS("Too many login requests are in progress", 46),
+    INVALID_FREE_SLOT_RANGE("Invalid free slot range", 47),
+    INVALID_APPOINTMENT_WINDOW("Invalid appointment window", 48),
+    NOT_ENOUGH_APPOINTMENT_SLOTS("There are not enough free slots for all students", 49);
 
     private final String desc;
     private final Integer code;
@@ -0,0 +1,43 @@
+package com.schoolplus.office.web.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ExamImportJobDto {
+
+    private UUID jobId;
+
+    private Long examId;
+
+    private ExamImportStatus status;
+
+    private Long rowsParsed;
+
+    private Long rowsPersisted;
+
+    private Double rowsPerSecond;
+
+    private List<String> errors = new ArrayList<>();
+
+    private Long examResultId;
+
+    private ExamImportReportDto importReport;
+
+    private Timestamp submittedAt;
+
+    private Timestamp startedAt;
+
+    private Timestamp finishedAt;
+
+}
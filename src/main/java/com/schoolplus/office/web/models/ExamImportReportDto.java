@@ -0,0 +1,23 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ExamImportReportDto {
+
+    private Set<Long> unresolvedStudentNumbers = new TreeSet<>();
+
+    private Set<Long> unresolvedClassNumbers = new TreeSet<>();
+
+    private List<SheetImportErrorDto> sheetErrors = new ArrayList<>();
+
+}
@@ -0,0 +1,8 @@
+package com.schoolplus.office.web.models;
+
+public enum ExamImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
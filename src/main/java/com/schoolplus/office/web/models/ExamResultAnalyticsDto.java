@@ -0,0 +1,27 @@
+package com.schoolplus.office.web.models;
+
+import com.schoolplus.office.annotations.Logable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ExamResultAnalyticsDto {
+
+    @Logable(type = LogableType.ID)
+    private Long examResultId;
+
+    private String columnName;
+
+    private ColumnStatisticsDto overall;
+
+    private List<ColumnStatisticsDto> classrooms = new ArrayList<>();
+
+    private List<ColumnStatisticsDto> grades = new ArrayList<>();
+
+}
@@ -1,5 +1,6 @@
 package com.schoolplus.office.web.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.schoolplus.office.annotations.Logable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,4 +26,7 @@ public class ExamResultDto {
 
     private Timestamp lastModifiedAt;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ExamImportReportDto importReport;
+
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.*;
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +23,16 @@ public class ExamResultItemDto {
 
     private Map<String, String> resultData = new HashMap<>();
 
+    private BigDecimal sortable;
+
+    private Integer overallRank;
+
+    private Integer classroomRank;
+
+    private Integer gradeRank;
+
+    private BigDecimal percentile;
+
     private Timestamp createdAt;
 
     private Timestamp lastModifiedAt;
@@ -0,0 +1,32 @@
+package com.schoolplus.office.web.models;
+
+import com.schoolplus.office.annotations.Logable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ExamResultRankingDto {
+
+    @Logable(type = LogableType.ID)
+    private Long examResultItemId;
+
+    private StudentDto student;
+
+    private Long classRoomId;
+
+    private BigDecimal sortable;
+
+    private Integer overallRank;
+
+    private Integer classroomRank;
+
+    private Integer gradeRank;
+
+    private BigDecimal percentile;
+
+}
@@ -0,0 +1,18 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class FreeSlotDto {
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+}
@@ -0,0 +1,20 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class HistogramBucketDto {
+
+    private BigDecimal lowerBound;
+
+    private BigDecimal upperBound;
+
+    private Long count;
+
+}
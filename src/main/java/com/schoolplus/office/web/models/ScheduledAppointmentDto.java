@@ -0,0 +1,22 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ScheduledAppointmentDto {
+
+    private String appointmentId;
+
+    private String studentId;
+
+    private LocalDateTime appointmentStartDate;
+
+    private LocalDateTime appointmentEndDate;
+
+}
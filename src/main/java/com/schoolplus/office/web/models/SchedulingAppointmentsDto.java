@@ -0,0 +1,46 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SchedulingAppointmentsDto {
+
+    @Size(max = 99)
+    private String appointmentName;
+
+    @Size(max = 300)
+    private String appointmentNote;
+
+    @NotNull
+    private LocalDateTime windowStartDate;
+
+    @NotNull
+    private LocalDateTime windowEndDate;
+
+    @NotNull
+    @Min(1)
+    @Max(480)
+    private Integer slotMinutes;
+
+    @NotNull
+    private String teacherId;
+
+    @NotNull
+    @Size(min = 1, max = 2000)
+    private List<String> studentIds;
+
+    @NotNull
+    private Long organizationId;
+
+}
@@ -0,0 +1,18 @@
+package com.schoolplus.office.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SheetImportErrorDto {
+
+    private String fileName;
+
+    private Integer sheetIndex;
+
+    private String error;
+
+}
@@ -0,0 +1,7 @@
+package com.schoolplus.office.web.models;
+
+public enum SigningAlgorithm {
+    RS256,
+    ES256,
+    EdDSA
+}
@@ -3,6 +3,7 @@ package com.schoolplus.office.web.models;
 public enum TransactionDomain {
     ANNOUNCEMENT,
     APPOINTMENT,
+    AUDIT_LOG,
     AUTHORITY,
     CLASSROOM,
     COUNTINUITY,
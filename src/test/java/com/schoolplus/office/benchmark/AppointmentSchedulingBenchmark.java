@@ -0,0 +1,106 @@
+package com.schoolplus.office.benchmark;
+
+import com.schoolplus.office.domain.Organization;
+import com.schoolplus.office.domain.Student;
+import com.schoolplus.office.domain.Teacher;
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.repository.OrganizationRepository;
+import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.services.AppointmentService;
+import com.schoolplus.office.web.models.SchedulingAppointmentsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the statements and throughput of scheduling 2k appointments of a teacher in a single request.
+ * Run with {@code -Dbenchmark=true}; to compare with one request per appointment, run it against the
+ * previous revision calling {@code createAppointment} in a loop.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+public class AppointmentSchedulingBenchmark {
+
+    private static final int STUDENTS = 2_000;
+    private static final int SLOT_MINUTES = 10;
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AppointmentService appointmentService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @DisplayName("Schedule 2k Appointments")
+    @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:appointments"})
+    @Test
+    void scheduleAppointments() {
+        Organization organization = new Organization();
+        organization.setOrganizationName(RandomStringUtils.random(10, true, false));
+        organizationRepository.save(organization);
+
+        Teacher teacher = new Teacher();
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Gürbüz");
+        teacher.setUsername(RandomStringUtils.random(10, true, false));
+        teacher.setOrganization(organization);
+
+        List<User> users = new ArrayList<>();
+        users.add(teacher);
+
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setOrganization(organization);
+            users.add(student);
+        }
+
+        userRepository.saveAll(users);
+
+        LocalDateTime windowStart = LocalDateTime.of(2031, 1, 1, 0, 0);
+
+        SchedulingAppointmentsDto schedulingAppointments = new SchedulingAppointmentsDto();
+        schedulingAppointments.setWindowStartDate(windowStart);
+        schedulingAppointments.setWindowEndDate(windowStart.plusMinutes((long) STUDENTS * SLOT_MINUTES));
+        schedulingAppointments.setSlotMinutes(SLOT_MINUTES);
+        schedulingAppointments.setTeacherId(teacher.getId().toString());
+        schedulingAppointments.setOrganizationId(organization.getId());
+        schedulingAppointments.setStudentIds(users.subList(1, users.size()).stream()
+                .map(user -> user.getId().toString())
+                .collect(Collectors.toList()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        int scheduled = appointmentService.scheduleAppointments(schedulingAppointments).size();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        log.info("Scheduled appointments [appointments: {}, preparedStatements: {}, entityInserts: {}, " +
+                        "wallTimeMs: {}, appointmentsPerSecond: {}]",
+                scheduled, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(),
+                elapsedMillis, scheduled * 1000L / elapsedMillis);
+
+        statistics.setStatisticsEnabled(false);
+    }
+
+}
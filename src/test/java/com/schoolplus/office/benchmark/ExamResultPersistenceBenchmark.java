@@ -0,0 +1,94 @@
+package com.schoolplus.office.benchmark;
+
+import com.schoolplus.office.domain.Exam;
+import com.schoolplus.office.domain.ExamResult;
+import com.schoolplus.office.domain.ExamResultItem;
+import com.schoolplus.office.domain.Organization;
+import com.schoolplus.office.repository.ExamRepository;
+import com.schoolplus.office.repository.ExamResultRepository;
+import com.schoolplus.office.repository.OrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+
+/**
+ * Measures the statements and wall time needed to persist an imported exam result of 10k rows.
+ * Run with {@code -Dbenchmark=true}; to get the baseline, run it against the previous revision or with
+ * {@code -Dspring.jpa.properties.hibernate.jdbc.batch_size=0}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+public class ExamResultPersistenceBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int CELLS_PER_ROW = 10;
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    ExamRepository examRepository;
+
+    @Autowired
+    ExamResultRepository examResultRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @DisplayName("Persist 10k Exam Result Rows")
+    @Test
+    void persistExamResultRows() {
+        Organization organization = new Organization();
+        organization.setOrganizationName(RandomStringUtils.random(10, true, false));
+        organizationRepository.save(organization);
+
+        Exam exam = new Exam();
+        exam.setExamName(RandomStringUtils.random(10, true, false));
+        exam.setOrganization(organization);
+        examRepository.save(exam);
+
+        ExamResult examResult = new ExamResult();
+        examResult.setExam(exam);
+
+        for (int i = 0; i < ROWS; i++) {
+            ExamResultItem examResultItem = new ExamResultItem();
+            examResultItem.setSortable(BigDecimal.valueOf(i));
+
+            for (int c = 0; c < CELLS_PER_ROW; c++) {
+                examResultItem.addResultData("Cell" + c, String.valueOf(i * c));
+            }
+
+            examResult.addExamResultItem(examResultItem);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> examResultRepository.save(examResult));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Persisted exam result [rows: {}, cellsPerRow: {}, preparedStatements: {}, entityInserts: {}, " +
+                        "collectionRecreates: {}, wallTimeMs: {}]",
+                ROWS, CELLS_PER_ROW, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(),
+                statistics.getCollectionRecreateCount(), elapsedMillis);
+
+        statistics.setStatisticsEnabled(false);
+    }
+
+}
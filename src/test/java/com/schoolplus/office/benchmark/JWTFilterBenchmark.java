@@ -0,0 +1,146 @@
+package com.schoolplus.office.benchmark;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.schoolplus.office.config.JwtPkiConfiguration;
+import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.security.JWTFilter;
+import com.schoolplus.office.security.JwtKeyRing;
+import com.schoolplus.office.security.SecurityUser;
+import com.schoolplus.office.security.SecurityUserDetailsService;
+import com.schoolplus.office.security.VerifiedTokenCache;
+import com.schoolplus.office.services.JwtService;
+import com.schoolplus.office.services.impl.JwtServiceImpl;
+import com.schoolplus.office.web.models.SigningAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.JdkIdGenerator;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link JWTFilter} for a repeated access token, with the verified token
+ * cache warm and disabled, against the double parse and verify the filter did before, for each signing
+ * algorithm of the key ring. The token carries no stateless claims and the user lookup is stubbed out.
+ * Run with {@code -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JWTFilterBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String signingAlgorithm;
+
+    private JwtService jwtService;
+    private JWTFilter cachingFilter;
+    private JWTFilter nonCachingFilter;
+    private String accessToken;
+
+    @DisplayName("Run JWT Filter Benchmarks")
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JWTFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        JwtPkiConfiguration jwtPkiConfiguration = new JwtPkiConfiguration();
+        jwtPkiConfiguration.setKeyRingPath(Files.createTempDirectory("jwt-key-ring").resolve("keys.json").toString());
+        jwtPkiConfiguration.setSigningAlgorithm(SigningAlgorithm.valueOf(signingAlgorithm));
+
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(jwtPkiConfiguration);
+        jwtKeyRing.init();
+
+        ServerConfiguration serverConfiguration = new ServerConfiguration();
+        serverConfiguration.setServerUrl("http://localhost:8080");
+
+        jwtService = new JwtServiceImpl(new JdkIdGenerator(), serverConfiguration, jwtKeyRing);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("username");
+        user.setRoles(new HashSet<>());
+        user.setAuthorities(new HashSet<>());
+
+        SecurityUser securityUser = new SecurityUser(user);
+        SecurityUserDetailsService securityUserDetailsService = new SecurityUserDetailsService(null) {
+            @Override
+            public SecurityUser loadUserByUsername(String username) {
+                return securityUser;
+            }
+        };
+
+        cachingFilter = new JWTFilter(jwtService, securityUserDetailsService,
+                new VerifiedTokenCache(serverConfiguration), null, serverConfiguration);
+
+        ServerConfiguration nonCachingConfiguration = new ServerConfiguration();
+        nonCachingConfiguration.setVerifiedTokenCacheSize(0);
+
+        nonCachingFilter = new JWTFilter(jwtService, securityUserDetailsService,
+                new VerifiedTokenCache(nonCachingConfiguration), null, serverConfiguration);
+
+        JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
+                .subject(user.getId().toString())
+                .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .claim("username", user.getUsername())
+                .build();
+
+        accessToken = jwtService.signJWT(jwtClaimsSet).serialize();
+    }
+
+    @Benchmark
+    public int cachedToken() throws ServletException, IOException {
+        return filter(cachingFilter);
+    }
+
+    @Benchmark
+    public int nonCachedToken() throws ServletException, IOException {
+        return filter(nonCachingFilter);
+    }
+
+    @Benchmark
+    public void doubleVerifiedToken(Blackhole blackhole) {
+        blackhole.consume(jwtService.validate(accessToken));
+        blackhole.consume(jwtService.parseAndValidate(accessToken));
+    }
+
+    private int filter(JWTFilter jwtFilter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            jwtFilter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        return response.getStatus();
+    }
+
+}
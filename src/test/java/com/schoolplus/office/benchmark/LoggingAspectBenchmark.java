@@ -0,0 +1,182 @@
+package com.schoolplus.office.benchmark;
+
+import com.schoolplus.office.annotations.Logable;
+import com.schoolplus.office.annotations.ReadingEntity;
+import com.schoolplus.office.annotations.UpdatingEntity;
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.logging.AuditAggregator;
+import com.schoolplus.office.logging.AuditLogWriter;
+import com.schoolplus.office.logging.AuditPolicyEvaluator;
+import com.schoolplus.office.logging.LoggingAspect;
+import com.schoolplus.office.services.impl.ExamServiceImpl;
+import com.schoolplus.office.web.models.EditingExamResultDto;
+import com.schoolplus.office.web.models.ExamResultDto;
+import com.schoolplus.office.web.models.LogableType;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the audit overhead the aspect adds to a read and an update call, against the reflective
+ * extraction it used before (a field scan and getter search per call). Writing the log is stubbed out.
+ * Run with {@code -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAspectBenchmark {
+
+    private LoggingAspect loggingAspect;
+    private ReadingEntity readingEntity;
+    private UpdatingEntity updatingEntity;
+    private Method updateMethod;
+    private JoinPoint updateJoinPoint;
+    private ExamResultDto examResultDto;
+
+    @DisplayName("Run Logging Aspect Benchmarks")
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingAspectBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        AuditLogWriter auditLogWriter = new AuditLogWriter(new AuditConfiguration(), null, null) {
+            @Override
+            public void write(TransactionLog transactionLog) {
+            }
+        };
+
+        AuditConfiguration auditConfiguration = new AuditConfiguration();
+
+        loggingAspect = new LoggingAspect(auditLogWriter, new AuditPolicyEvaluator(auditConfiguration),
+                new AuditAggregator(auditLogWriter), null, null);
+
+        readingEntity = ExamServiceImpl.class.getMethod("getExamResult", Long.class)
+                .getAnnotation(ReadingEntity.class);
+
+        updateMethod = ExamServiceImpl.class.getMethod("updateExamResult", Long.class, EditingExamResultDto.class);
+        updatingEntity = updateMethod.getAnnotation(UpdatingEntity.class);
+        updateJoinPoint = joinPoint(updateMethod, new Object[]{42L, new EditingExamResultDto()});
+
+        examResultDto = new ExamResultDto();
+        examResultDto.setExamResultId(42L);
+    }
+
+    @Benchmark
+    public void readingEntity() {
+        loggingAspect.afterReadingEntity(readingEntity, examResultDto);
+    }
+
+    @Benchmark
+    public void updatingEntity() {
+        loggingAspect.afterUpdatingEntity(updateJoinPoint, updatingEntity, null);
+    }
+
+    @Benchmark
+    public void reflectiveReadingEntity(Blackhole blackhole) {
+        LegacyColumnExtractor extractor = new LegacyColumnExtractor(examResultDto.getClass());
+        Field idField = extractor.getColumnField(LogableType.ID);
+
+        blackhole.consume(extractor.runGetter(idField, examResultDto).toString());
+    }
+
+    @Benchmark
+    public void reflectiveUpdatingEntity(Blackhole blackhole) {
+        int idArgIndex = -1;
+
+        for (int i = 0; i < updateMethod.getParameters().length; i++) {
+            Parameter parameter = updateMethod.getParameters()[i];
+
+            if (parameter.getName().equals(updatingEntity.idArg())) {
+                idArgIndex = i;
+                break;
+            }
+        }
+
+        blackhole.consume(updateJoinPoint.getArgs()[idArgIndex].toString());
+    }
+
+    private static JoinPoint joinPoint(Method method, Object[] args) {
+        MethodSignature signature = (MethodSignature) Proxy.newProxyInstance(
+                LoggingAspectBenchmark.class.getClassLoader(),
+                new Class[]{MethodSignature.class},
+                (proxy, invoked, invokedArgs) -> "getMethod".equals(invoked.getName()) ? method : null);
+
+        return (JoinPoint) Proxy.newProxyInstance(
+                LoggingAspectBenchmark.class.getClassLoader(),
+                new Class[]{JoinPoint.class},
+                (proxy, invoked, invokedArgs) -> {
+                    switch (invoked.getName()) {
+                        case "getSignature":
+                            return signature;
+                        case "getArgs":
+                            return args;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * The extraction the aspect did before the metadata cache, kept as the baseline.
+     */
+    private static class LegacyColumnExtractor {
+
+        private final Map<LogableType, Field> fields;
+
+        LegacyColumnExtractor(Class<?> clazz) {
+            this.fields = Stream.of(clazz.getDeclaredFields())
+                    .filter(field -> field.isAnnotationPresent(Logable.class))
+                    .collect(Collectors.toMap(field -> field.getAnnotation(Logable.class).type(),
+                            Function.identity()));
+        }
+
+        Field getColumnField(LogableType logableType) {
+            return fields.get(logableType);
+        }
+
+        Object runGetter(Field field, Object o) {
+            for (Method method : o.getClass().getMethods()) {
+                if ((method.getName().startsWith("get")) && (method.getName().length() == (field.getName().length() + 3))) {
+                    if (method.getName().toLowerCase().endsWith(field.getName().toLowerCase())) {
+                        try {
+                            return method.invoke(o);
+                        } catch (IllegalAccessException | InvocationTargetException e) {
+                            return null;
+                        }
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.schoolplus.office.components;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class DistributedLockTest {
+
+    @Autowired
+    DistributedLock distributedLock;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    String lockName() {
+        return "school-plus.test." + UUID.randomUUID();
+    }
+
+    boolean isFree(String name) {
+        return Integer.valueOf(1).equals(jdbcTemplate.queryForObject("SELECT IS_FREE_LOCK(?)", Integer.class, name));
+    }
+
+    boolean acquire(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, name);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    void release(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, name);
+            statement.execute();
+        }
+    }
+
+    @DisplayName("Task Runs Holding The Lock And Releases It")
+    @Test
+    void taskRunsHoldingTheLockAndReleasesIt() {
+        String name = lockName();
+        AtomicBoolean heldWhileRunning = new AtomicBoolean();
+
+        boolean ran = distributedLock.runExclusively(name, () -> heldWhileRunning.set(!isFree(name)));
+
+        assertTrue(ran);
+        assertTrue(heldWhileRunning.get());
+        assertTrue(isFree(name));
+    }
+
+    @DisplayName("Task Is Skipped While Another Instance Holds The Lock")
+    @Test
+    void taskIsSkippedWhileAnotherInstanceHoldsTheLock() throws SQLException {
+        String name = lockName();
+        AtomicBoolean taskRan = new AtomicBoolean();
+
+        // Pooled connections outlive close(), so the lock is released explicitly
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(acquire(connection, name));
+
+            try {
+                assertFalse(distributedLock.runExclusively(name, () -> taskRan.set(true)));
+                assertFalse(taskRan.get());
+            } finally {
+                release(connection, name);
+            }
+        }
+
+        assertTrue(isFree(name));
+        assertTrue(distributedLock.runExclusively(name, () -> taskRan.set(true)));
+        assertTrue(taskRan.get());
+    }
+
+    @DisplayName("Lock Is Released When The Task Fails")
+    @Test
+    void lockIsReleasedWhenTheTaskFails() {
+        String name = lockName();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> distributedLock.runExclusively(name, () -> {
+                    throw new IllegalStateException("failed");
+                }));
+
+        assertEquals("failed", exception.getMessage());
+        assertTrue(isFree(name));
+    }
+
+}
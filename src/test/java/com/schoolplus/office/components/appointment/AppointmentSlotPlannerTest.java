@@ -0,0 +1,118 @@
+package com.schoolplus.office.components.appointment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AppointmentSlotPlannerTest {
+
+    static final LocalDateTime DAY = LocalDateTime.of(2030, Month.SEPTEMBER, 2, 0, 0);
+    static final Duration HALF_AN_HOUR = Duration.ofMinutes(30);
+
+    AppointmentSlotPlanner appointmentSlotPlanner;
+    UUID first;
+    UUID second;
+    UUID third;
+
+    @BeforeEach
+    void setUp() {
+        appointmentSlotPlanner = new AppointmentSlotPlanner();
+        first = UUID.randomUUID();
+        second = UUID.randomUUID();
+        third = UUID.randomUUID();
+    }
+
+    static TimeSlot at(int hour, int minute, Duration length) {
+        LocalDateTime start = DAY.withHour(hour).withMinute(minute);
+        return new TimeSlot(start, start.plus(length));
+    }
+
+    @DisplayName("Students Take Consecutive Slots In Order")
+    @Test
+    void studentsTakeConsecutiveSlotsInOrder() {
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofHours(2)), HALF_AN_HOUR,
+                List.of(), List.of(first, second, third), Map.of());
+
+        assertEquals(List.of(first, second, third), List.copyOf(plan.keySet()));
+        assertEquals(at(9, 0, HALF_AN_HOUR), plan.get(first));
+        assertEquals(at(9, 30, HALF_AN_HOUR), plan.get(second));
+        assertEquals(at(10, 0, HALF_AN_HOUR), plan.get(third));
+    }
+
+    @DisplayName("Slot Interrupted By The Teacher Restarts After The Busy Period")
+    @Test
+    void slotInterruptedByTheTeacherRestartsAfterTheBusyPeriod() {
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofHours(2)), HALF_AN_HOUR,
+                List.of(at(9, 15, Duration.ofMinutes(20))), List.of(first, second), Map.of());
+
+        assertEquals(at(9, 35, HALF_AN_HOUR), plan.get(first));
+        assertEquals(at(10, 5, HALF_AN_HOUR), plan.get(second));
+    }
+
+    @DisplayName("Busy Student Takes The Next Free Slot")
+    @Test
+    void busyStudentTakesTheNextFreeSlot() {
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofHours(2)), HALF_AN_HOUR,
+                List.of(), List.of(first, second), Map.of(first, List.of(at(9, 0, Duration.ofMinutes(45)))));
+
+        assertEquals(at(10, 0, HALF_AN_HOUR), plan.get(first));
+        assertEquals(at(9, 0, HALF_AN_HOUR), plan.get(second));
+    }
+
+    @DisplayName("Earlier Student Is Moved To Make Room")
+    @Test
+    void earlierStudentIsMovedToMakeRoom() {
+        // Only the first slot suits the second student, first-fit would have given it away already
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofHours(1)), HALF_AN_HOUR,
+                List.of(), List.of(first, second), Map.of(second, List.of(at(9, 30, HALF_AN_HOUR))));
+
+        assertEquals(2, plan.size());
+        assertEquals(at(9, 30, HALF_AN_HOUR), plan.get(first));
+        assertEquals(at(9, 0, HALF_AN_HOUR), plan.get(second));
+    }
+
+    @DisplayName("Moves Chain Through Several Students")
+    @Test
+    void movesChainThroughSeveralStudents() {
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofMinutes(90)), HALF_AN_HOUR,
+                List.of(), List.of(first, second, third), Map.of(
+                        second, List.of(at(10, 0, HALF_AN_HOUR)),
+                        third, List.of(at(9, 30, Duration.ofHours(1)))));
+
+        assertEquals(3, plan.size());
+        assertEquals(at(9, 0, HALF_AN_HOUR), plan.get(third));
+        assertEquals(at(9, 30, HALF_AN_HOUR), plan.get(second));
+        assertEquals(at(10, 0, HALF_AN_HOUR), plan.get(first));
+    }
+
+    @DisplayName("Students Left Without A Slot Are Not Planned")
+    @Test
+    void studentsLeftWithoutASlotAreNotPlanned() {
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofHours(1)), HALF_AN_HOUR,
+                List.of(), List.of(first, second, third), Map.of(third, List.of(at(9, 0, Duration.ofHours(1)))));
+
+        assertEquals(2, plan.size());
+        assertTrue(plan.containsKey(first));
+        assertTrue(plan.containsKey(second));
+    }
+
+    @DisplayName("Window Shorter Than A Slot Has No Slots")
+    @Test
+    void windowShorterThanASlotHasNoSlots() {
+        Map<UUID, TimeSlot> plan = appointmentSlotPlanner.plan(at(9, 0, Duration.ofMinutes(20)), HALF_AN_HOUR,
+                List.of(), List.of(first), Map.of());
+
+        assertTrue(plan.isEmpty());
+    }
+
+}
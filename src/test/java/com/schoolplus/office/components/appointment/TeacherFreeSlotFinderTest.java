@@ -0,0 +1,89 @@
+package com.schoolplus.office.components.appointment;
+
+import com.schoolplus.office.config.AppointmentConfiguration;
+import com.schoolplus.office.repository.AppointmentRepository;
+import com.schoolplus.office.repository.SyllabusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TeacherFreeSlotFinderTest {
+
+    static final LocalDateTime MONDAY = LocalDateTime.of(2030, Month.SEPTEMBER, 2, 0, 0);
+
+    AppointmentRepository appointmentRepository;
+    SyllabusRepository syllabusRepository;
+    TeacherFreeSlotFinder teacherFreeSlotFinder;
+    UUID teacherId;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        syllabusRepository = mock(SyllabusRepository.class);
+        teacherFreeSlotFinder = new TeacherFreeSlotFinder(appointmentRepository, syllabusRepository,
+                new AppointmentConfiguration());
+        teacherId = UUID.randomUUID();
+
+        when(syllabusRepository.findTeacherTimeSlots(eq(teacherId), any(), any())).thenReturn(List.of());
+    }
+
+    void findFreeSlots() {
+        teacherFreeSlotFinder.findFreeSlots(teacherId, MONDAY, MONDAY.plusDays(1), Duration.ZERO);
+    }
+
+    @DisplayName("Computed Weeks Are Cached")
+    @Test
+    void computedWeeksAreCached() {
+        when(appointmentRepository.findTeacherIntervals(eq(teacherId), any(), any())).thenReturn(List.of());
+
+        findFreeSlots();
+        findFreeSlots();
+
+        verify(appointmentRepository, times(1)).findTeacherIntervals(eq(teacherId), any(), any());
+    }
+
+    @DisplayName("Week Computed Across An Eviction Is Not Cached")
+    @Test
+    void weekComputedAcrossAnEvictionIsNotCached() {
+        when(appointmentRepository.findTeacherIntervals(eq(teacherId), any(), any())).thenAnswer(invocation -> {
+            // An appointment of the teacher changes while the week is being read
+            teacherFreeSlotFinder.evict(teacherId);
+            return List.of();
+        }).thenReturn(List.of());
+
+        findFreeSlots();
+        findFreeSlots();
+        findFreeSlots();
+
+        verify(appointmentRepository, times(2)).findTeacherIntervals(eq(teacherId), any(), any());
+    }
+
+    @DisplayName("Week Computed Across A Clearing Is Not Cached")
+    @Test
+    void weekComputedAcrossAClearingIsNotCached() {
+        when(appointmentRepository.findTeacherIntervals(eq(teacherId), any(), any())).thenAnswer(invocation -> {
+            teacherFreeSlotFinder.evictAll();
+            return List.of();
+        }).thenReturn(List.of());
+
+        findFreeSlots();
+        findFreeSlots();
+        findFreeSlots();
+
+        verify(appointmentRepository, times(2)).findTeacherIntervals(eq(teacherId), any(), any());
+    }
+
+}
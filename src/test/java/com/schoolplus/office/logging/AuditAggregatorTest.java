@@ -0,0 +1,135 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class AuditAggregatorTest {
+
+    List<TransactionLog> written;
+    AuditAggregator auditAggregator;
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        written = new CopyOnWriteArrayList<>();
+
+        AuditLogWriter auditLogWriter = mock(AuditLogWriter.class);
+        doAnswer(invocation -> written.add(invocation.getArgument(0))).when(auditLogWriter).write(any());
+
+        auditAggregator = new AuditAggregator(auditLogWriter);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+    }
+
+    void recordReadExam() {
+        auditAggregator.record(TransactionType.READ, TransactionDomain.EXAM, DomainAction.READ_EXAM, user);
+    }
+
+    long totalEventCount() {
+        return written.stream().mapToLong(TransactionLog::getEventCount).sum();
+    }
+
+    @DisplayName("Calls Of A Minute Are Written As One Row")
+    @Test
+    void callsOfAMinuteAreWrittenAsOneRow() {
+        long before = System.currentTimeMillis();
+
+        recordReadExam();
+        recordReadExam();
+        recordReadExam();
+
+        auditAggregator.flushAll();
+
+        // The calls may straddle a minute boundary, splitting them into two rows
+        assertTrue(written.size() <= 2);
+        assertEquals(3, totalEventCount());
+
+        TransactionLog transactionLog = written.get(0);
+        assertEquals(TransactionType.READ, transactionLog.getTransactionType());
+        assertEquals(TransactionDomain.EXAM, transactionLog.getTransactionDomain());
+        assertEquals(DomainAction.READ_EXAM, transactionLog.getDomainActionType());
+        assertSame(user, transactionLog.getPerformedBy());
+        assertEquals(0, transactionLog.getCreatedAt().getTime() % TimeUnit.MINUTES.toMillis(1));
+        assertTrue(transactionLog.getCreatedAt().getTime() > before - TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @DisplayName("Different Actions Are Written As Separate Rows")
+    @Test
+    void differentActionsAreWrittenAsSeparateRows() {
+        recordReadExam();
+        auditAggregator.record(TransactionType.READ, TransactionDomain.EXAM, DomainAction.READ_EXAM_RESULT, user);
+
+        auditAggregator.flushAll();
+
+        assertTrue(written.size() >= 2);
+        assertEquals(2, totalEventCount());
+    }
+
+    @DisplayName("Flush Writes Nothing Twice")
+    @Test
+    void flushWritesNothingTwice() {
+        recordReadExam();
+
+        auditAggregator.flushAll();
+        auditAggregator.flushAll();
+
+        assertEquals(1, totalEventCount());
+    }
+
+    @DisplayName("Calls Recorded During Flushes Are Not Lost")
+    @Test
+    void callsRecordedDuringFlushesAreNotLost() throws InterruptedException {
+        int threads = 4;
+        int callsPerThread = 20_000;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        AtomicBoolean recording = new AtomicBoolean(true);
+
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int call = 0; call < callsPerThread; call++) {
+                    recordReadExam();
+                }
+            });
+        }
+
+        Thread flusher = new Thread(() -> {
+            while (recording.get()) {
+                auditAggregator.flushAll();
+            }
+        });
+        flusher.start();
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        recording.set(false);
+        flusher.join();
+        auditAggregator.flushAll();
+
+        assertEquals((long) threads * callsPerThread, totalEventCount());
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.web.models.AuditStorageMode;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the audit table of the test database, which the application leaves unmanaged.
+ */
+@SpringBootTest
+public class AuditLogStorageTest {
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @TempDir
+    Path archiveDirectory;
+
+    AuditLogStorage storage(AuditStorageMode storageMode) {
+        AuditConfiguration auditConfiguration = new AuditConfiguration();
+        auditConfiguration.setStorageMode(storageMode);
+        auditConfiguration.setRetentionMonths(0);
+        auditConfiguration.setPremadePartitions(2);
+        auditConfiguration.setArchiveDirectory(archiveDirectory.toString());
+
+        return new AuditLogStorage(auditConfiguration, jdbcTemplate, dataSource);
+    }
+
+    String insertLog(LocalDateTime createdAt) {
+        String relatedId = RandomStringUtils.random(16, true, true);
+
+        jdbcTemplate.update("insert into " + AuditLogStorage.TABLE + " (id, related_id, created_at) values (?, ?, ?)",
+                ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE), relatedId,
+                Timestamp.valueOf(createdAt));
+
+        return relatedId;
+    }
+
+    boolean isLive(String relatedId) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from " + AuditLogStorage.TABLE
+                + " where related_id = ?", Integer.class, relatedId);
+
+        return count != null && count > 0;
+    }
+
+    @DisplayName("Prepare Partitions The Table By Month")
+    @Test
+    void preparePartitionsTheTableByMonth() {
+        AuditLogStorage auditLogStorage = storage(AuditStorageMode.PARTITIONED);
+
+        auditLogStorage.prepare();
+        auditLogStorage.maintain();
+
+        List<String> partitions = jdbcTemplate.queryForList("select partition_name from information_schema.partitions"
+                + " where table_schema = database() and table_name = ? and partition_name is not null",
+                String.class, AuditLogStorage.TABLE);
+
+        assertEquals(AuditStorageMode.PARTITIONED, auditLogStorage.getStorageMode());
+        assertTrue(partitions.contains("p" + YearMonth.now().format(MONTH_SUFFIX)));
+        assertTrue(partitions.contains("p" + YearMonth.now().plusMonths(2).format(MONTH_SUFFIX)));
+        assertTrue(partitions.contains("pmax"));
+
+        String relatedId = insertLog(LocalDateTime.now());
+        assertTrue(isLive(relatedId));
+    }
+
+    @DisplayName("Roll Over Keeps The Current Month Live And Archives The Rest")
+    @Test
+    void rollOverKeepsTheCurrentMonthLiveAndArchivesTheRest() throws IOException {
+        AuditLogStorage auditLogStorage = storage(AuditStorageMode.ROLLING);
+
+        String expiredId = insertLog(LocalDateTime.now().minusMonths(2));
+        String currentId = insertLog(LocalDateTime.now());
+
+        auditLogStorage.maintain();
+
+        String rolledTable = AuditLogStorage.TABLE + "_" + YearMonth.now().minusMonths(1).format(MONTH_SUFFIX);
+
+        assertTrue(auditLogStorage.tableNames().contains(rolledTable));
+        assertFalse(isLive(expiredId));
+        assertTrue(isLive(currentId));
+
+        List<YearMonth> archived = auditLogStorage.archiveExpired();
+
+        assertTrue(archived.contains(YearMonth.now().minusMonths(1)));
+        assertFalse(auditLogStorage.tableNames().contains(rolledTable));
+
+        Path archive = archiveDirectory.resolve(rolledTable + ".csv.gz");
+
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(archive))) {
+            String csv = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+
+            assertTrue(csv.contains("related_id"));
+            assertTrue(csv.contains(expiredId));
+            assertFalse(csv.contains(currentId));
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.repository.TransactionLogRepository;
+import com.schoolplus.office.web.models.AuditBackpressurePolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AuditLogWriterTest {
+
+    AuditConfiguration auditConfiguration;
+    TransactionLogRepository transactionLogRepository;
+    AuditLogWriter auditLogWriter;
+
+    List<List<TransactionLog>> batches;
+    CountDownLatch firstBatchEntered;
+    volatile CountDownLatch firstBatchReleased;
+
+    @BeforeEach
+    void setUp() {
+        auditConfiguration = new AuditConfiguration();
+        transactionLogRepository = mock(TransactionLogRepository.class);
+
+        batches = new CopyOnWriteArrayList<>();
+        firstBatchEntered = new CountDownLatch(1);
+        firstBatchReleased = new CountDownLatch(0);
+
+        AtomicBoolean first = new AtomicBoolean(true);
+
+        when(transactionLogRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<TransactionLog> batch = new ArrayList<>();
+            invocation.<Iterable<TransactionLog>>getArgument(0).forEach(batch::add);
+
+            if (first.getAndSet(false)) {
+                firstBatchEntered.countDown();
+                firstBatchReleased.await(5, TimeUnit.SECONDS);
+            }
+
+            batches.add(batch);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstBatchReleased.countDown();
+
+        if (auditLogWriter != null) {
+            auditLogWriter.stop();
+        }
+    }
+
+    AuditLogWriter start() {
+        auditLogWriter = new AuditLogWriter(auditConfiguration, transactionLogRepository,
+                mock(PlatformTransactionManager.class));
+        auditLogWriter.start();
+
+        return auditLogWriter;
+    }
+
+    /**
+     * Keeps the drainer busy with the first log until released, so the following ones pile up in the buffer.
+     */
+    void blockDrainer(TransactionLog transactionLog) throws InterruptedException {
+        firstBatchReleased = new CountDownLatch(1);
+        auditLogWriter.write(transactionLog);
+
+        assertTrue(firstBatchEntered.await(5, TimeUnit.SECONDS));
+    }
+
+    void awaitWritten(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (auditLogWriter.getWrittenLogs() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(count, auditLogWriter.getWrittenLogs());
+    }
+
+    List<TransactionLog> written() {
+        List<TransactionLog> written = new ArrayList<>();
+        batches.forEach(written::addAll);
+
+        return written;
+    }
+
+    @DisplayName("Backpressure")
+    @Nested
+    class Backpressure {
+
+        TransactionLog first;
+        TransactionLog second;
+        TransactionLog third;
+        TransactionLog overflowing;
+
+        @BeforeEach
+        void setUp() {
+            auditConfiguration.setBufferCapacity(2);
+            auditConfiguration.setFlushSize(1);
+
+            first = new TransactionLog();
+            second = new TransactionLog();
+            third = new TransactionLog();
+            overflowing = new TransactionLog();
+        }
+
+        void fillBuffer() throws InterruptedException {
+            start();
+            blockDrainer(first);
+
+            auditLogWriter.write(second);
+            auditLogWriter.write(third);
+
+            assertEquals(2, auditLogWriter.getBufferedLogs());
+        }
+
+        @DisplayName("Drop Newest Drops The Overflowing Log")
+        @Test
+        void dropNewestDropsTheOverflowingLog() throws InterruptedException {
+            auditConfiguration.setBackpressurePolicy(AuditBackpressurePolicy.DROP_NEWEST);
+            fillBuffer();
+
+            auditLogWriter.write(overflowing);
+            firstBatchReleased.countDown();
+
+            awaitWritten(3);
+            assertEquals(1, auditLogWriter.getDroppedLogs());
+            assertEquals(List.of(first, second, third), written());
+        }
+
+        @DisplayName("Drop Oldest Drops The Oldest Buffered Log")
+        @Test
+        void dropOldestDropsTheOldestBufferedLog() throws InterruptedException {
+            auditConfiguration.setBackpressurePolicy(AuditBackpressurePolicy.DROP_OLDEST);
+            fillBuffer();
+
+            auditLogWriter.write(overflowing);
+            firstBatchReleased.countDown();
+
+            awaitWritten(3);
+            assertEquals(1, auditLogWriter.getDroppedLogs());
+            assertEquals(List.of(first, third, overflowing), written());
+        }
+
+        @DisplayName("Caller Runs Writes The Overflowing Log On The Caller")
+        @Test
+        void callerRunsWritesTheOverflowingLogOnTheCaller() throws InterruptedException {
+            auditConfiguration.setBackpressurePolicy(AuditBackpressurePolicy.CALLER_RUNS);
+            fillBuffer();
+
+            auditLogWriter.write(overflowing);
+
+            assertEquals(List.of(overflowing), written());
+            assertEquals(0, auditLogWriter.getDroppedLogs());
+
+            firstBatchReleased.countDown();
+
+            awaitWritten(4);
+        }
+
+    }
+
+    @DisplayName("Flushing")
+    @Nested
+    class Flushing {
+
+        @DisplayName("Flush Writes A Full Batch At Once")
+        @Test
+        void flushWritesAFullBatchAtOnce() throws InterruptedException {
+            auditConfiguration.setFlushSize(3);
+            auditConfiguration.setFlushInterval(Duration.ofSeconds(5));
+            start();
+
+            auditLogWriter.write(new TransactionLog());
+            auditLogWriter.write(new TransactionLog());
+            auditLogWriter.write(new TransactionLog());
+
+            awaitWritten(3);
+            assertEquals(1, batches.size());
+            assertEquals(3, batches.get(0).size());
+        }
+
+        @DisplayName("Flush Writes A Partial Batch After The Interval")
+        @Test
+        void flushWritesAPartialBatchAfterTheInterval() throws InterruptedException {
+            auditConfiguration.setFlushSize(100);
+            auditConfiguration.setFlushInterval(Duration.ofMillis(100));
+            start();
+
+            auditLogWriter.write(new TransactionLog());
+
+            awaitWritten(1);
+            assertEquals(1, batches.size());
+        }
+
+        @DisplayName("Write Before Start Writes Directly")
+        @Test
+        void writeBeforeStartWritesDirectly() {
+            auditLogWriter = new AuditLogWriter(auditConfiguration, transactionLogRepository,
+                    mock(PlatformTransactionManager.class));
+
+            TransactionLog transactionLog = new TransactionLog();
+            auditLogWriter.write(transactionLog);
+
+            assertEquals(List.of(transactionLog), written());
+            assertEquals(1L, transactionLog.getEventCount());
+        }
+
+    }
+
+    @DisplayName("Shutdown")
+    @Nested
+    class Shutdown {
+
+        @DisplayName("Stop Drains The Buffer")
+        @Test
+        void stopDrainsTheBuffer() throws InterruptedException {
+            auditConfiguration.setFlushSize(1);
+            start();
+            blockDrainer(new TransactionLog());
+
+            auditLogWriter.write(new TransactionLog());
+            auditLogWriter.write(new TransactionLog());
+
+            Thread releaser = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                firstBatchReleased.countDown();
+            });
+            releaser.start();
+
+            auditLogWriter.stop();
+
+            assertEquals(3, auditLogWriter.getWrittenLogs());
+            assertEquals(0, auditLogWriter.getBufferedLogs());
+        }
+
+        @DisplayName("Stop Without Start Does Nothing")
+        @Test
+        void stopWithoutStartDoesNothing() {
+            auditLogWriter = new AuditLogWriter(auditConfiguration, transactionLogRepository,
+                    mock(PlatformTransactionManager.class));
+
+            assertDoesNotThrow(auditLogWriter::stop);
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.config.AuditConfiguration.AuditPolicy;
+import com.schoolplus.office.web.models.AuditMode;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuditPolicyEvaluatorTest {
+
+    AuditConfiguration auditConfiguration;
+    AuditPolicyEvaluator auditPolicyEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        auditConfiguration = new AuditConfiguration();
+        auditPolicyEvaluator = new AuditPolicyEvaluator(auditConfiguration);
+    }
+
+    AuditPolicy policy(AuditMode mode, int samplePercent) {
+        AuditPolicy auditPolicy = new AuditPolicy();
+        auditPolicy.setMode(mode);
+        auditPolicy.setSamplePercent(samplePercent);
+
+        return auditPolicy;
+    }
+
+    Set<AuditMode> evaluateMany(TransactionType transactionType, TransactionDomain transactionDomain,
+                                DomainAction domainAction) {
+        Set<AuditMode> auditModes = EnumSet.noneOf(AuditMode.class);
+
+        for (int i = 0; i < 1000; i++) {
+            auditModes.add(auditPolicyEvaluator.evaluate(transactionType, transactionDomain, domainAction));
+        }
+
+        return auditModes;
+    }
+
+    @DisplayName("Unconfigured Writes Are Always Recorded")
+    @Test
+    void unconfiguredWritesAreAlwaysRecorded() {
+        auditConfiguration.setReadPolicy(policy(AuditMode.OFF, 100));
+
+        assertEquals(AuditMode.ALWAYS,
+                auditPolicyEvaluator.evaluate(TransactionType.DELETE, TransactionDomain.EXAM, DomainAction.DELETE_EXAM));
+    }
+
+    @DisplayName("Unconfigured Reads Follow The Read Policy")
+    @Test
+    void unconfiguredReadsFollowTheReadPolicy() {
+        auditConfiguration.setReadPolicy(policy(AuditMode.AGGREGATED, 100));
+
+        assertEquals(AuditMode.AGGREGATED,
+                auditPolicyEvaluator.evaluate(TransactionType.READ, TransactionDomain.EXAM, DomainAction.READ_EXAM));
+    }
+
+    @DisplayName("Off Policy Records Nothing")
+    @Test
+    void offPolicyRecordsNothing() {
+        auditConfiguration.getDomainPolicies().put(TransactionDomain.EXAM, policy(AuditMode.OFF, 100));
+
+        assertEquals(Set.of(AuditMode.OFF),
+                evaluateMany(TransactionType.CREATE, TransactionDomain.EXAM, DomainAction.CREATE_EXAM));
+    }
+
+    @DisplayName("Action Policy Wins Over Domain Policy")
+    @Test
+    void actionPolicyWinsOverDomainPolicy() {
+        auditConfiguration.getDomainPolicies().put(TransactionDomain.EXAM, policy(AuditMode.OFF, 100));
+        auditConfiguration.getActionPolicies().put(DomainAction.READ_EXAM, policy(AuditMode.ALWAYS, 100));
+
+        assertEquals(AuditMode.ALWAYS,
+                auditPolicyEvaluator.evaluate(TransactionType.READ, TransactionDomain.EXAM, DomainAction.READ_EXAM));
+        assertEquals(AuditMode.OFF,
+                auditPolicyEvaluator.evaluate(TransactionType.CREATE, TransactionDomain.EXAM, DomainAction.CREATE_EXAM));
+    }
+
+    @DisplayName("Sampled Policy Records A Share Of The Calls")
+    @Test
+    void sampledPolicyRecordsAShareOfTheCalls() {
+        auditConfiguration.getActionPolicies().put(DomainAction.READ_EXAM, policy(AuditMode.SAMPLED, 50));
+
+        assertEquals(Set.of(AuditMode.ALWAYS, AuditMode.OFF),
+                evaluateMany(TransactionType.READ, TransactionDomain.EXAM, DomainAction.READ_EXAM));
+    }
+
+    @DisplayName("Sampled Policy Bounds Record None Or All Of The Calls")
+    @Test
+    void sampledPolicyBoundsRecordNoneOrAllOfTheCalls() {
+        auditConfiguration.getActionPolicies().put(DomainAction.READ_EXAM, policy(AuditMode.SAMPLED, 0));
+        auditConfiguration.getActionPolicies().put(DomainAction.CREATE_EXAM, policy(AuditMode.SAMPLED, 100));
+
+        assertEquals(Set.of(AuditMode.OFF),
+                evaluateMany(TransactionType.READ, TransactionDomain.EXAM, DomainAction.READ_EXAM));
+        assertEquals(Set.of(AuditMode.ALWAYS),
+                evaluateMany(TransactionType.CREATE, TransactionDomain.EXAM, DomainAction.CREATE_EXAM));
+    }
+
+}
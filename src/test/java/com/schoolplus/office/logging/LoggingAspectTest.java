@@ -0,0 +1,126 @@
+package com.schoolplus.office.logging;
+
+import com.schoolplus.office.annotations.ReadingEntity;
+import com.schoolplus.office.config.AuditConfiguration;
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.SecurityUser;
+import com.schoolplus.office.security.SecurityUserSnapshot;
+import com.schoolplus.office.services.impl.ExamServiceImpl;
+import com.schoolplus.office.web.models.AuditMode;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LoggingAspectTest {
+
+    List<TransactionLog> written;
+    AuditConfiguration auditConfiguration;
+    AuditAggregator auditAggregator;
+    EntityManager entityManager;
+    LoggingAspect loggingAspect;
+    ReadingEntity readingEntity;
+    User user;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        written = new CopyOnWriteArrayList<>();
+
+        AuditLogWriter auditLogWriter = mock(AuditLogWriter.class);
+        doAnswer(invocation -> written.add(invocation.getArgument(0))).when(auditLogWriter).write(any());
+
+        auditConfiguration = new AuditConfiguration();
+        auditAggregator = mock(AuditAggregator.class);
+        entityManager = mock(EntityManager.class);
+
+        loggingAspect = new LoggingAspect(auditLogWriter, new AuditPolicyEvaluator(auditConfiguration),
+                auditAggregator, mock(UserRepository.class), entityManager);
+
+        readingEntity = ExamServiceImpl.class.getMethod("getExamResult", Long.class)
+                .getAnnotation(ReadingEntity.class);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        when(entityManager.getReference(User.class, user.getId())).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Authenticates the way the token filter does, with request details next to the user.
+     */
+    void authenticate() {
+        SecurityUser securityUser = new SecurityUser(new SecurityUserSnapshot(user.getId(), "username", null,
+                true, true, true, true, List.of()), () -> {
+            throw new IllegalStateException("The user is not expected to be loaded");
+        });
+
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(securityUser, null, securityUser.getAuthorities());
+        authenticationToken.setDetails(new WebAuthenticationDetails(new MockHttpServletRequest()));
+
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
+
+    @DisplayName("Written Log Is Performed By The Authenticated User")
+    @Test
+    void writtenLogIsPerformedByTheAuthenticatedUser() {
+        authenticate();
+
+        loggingAspect.afterReadingEntity(readingEntity, null);
+
+        assertEquals(1, written.size());
+        assertSame(user, written.get(0).getPerformedBy());
+    }
+
+    @DisplayName("Aggregated Call Is Counted For The Authenticated User")
+    @Test
+    void aggregatedCallIsCountedForTheAuthenticatedUser() {
+        auditConfiguration.getReadPolicy().setMode(AuditMode.AGGREGATED);
+        authenticate();
+
+        loggingAspect.afterReadingEntity(readingEntity, null);
+
+        verify(auditAggregator).record(eq(TransactionType.READ), eq(TransactionDomain.EXAM_RESULT),
+                eq(DomainAction.READ_EXAM_RESULT), eq(user));
+    }
+
+    @DisplayName("Log Without Authentication Has No Performer")
+    @Test
+    void logWithoutAuthenticationHasNoPerformer() {
+        loggingAspect.afterReadingEntity(readingEntity, null);
+
+        assertEquals(1, written.size());
+        assertNull(written.get(0).getPerformedBy());
+        verify(entityManager, never()).getReference(any(), any());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.schoolplus.office.schedulers;
+
+import com.schoolplus.office.components.DistributedLock;
+import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefreshTokensPurgeTaskTest {
+
+    RefreshTokenRepository refreshTokenRepository;
+    DistributedLock distributedLock;
+    MeterRegistry meterRegistry;
+    RefreshTokensPurgeTask refreshTokensPurgeTask;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        distributedLock = mock(DistributedLock.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        when(distributedLock.runExclusively(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+
+        ServerConfiguration serverConfiguration = new ServerConfiguration();
+        serverConfiguration.setPurgingRefreshTokensChunkSize(2);
+        serverConfiguration.setPurgingRefreshTokensPause(Duration.ZERO);
+
+        refreshTokensPurgeTask = new RefreshTokensPurgeTask(refreshTokenRepository, transactionTemplate,
+                distributedLock, serverConfiguration, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Clears the flag a test may have left set
+        Thread.interrupted();
+    }
+
+    double purgedTokens() {
+        return meterRegistry.counter("refresh.tokens.purged").count();
+    }
+
+    @DisplayName("Purge Stops After A Partial Chunk")
+    @Test
+    void purgeStopsAfterAPartialChunk() {
+        when(refreshTokenRepository.deleteExpiredBefore(any(), eq(2))).thenReturn(2, 2, 1);
+
+        refreshTokensPurgeTask.purgeExpiredRefreshTokens();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredBefore(any(), eq(2));
+        assertEquals(5, purgedTokens());
+    }
+
+    @DisplayName("Purge Stops When Nothing Is Left")
+    @Test
+    void purgeStopsWhenNothingIsLeft() {
+        when(refreshTokenRepository.deleteExpiredBefore(any(), eq(2))).thenReturn(2, 0);
+
+        refreshTokensPurgeTask.purgeExpiredRefreshTokens();
+
+        verify(refreshTokenRepository, times(2)).deleteExpiredBefore(any(), eq(2));
+        assertEquals(2, purgedTokens());
+    }
+
+    @DisplayName("Purge Stops When Interrupted")
+    @Test
+    void purgeStopsWhenInterrupted() {
+        when(refreshTokenRepository.deleteExpiredBefore(any(), eq(2))).thenReturn(2);
+
+        Thread.currentThread().interrupt();
+        refreshTokensPurgeTask.purgeExpiredRefreshTokens();
+
+        verify(refreshTokenRepository, times(1)).deleteExpiredBefore(any(), eq(2));
+        assertEquals(2, purgedTokens());
+    }
+
+    @DisplayName("Purge Is Skipped When The Lock Is Not Acquired")
+    @Test
+    void purgeIsSkippedWhenTheLockIsNotAcquired() {
+        doReturn(false).when(distributedLock).runExclusively(anyString(), any());
+
+        refreshTokensPurgeTask.purgeExpiredRefreshTokens();
+
+        verify(refreshTokenRepository, never()).deleteExpiredBefore(any(), anyInt());
+        assertEquals(0, purgedTokens());
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.schoolplus.office.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.schoolplus.office.config.JwtPkiConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtKeyRingTest {
+
+    @TempDir
+    Path directory;
+
+    JwtPkiConfiguration jwtPkiConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        jwtPkiConfiguration = new JwtPkiConfiguration();
+        jwtPkiConfiguration.setKeyRingPath(directory.resolve("keys.json").toString());
+        jwtPkiConfiguration.setReloadingKeyRingDelay(Duration.ofMillis(100));
+        jwtPkiConfiguration.setJwksMaxAge(Duration.ofMillis(100));
+    }
+
+    JwtKeyRing keyRing() {
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(jwtPkiConfiguration);
+        jwtKeyRing.init();
+
+        return jwtKeyRing;
+    }
+
+    List<String> keyIds(JwtKeyRing jwtKeyRing) {
+        return jwtKeyRing.getPublicJwkSet().getKeys().stream()
+                .map(JWK::getKeyID)
+                .collect(Collectors.toList());
+    }
+
+    @DisplayName("Rotated Key Verifies Before It Signs")
+    @Test
+    void rotatedKeyVerifiesBeforeItSigns() throws InterruptedException {
+        JwtKeyRing jwtKeyRing = keyRing();
+        String previousKeyId = jwtKeyRing.getSigningKey().getKeyID();
+
+        assertTrue(jwtKeyRing.rotate());
+
+        String stagedKeyId = keyIds(jwtKeyRing).get(0);
+
+        assertNotEquals(previousKeyId, stagedKeyId);
+        assertNotNull(jwtKeyRing.getVerifier(stagedKeyId));
+        assertEquals(previousKeyId, jwtKeyRing.getSigningKey().getKeyID());
+
+        Thread.sleep(250);
+
+        assertEquals(stagedKeyId, jwtKeyRing.getSigningKey().getKeyID());
+        assertNotNull(jwtKeyRing.getVerifier(previousKeyId));
+    }
+
+    @DisplayName("Rotation Is Skipped While A Key Is Staged")
+    @Test
+    void rotationIsSkippedWhileAKeyIsStaged() {
+        jwtPkiConfiguration.setReloadingKeyRingDelay(Duration.ofMinutes(1));
+
+        JwtKeyRing jwtKeyRing = keyRing();
+
+        assertTrue(jwtKeyRing.rotate());
+        assertFalse(jwtKeyRing.rotate());
+        assertEquals(2, keyIds(jwtKeyRing).size());
+    }
+
+    @DisplayName("Rotation Keeps The Keys Another Instance Has Rotated")
+    @Test
+    void rotationKeepsTheKeysAnotherInstanceHasRotated() throws InterruptedException {
+        JwtKeyRing first = keyRing();
+        JwtKeyRing second = keyRing();
+
+        // Modification times of the file may have a coarse resolution
+        Thread.sleep(1000);
+
+        assertTrue(first.rotate());
+        List<String> rotatedKeyIds = keyIds(first);
+
+        Thread.sleep(250);
+
+        assertTrue(second.rotate());
+
+        List<String> keyIds = keyIds(second);
+
+        assertEquals(3, keyIds.size());
+        assertTrue(keyIds.containsAll(rotatedKeyIds));
+    }
+
+    @DisplayName("Instances Pick The Staged Key Up On Reload")
+    @Test
+    void instancesPickTheStagedKeyUpOnReload() throws InterruptedException {
+        jwtPkiConfiguration.setReloadingKeyRingDelay(Duration.ofMinutes(1));
+
+        JwtKeyRing first = keyRing();
+        JwtKeyRing second = keyRing();
+
+        Thread.sleep(1000);
+
+        first.rotate();
+        String stagedKeyId = keyIds(first).get(0);
+
+        second.reloadIfChanged();
+
+        assertNotNull(second.getVerifier(stagedKeyId));
+        assertEquals(first.getSigningKey().getKeyID(), second.getSigningKey().getKeyID());
+    }
+
+}
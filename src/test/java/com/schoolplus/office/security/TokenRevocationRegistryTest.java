@@ -0,0 +1,87 @@
+package com.schoolplus.office.security;
+
+import com.schoolplus.office.config.ServerConfiguration;
+import com.schoolplus.office.config.TokenConfiguration;
+import com.schoolplus.office.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class TokenRevocationRegistryTest {
+
+    TokenRevocationRegistry tokenRevocationRegistry;
+    UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        TokenConfiguration accessToken = new TokenConfiguration();
+        accessToken.setLifetime(Duration.ofMinutes(15));
+
+        ServerConfiguration serverConfiguration = new ServerConfiguration();
+        serverConfiguration.setAccessToken(accessToken);
+
+        tokenRevocationRegistry = new TokenRevocationRegistry(mock(TokenRevocationRepository.class), serverConfiguration,
+                mock(PlatformTransactionManager.class));
+        userId = UUID.randomUUID();
+    }
+
+    @DisplayName("Tokens Of Unrevoked Users Are Accepted")
+    @Test
+    void tokensOfUnrevokedUsersAreAccepted() {
+        assertFalse(tokenRevocationRegistry.isRevoked(userId, System.currentTimeMillis()));
+    }
+
+    @DisplayName("Tokens Issued Earlier In The Second Of A Revocation Are Revoked")
+    @Test
+    void tokensIssuedEarlierInTheSecondOfARevocationAreRevoked() throws InterruptedException {
+        long issuedAt = System.currentTimeMillis();
+        Thread.sleep(5);
+
+        tokenRevocationRegistry.revoke(userId);
+
+        assertTrue(tokenRevocationRegistry.isRevoked(userId, issuedAt));
+    }
+
+    @DisplayName("Tokens Issued After A Revocation Are Accepted")
+    @Test
+    void tokensIssuedAfterARevocationAreAccepted() throws InterruptedException {
+        tokenRevocationRegistry.revoke(userId);
+        Thread.sleep(5);
+
+        assertFalse(tokenRevocationRegistry.isRevoked(userId, System.currentTimeMillis()));
+    }
+
+    @DisplayName("Tokens Issued Before A Change Commits Are Revoked")
+    @Test
+    void tokensIssuedBeforeAChangeCommitsAreRevoked() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            tokenRevocationRegistry.onUserChanged(new UserChangedEvent(userId));
+            Thread.sleep(5);
+
+            // Issued from the user as it was before the change
+            long issuedAt = System.currentTimeMillis();
+            Thread.sleep(5);
+
+            assertFalse(tokenRevocationRegistry.isRevoked(userId, issuedAt));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            assertTrue(tokenRevocationRegistry.isRevoked(userId, issuedAt));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.schoolplus.office.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.schoolplus.office.config.ServerConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class VerifiedTokenCacheTest {
+
+    VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        ServerConfiguration serverConfiguration = new ServerConfiguration();
+        serverConfiguration.setVerifiedTokenCacheSize(3);
+
+        verifiedTokenCache = new VerifiedTokenCache(serverConfiguration);
+    }
+
+    JWTClaimsSet claimsExpiringIn(long millis) {
+        return new JWTClaimsSet.Builder()
+                .expirationTime(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+
+    @DisplayName("Oldest Tokens Are Evicted Once Full")
+    @Test
+    void oldestTokensAreEvictedOnceFull() {
+        verifiedTokenCache.put("first", claimsExpiringIn(60_000));
+        verifiedTokenCache.put("second", claimsExpiringIn(60_000));
+        verifiedTokenCache.put("third", claimsExpiringIn(60_000));
+        verifiedTokenCache.put("fourth", claimsExpiringIn(60_000));
+
+        assertEquals(3, verifiedTokenCache.size());
+        assertNull(verifiedTokenCache.get("first"));
+        assertNotNull(verifiedTokenCache.get("fourth"));
+    }
+
+    @DisplayName("Token Put Again After Expiring Survives Eviction Of Its Old Entry")
+    @Test
+    void tokenPutAgainAfterExpiringSurvivesEvictionOfItsOldEntry() throws InterruptedException {
+        verifiedTokenCache.put("token", claimsExpiringIn(100));
+        Thread.sleep(150);
+
+        assertNull(verifiedTokenCache.get("token"));
+
+        JWTClaimsSet claims = claimsExpiringIn(60_000);
+        verifiedTokenCache.put("token", claims);
+        verifiedTokenCache.put("second", claimsExpiringIn(60_000));
+        verifiedTokenCache.put("third", claimsExpiringIn(60_000));
+
+        assertSame(claims, verifiedTokenCache.get("token"));
+        assertEquals(3, verifiedTokenCache.size());
+    }
+
+}
@@ -1,11 +1,17 @@
 package com.schoolplus.office.web.controllers;
 
+import com.schoolplus.office.domain.User;
+import com.schoolplus.office.repository.OrganizationRepository;
+import com.schoolplus.office.repository.UserRepository;
 import com.schoolplus.office.security.SecurityUser;
 import com.schoolplus.office.security.SecurityUserDetailsService;
+import com.schoolplus.office.security.TokenRevocationRegistry;
+import com.schoolplus.office.security.VerifiedTokenCache;
 import com.schoolplus.office.services.AccessTokenService;
 import com.schoolplus.office.services.RefreshTokenService;
 import com.schoolplus.office.web.models.AccessTokenCommand;
 import com.schoolplus.office.web.models.RefreshTokenCommand;
+import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +25,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -39,6 +47,18 @@ public class JWTFilterTest {
     @Autowired
     SecurityUserDetailsService securityUserDetailsService;
 
+    @Autowired
+    VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
     String accessToken;
     String refreshToken;
     final String username = "username";
@@ -86,6 +106,73 @@ public class JWTFilterTest {
                 .andExpect(status().isUnauthorized());
 
     }
-}
 
+    @DisplayName("Verified Jwt Is Cached Successfully")
+    @Test
+    void verifiedJwtIsCachedSuccessfully() throws Exception {
+
+        generateToken(false);
+
+        mockMvc.perform(get("/")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        assertNotNull(verifiedTokenCache.get(accessToken));
+
+        mockMvc.perform(get("/")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+    }
+
+    @DisplayName("Tampered Jwt Error")
+    @Test
+    void tamperedJwtError() throws Exception {
 
+        generateToken(false);
+
+        String[] parts = accessToken.split("\\.");
+        String tamperedToken = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        mockMvc.perform(get("/")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tamperedToken))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+
+        assertNull(verifiedTokenCache.get(tamperedToken));
+
+    }
+
+    @DisplayName("Revoked Jwt Error")
+    @Test
+    void revokedJwtError() throws Exception {
+        User user = new User();
+        user.setUsername(RandomStringUtils.random(10, true, false));
+        user.setPassword("password");
+        user.setIsAccountNonLocked(true);
+        user.setIsAccountNonExpired(true);
+        user.setIsCredentialsNonExpired(true);
+        user.setIsEnabled(true);
+        user.setOrganization(organizationRepository.findByOrganizationName("Test Organization").get());
+        userRepository.save(user);
+
+        AccessTokenCommand accessTokenCommand = new AccessTokenCommand();
+        accessTokenCommand.setSecurityUser(securityUserDetailsService.loadUserByUsername(user.getUsername()));
+        accessTokenCommand.setScopes(List.of());
+
+        String revokedToken = accessTokenService.createToken(accessTokenCommand);
+
+        mockMvc.perform(get("/")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + revokedToken))
+                .andExpect(status().isOk());
+
+        tokenRevocationRegistry.revoke(user.getId());
+
+        mockMvc.perform(get("/")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + revokedToken))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+
+    }
+}
@@ -0,0 +1,76 @@
+package com.schoolplus.office.web.controllers.authentication;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.schoolplus.office.security.JwtKeyRing;
+import com.schoolplus.office.services.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JwksControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtKeyRing jwtKeyRing;
+
+    @Autowired
+    JwtService jwtService;
+
+    @DisplayName("Getting JWKS")
+    @Nested
+    class GettingJwks {
+
+        @DisplayName("Get JWKS Successfully")
+        @Test
+        void getJwksSuccessfully() throws Exception {
+            mockMvc.perform(get(JwksController.ENDPOINT))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.keys[*].kid", hasItem(jwtKeyRing.getSigningKey().getKeyID())))
+                    .andExpect(jsonPath("$.keys[*].use", everyItem(is("sig"))))
+                    .andExpect(jsonPath("$.keys[*].d").isEmpty());
+        }
+
+        @DisplayName("Rotated Key Ring Still Verifies Issued Tokens Successfully")
+        @Test
+        void rotatedKeyRingStillVerifiesIssuedTokensSuccessfully() throws Exception {
+            JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
+                    .subject("subject")
+                    .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1)))
+                    .build();
+
+            String issuedToken = jwtService.signJWT(jwtClaimsSet).serialize();
+            String previousKeyId = jwtKeyRing.getSigningKey().getKeyID();
+
+            jwtKeyRing.rotate();
+
+            assertEquals("subject", jwtService.parseAndValidate(issuedToken).getSubject());
+
+            mockMvc.perform(get(JwksController.ENDPOINT))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.keys[*].kid", hasItem(previousKeyId)))
+                    .andExpect(jsonPath("$.keys.length()", greaterThan(1)));
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.schoolplus.office.web.controllers.authentication;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolplus.office.config.LoginConfiguration;
 import com.schoolplus.office.config.ServerConfiguration;
 import com.schoolplus.office.web.controllers.authentication.LoginController;
 import com.schoolplus.office.web.models.ErrorDesc;
@@ -12,10 +13,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -37,6 +41,12 @@ public class LoginControllerTest {
     @Autowired
     ServerConfiguration serverConfiguration;
 
+    @Autowired
+    LoginConfiguration loginConfiguration;
+
+    @Autowired
+    ThreadPoolTaskExecutor loginExecutor;
+
     @BeforeEach
     void setUp() {
         loginRequest = LoginRequestDto.builder()
@@ -131,5 +141,33 @@ public class LoginControllerTest {
 
     }
 
+    @DisplayName("Login queue is full fails")
+    @Test
+    void loginQueueIsFullFails() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            for (int i = 0; i < loginConfiguration.getPoolSize() + loginConfiguration.getQueueCapacity(); i++) {
+                loginExecutor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            mockMvc.perform(post(LoginController.ENDPOINT)
+                            .content(objectMapper.writeValueAsString(loginRequest))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.TOO_MANY_LOGIN_REQUESTS.getDesc())));
+        } finally {
+            release.countDown();
+        }
+    }
 
 }
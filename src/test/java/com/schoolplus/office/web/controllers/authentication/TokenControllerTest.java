@@ -12,6 +12,7 @@ import com.schoolplus.office.repository.RefreshTokenRepository;
 import com.schoolplus.office.repository.UserRepository;
 import com.schoolplus.office.security.SecurityUser;
 import com.schoolplus.office.services.AccessTokenService;
+import com.schoolplus.office.utils.TokenUtils;
 import com.schoolplus.office.web.models.AccessTokenCommand;
 import com.schoolplus.office.web.models.ErrorDesc;
 import com.schoolplus.office.web.models.ErrorType;
@@ -33,6 +34,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -102,7 +104,7 @@ public class TokenControllerTest {
             token = RandomStringUtils.random(48, true, true);
 
             refreshToken = new RefreshToken();
-            refreshToken.setToken(token);
+            refreshToken.setTokenHash(TokenUtils.digest(token));
             refreshToken.setUser(user);
             refreshToken.setNotBefore(LocalDateTime.now());
             refreshToken.setExpiryDateTime(LocalDateTime.now().plusMinutes(10));
@@ -112,7 +114,7 @@ public class TokenControllerTest {
 
             params.set("client_id", "clientId");
             params.set("grant_type", "refresh_token");
-            params.set("refresh_token", refreshToken.getToken());
+            params.set("refresh_token", token);
             params.set("scopes", authority.getAuthorityName());
         }
 
@@ -125,7 +127,7 @@ public class TokenControllerTest {
                     .andDo(print())
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.access_token", matchesPattern("^[A-Za-z0-9-_=]+\\.[A-Za-z0-9-_=]+\\.?[A-Za-z0-9-_.+/=]*$")))
-                    .andExpect(jsonPath("$.refresh_token", is(refreshToken.getToken())))
+                    .andExpect(jsonPath("$.refresh_token", is(token)))
                     .andExpect(jsonPath("$.expires_in", is((int) serverConfiguration.getAccessToken().getLifetime().toSeconds())));
         }
 
@@ -203,7 +205,7 @@ public class TokenControllerTest {
             token = RandomStringUtils.random(48, true, true);
 
             refreshToken = new RefreshToken();
-            refreshToken.setToken(token);
+            refreshToken.setTokenHash(TokenUtils.digest(token));
             refreshToken.setUser(user);
             refreshToken.setNotBefore(LocalDateTime.now());
             refreshToken.setExpiryDateTime(LocalDateTime.now().plusMinutes(10));
@@ -217,7 +219,7 @@ public class TokenControllerTest {
         void revokeTokenSuccessfully() throws Exception {
 
             params.set("grant_type", "revoke");
-            params.set("refresh_token", refreshToken.getToken());
+            params.set("refresh_token", token);
 
             mockMvc.perform(post(TokenController.ENDPOINT)
                             .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -227,6 +229,30 @@ public class TokenControllerTest {
 
         }
 
+        @DisplayName("Revoke Token Twice Error")
+        @Test
+        void revokeTokenTwiceError() throws Exception {
+
+            params.set("grant_type", "revoke");
+            params.set("refresh_token", token);
+
+            mockMvc.perform(post(TokenController.ENDPOINT)
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .params(params))
+                    .andExpect(status().isOk());
+
+            assertTrue(refreshTokenRepository.findByTokenHash(TokenUtils.digest(token)).isEmpty());
+
+            mockMvc.perform(post(TokenController.ENDPOINT)
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .params(params))
+                    .andDo(print())
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_GRANT.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.INVALID_TOKEN.getDesc())));
+
+        }
+
         @DisplayName("Revoke Token Empty Error")
         @Test
         void revokeTokenEmptyError() throws Exception {
@@ -12,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +22,18 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -53,6 +63,15 @@ public class AppointmentManagementControllerTest {
     @Autowired
     OrganizationRepository organizationRepository;
 
+    @Autowired
+    LessonRepository lessonRepository;
+
+    @Autowired
+    GradeRepository gradeRepository;
+
+    @Autowired
+    SyllabusRepository syllabusRepository;
+
     @DisplayName("Creating Appointment")
     @Nested
     class CreatingAppointment {
@@ -199,6 +218,129 @@ public class AppointmentManagementControllerTest {
 
         }
 
+        @DisplayName("Create Appointment Overlapping Teacher Appointment Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void createAppointmentOverlappingTeacherAppointmentError() throws Exception {
+
+            Appointment newAppointment = new Appointment();
+            newAppointment.setAppointmentStartDate(LocalDateTime.of(2021, Month.AUGUST, 28, 16, 0));
+            newAppointment.setAppointmentEndDate(LocalDateTime.of(2021, Month.AUGUST, 28, 16, 30));
+            newAppointment.setOrganization(organization);
+
+            teacher.addAppointment(newAppointment);
+
+            appointmentRepository.save(newAppointment);
+
+            createAppointment.setAppointmentStartDate(LocalDateTime.of(2021, Month.AUGUST, 28, 16, 15));
+            createAppointment.setAppointmentEndDate(LocalDateTime.of(2021, Month.AUGUST, 28, 16, 45));
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createAppointment)))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.TEACHER_NOT_AVAILABLE_FOR_APPOINTMENT.getDesc())));
+
+        }
+
+        @DisplayName("Create Appointment Right After Teacher Appointment Successfully")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void createAppointmentRightAfterTeacherAppointmentSuccessfully() throws Exception {
+
+            Appointment newAppointment = new Appointment();
+            newAppointment.setAppointmentStartDate(LocalDateTime.of(2021, Month.AUGUST, 28, 14, 30));
+            newAppointment.setAppointmentEndDate(LocalDateTime.of(2021, Month.AUGUST, 28, 15, 0));
+            newAppointment.setOrganization(organization);
+
+            teacher.addAppointment(newAppointment);
+
+            appointmentRepository.save(newAppointment);
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createAppointment)))
+                    .andDo(print())
+                    .andExpect(status().isCreated());
+
+        }
+
+        /**
+         * @return how many of the appointments, requested at the same time, have been created
+         */
+        int createConcurrently(List<CreatingAppointmentDto> createAppointments) throws Exception {
+            ExecutorService executorService = Executors.newFixedThreadPool(createAppointments.size());
+            CountDownLatch ready = new CountDownLatch(createAppointments.size());
+            List<Future<Integer>> statuses = new ArrayList<>();
+
+            for (CreatingAppointmentDto creatingAppointment : createAppointments) {
+                statuses.add(executorService.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+
+                    return mockMvc.perform(post(AppointmentManagementController.ENDPOINT)
+                                    .with(user("username").authorities(new SimpleGrantedAuthority("ROLE_ADMIN"),
+                                            new SimpleGrantedAuthority("manage:appointments")))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(creatingAppointment)))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+
+            executorService.shutdown();
+
+            int created = 0;
+
+            for (Future<Integer> status : statuses) {
+                if (status.get(30, TimeUnit.SECONDS) == HttpStatus.CREATED.value()) {
+                    created++;
+                }
+            }
+
+            return created;
+        }
+
+        @DisplayName("Create Appointment Concurrently Books The Teacher Once")
+        @Test
+        void createAppointmentConcurrentlyBooksTheTeacherOnce() throws Exception {
+            int created = createConcurrently(List.of(createAppointment, createAppointment, createAppointment,
+                    createAppointment));
+
+            assertEquals(1, created);
+            assertEquals(1, appointmentRepository.findTeacherIntervals(teacher.getId(),
+                    createAppointment.getAppointmentStartDate(), createAppointment.getAppointmentEndDate()).size());
+
+        }
+
+        @DisplayName("Create Appointment Concurrently Books The Student Once")
+        @Test
+        void createAppointmentConcurrentlyBooksTheStudentOnce() throws Exception {
+            List<CreatingAppointmentDto> createAppointments = new ArrayList<>();
+
+            for (int i = 0; i < 4; i++) {
+                Teacher otherTeacher = new Teacher();
+                otherTeacher.setFirstName("Ayşe");
+                otherTeacher.setLastName("Gürbüz");
+                otherTeacher.setUsername(RandomStringUtils.random(10, true, false));
+                otherTeacher.setOrganization(organization);
+
+                userRepository.save(otherTeacher);
+
+                CreatingAppointmentDto creatingAppointment = objectMapper.readValue(
+                        objectMapper.writeValueAsString(createAppointment), CreatingAppointmentDto.class);
+                creatingAppointment.setTeacherId(otherTeacher.getId().toString());
+
+                createAppointments.add(creatingAppointment);
+            }
+
+            assertEquals(1, createConcurrently(createAppointments));
+            assertEquals(1, appointmentRepository.findStudentIntervals(student.getId(),
+                    createAppointment.getAppointmentStartDate(), createAppointment.getAppointmentEndDate()).size());
+
+        }
+
         @DisplayName("Create Appointment Student Not Available Error")
         @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
         @Test
@@ -369,6 +511,379 @@ public class AppointmentManagementControllerTest {
 
     }
 
+    @DisplayName("Scheduling Appointments")
+    @Nested
+    class SchedulingAppointments {
+
+        SchedulingAppointmentsDto schedulingAppointments;
+        Teacher teacher;
+        Student firstStudent;
+        Student secondStudent;
+        Student thirdStudent;
+        Organization organization;
+
+        LocalDateTime DAY = LocalDateTime.of(2030, Month.SEPTEMBER, 3, 0, 0);
+
+        @BeforeEach
+        void setUp() {
+            organization = new Organization();
+            organization.setOrganizationName(RandomStringUtils.random(10, true, false));
+
+            organizationRepository.save(organization);
+
+            Appointment teacherAppointment = new Appointment();
+            teacherAppointment.setAppointmentStartDate(DAY.withHour(14));
+            teacherAppointment.setAppointmentEndDate(DAY.withHour(14).withMinute(30));
+            teacherAppointment.setAppointmentName("Appointment name");
+            teacherAppointment.setOrganization(organization);
+
+            Appointment studentAppointment = new Appointment();
+            studentAppointment.setAppointmentStartDate(DAY.withHour(14).withMinute(30));
+            studentAppointment.setAppointmentEndDate(DAY.withHour(15));
+            studentAppointment.setAppointmentName("Appointment name");
+            studentAppointment.setOrganization(organization);
+
+            Student otherStudent = new Student();
+            otherStudent.addAppointment(teacherAppointment);
+            otherStudent.setOrganization(organization);
+
+            firstStudent = new Student();
+            firstStudent.addAppointment(studentAppointment);
+            firstStudent.setOrganization(organization);
+
+            secondStudent = new Student();
+            secondStudent.setOrganization(organization);
+
+            thirdStudent = new Student();
+            thirdStudent.setOrganization(organization);
+
+            teacher = new Teacher();
+            teacher.setFirstName("Ayşe");
+            teacher.setLastName("Gürbüz");
+            teacher.setUsername(RandomStringUtils.random(10, true, false));
+            teacher.addAppointment(teacherAppointment);
+            teacher.setOrganization(organization);
+
+            Teacher otherTeacher = new Teacher();
+            otherTeacher.setFirstName("Ali");
+            otherTeacher.setLastName("Yılmaz");
+            otherTeacher.setUsername(RandomStringUtils.random(10, true, false));
+            otherTeacher.addAppointment(studentAppointment);
+            otherTeacher.setOrganization(organization);
+
+            userRepository.saveAll(List.of(otherStudent, firstStudent, secondStudent, thirdStudent, teacher, otherTeacher));
+            appointmentRepository.saveAll(List.of(teacherAppointment, studentAppointment));
+
+            schedulingAppointments = new SchedulingAppointmentsDto();
+            schedulingAppointments.setAppointmentNote(RandomStringUtils.random(50, true, false));
+            schedulingAppointments.setWindowStartDate(DAY.withHour(14));
+            schedulingAppointments.setWindowEndDate(DAY.withHour(16));
+            schedulingAppointments.setSlotMinutes(30);
+            schedulingAppointments.setTeacherId(teacher.getId().toString());
+            schedulingAppointments.setStudentIds(List.of(firstStudent.getId().toString(), secondStudent.getId().toString(),
+                    thirdStudent.getId().toString()));
+            schedulingAppointments.setOrganizationId(organization.getId());
+        }
+
+        @DisplayName("Schedule Appointments Successfully")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void scheduleAppointmentsSuccessfully() throws Exception {
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT + "/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(schedulingAppointments)))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[*].appointmentId", everyItem(notNullValue())))
+                    .andExpect(jsonPath("$[0].studentId", is(firstStudent.getId().toString())))
+                    .andExpect(jsonPath("$[0].appointmentStartDate", is(DAY.withHour(15).format(DateTimeFormatter.ISO_DATE_TIME))))
+                    .andExpect(jsonPath("$[1].studentId", is(secondStudent.getId().toString())))
+                    .andExpect(jsonPath("$[1].appointmentStartDate", is(DAY.withHour(14).withMinute(30).format(DateTimeFormatter.ISO_DATE_TIME))))
+                    .andExpect(jsonPath("$[2].studentId", is(thirdStudent.getId().toString())))
+                    .andExpect(jsonPath("$[2].appointmentStartDate", is(DAY.withHour(15).withMinute(30).format(DateTimeFormatter.ISO_DATE_TIME))));
+
+        }
+
+        @DisplayName("Schedule Appointments Not Enough Slots Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void scheduleAppointmentsNotEnoughSlotsError() throws Exception {
+            Student fourthStudent = new Student();
+            fourthStudent.setOrganization(organization);
+
+            userRepository.save(fourthStudent);
+
+            schedulingAppointments.setStudentIds(List.of(firstStudent.getId().toString(), secondStudent.getId().toString(),
+                    thirdStudent.getId().toString(), fourthStudent.getId().toString()));
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT + "/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(schedulingAppointments)))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.NOT_ENOUGH_APPOINTMENT_SLOTS.getDesc())));
+
+        }
+
+        @DisplayName("Schedule Appointments Invalid Window Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void scheduleAppointmentsInvalidWindowError() throws Exception {
+            schedulingAppointments.setWindowEndDate(DAY.withHour(13));
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT + "/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(schedulingAppointments)))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.INVALID_APPOINTMENT_WINDOW.getDesc())));
+
+        }
+
+        @DisplayName("Schedule Appointments Too Long Window Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void scheduleAppointmentsTooLongWindowError() throws Exception {
+            schedulingAppointments.setWindowEndDate(schedulingAppointments.getWindowStartDate().plusYears(1));
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT + "/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(schedulingAppointments)))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.INVALID_APPOINTMENT_WINDOW.getDesc())));
+
+        }
+
+        @DisplayName("Schedule Appointments Student Not Found Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void scheduleAppointmentsStudentNotFoundError() throws Exception {
+            schedulingAppointments.setStudentIds(List.of(firstStudent.getId().toString(), UUID.randomUUID().toString()));
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT + "/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(schedulingAppointments)))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.STUDENT_NOT_FOUND.getDesc())));
+
+        }
+
+    }
+
+    @DisplayName("Getting Free Slots")
+    @Nested
+    class GettingFreeSlots {
+
+        Student student;
+        Teacher teacher;
+        Organization organization;
+
+        LocalDateTime DAY = LocalDateTime.of(2030, Month.SEPTEMBER, 2, 0, 0);
+
+        @BeforeEach
+        void setUp() {
+            organization = new Organization();
+            organization.setOrganizationName(RandomStringUtils.random(10, true, false));
+
+            organizationRepository.save(organization);
+
+            Appointment appointment = new Appointment();
+            appointment.setAppointmentStartDate(DAY.withHour(10));
+            appointment.setAppointmentEndDate(DAY.withHour(11));
+            appointment.setAppointmentName("Appointment name");
+            appointment.setOrganization(organization);
+
+            student = new Student();
+            student.addAppointment(appointment);
+            student.setOrganization(organization);
+
+            teacher = new Teacher();
+            teacher.setFirstName("Ayşe");
+            teacher.setLastName("Gürbüz");
+            teacher.setUsername(RandomStringUtils.random(10, true, false));
+            teacher.addAppointment(appointment);
+            teacher.setOrganization(organization);
+
+            userRepository.saveAll(List.of(student, teacher));
+            appointmentRepository.save(appointment);
+
+            Lesson lesson = new Lesson();
+            lesson.setLessonName(RandomStringUtils.random(10, true, false));
+
+            lessonRepository.save(lesson);
+
+            Grade grade = new Grade();
+            grade.setOrganization(organization);
+
+            gradeRepository.save(grade);
+
+            Classroom classroom = new Classroom();
+            classroom.setClassRoomTag(RandomStringUtils.random(10, true, false));
+            classroom.setOrganization(organization);
+            classroom.setGrade(grade);
+
+            classroomRepository.save(classroom);
+
+            Syllabus syllabus = new Syllabus();
+            syllabus.setClassroom(classroom);
+            syllabus.setLesson(lesson);
+            syllabus.setTeacher(teacher);
+            syllabus.setOrganization(organization);
+            syllabus.setSyllabusStartDate(DAY.withHour(10).withMinute(30));
+            syllabus.setSyllabusEndDate(DAY.withHour(12));
+
+            syllabusRepository.save(syllabus);
+        }
+
+        @DisplayName("Get Free Slots Successfully")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsSuccessfully() throws Exception {
+
+            mockMvc.perform(get(AppointmentManagementController.ENDPOINT + "/free-slots")
+                            .param("organizationId", organization.getId().toString())
+                            .param("teacherId", teacher.getId().toString())
+                            .param("from", DAY.format(DateTimeFormatter.ISO_DATE_TIME))
+                            .param("to", DAY.plusDays(1).format(DateTimeFormatter.ISO_DATE_TIME)))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].start", is(DAY.withHour(8).format(DateTimeFormatter.ISO_DATE_TIME))))
+                    .andExpect(jsonPath("$[0].end", is(DAY.withHour(10).format(DateTimeFormatter.ISO_DATE_TIME))))
+                    .andExpect(jsonPath("$[1].start", is(DAY.withHour(12).format(DateTimeFormatter.ISO_DATE_TIME))))
+                    .andExpect(jsonPath("$[1].end", is(DAY.withHour(18).format(DateTimeFormatter.ISO_DATE_TIME))));
+
+        }
+
+        @DisplayName("Get Free Slots Longer Than Minimum Successfully")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsLongerThanMinimumSuccessfully() throws Exception {
+
+            mockMvc.perform(get(AppointmentManagementController.ENDPOINT + "/free-slots")
+                            .param("organizationId", organization.getId().toString())
+                            .param("teacherId", teacher.getId().toString())
+                            .param("from", DAY.format(DateTimeFormatter.ISO_DATE_TIME))
+                            .param("to", DAY.plusDays(1).format(DateTimeFormatter.ISO_DATE_TIME))
+                            .param("minimumMinutes", "180"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].start", is(DAY.withHour(12).format(DateTimeFormatter.ISO_DATE_TIME))));
+
+        }
+
+        @DisplayName("Get Free Slots After Creating Appointment Successfully")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsAfterCreatingAppointmentSuccessfully() throws Exception {
+            String freeSlotsEndpoint = AppointmentManagementController.ENDPOINT + "/free-slots?organizationId=" + organization.getId()
+                    + "&teacherId=" + teacher.getId()
+                    + "&from=" + DAY.format(DateTimeFormatter.ISO_DATE_TIME)
+                    + "&to=" + DAY.plusDays(1).format(DateTimeFormatter.ISO_DATE_TIME);
+
+            mockMvc.perform(get(freeSlotsEndpoint))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)));
+
+            CreatingAppointmentDto createAppointment = new CreatingAppointmentDto();
+            createAppointment.setAppointmentStartDate(DAY.withHour(14));
+            createAppointment.setAppointmentEndDate(DAY.withHour(15));
+            createAppointment.setStudentId(student.getId().toString());
+            createAppointment.setTeacherId(teacher.getId().toString());
+            createAppointment.setOrganizationId(organization.getId());
+
+            mockMvc.perform(post(AppointmentManagementController.ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createAppointment)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get(freeSlotsEndpoint))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[1].end", is(DAY.withHour(14).format(DateTimeFormatter.ISO_DATE_TIME))))
+                    .andExpect(jsonPath("$[2].start", is(DAY.withHour(15).format(DateTimeFormatter.ISO_DATE_TIME))));
+
+        }
+
+        @DisplayName("Get Free Slots Invalid Range Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsInvalidRangeError() throws Exception {
+
+            mockMvc.perform(get(AppointmentManagementController.ENDPOINT + "/free-slots")
+                            .param("organizationId", organization.getId().toString())
+                            .param("teacherId", teacher.getId().toString())
+                            .param("from", DAY.format(DateTimeFormatter.ISO_DATE_TIME))
+                            .param("to", DAY.minusDays(1).format(DateTimeFormatter.ISO_DATE_TIME)))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.INVALID_FREE_SLOT_RANGE.getDesc())));
+
+        }
+
+        @DisplayName("Get Free Slots Teacher Not Found Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsTeacherNotFoundError() throws Exception {
+
+            mockMvc.perform(get(AppointmentManagementController.ENDPOINT + "/free-slots")
+                            .param("organizationId", organization.getId().toString())
+                            .param("teacherId", UUID.randomUUID().toString()))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.TEACHER_NOT_FOUND.getDesc())));
+
+        }
+
+        @DisplayName("Get Free Slots Teacher Of Another Organization Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsTeacherOfAnotherOrganizationError() throws Exception {
+
+            Organization anotherOrganization = new Organization();
+            anotherOrganization.setOrganizationName(RandomStringUtils.random(10, true, false));
+
+            organizationRepository.save(anotherOrganization);
+
+            mockMvc.perform(get(AppointmentManagementController.ENDPOINT + "/free-slots")
+                            .param("organizationId", anotherOrganization.getId().toString())
+                            .param("teacherId", teacher.getId().toString()))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.TEACHER_NOT_FOUND.getDesc())));
+
+        }
+
+        @DisplayName("Get Free Slots Organization Not Found Error")
+        @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "manage:appointments"})
+        @Test
+        void getFreeSlotsOrganizationNotFoundError() throws Exception {
+
+            mockMvc.perform(get(AppointmentManagementController.ENDPOINT + "/free-slots")
+                            .param("organizationId", "99999999")
+                            .param("teacherId", teacher.getId().toString()))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.ORGANIZATION_NOT_FOUND.getDesc())));
+
+        }
+
+    }
+
     @DisplayName("Deleting Appointment")
     @Nested
     class DeletingAppointment {
@@ -618,10 +1133,10 @@ public class AppointmentManagementControllerTest {
             newAppointment.setAppointmentName("Appointment name");
             newAppointment.setOrganization(organization);
 
-            appointmentRepository.save(newAppointment);
-
             newTeacher.addAppointment(newAppointment);
 
+            appointmentRepository.save(newAppointment);
+
             editingAppointment.setAppointmentStartDate(newAppointment.getAppointmentStartDate());
             editingAppointment.setAppointmentEndDate(newAppointment.getAppointmentEndDate());
 
@@ -643,9 +1158,12 @@ public class AppointmentManagementControllerTest {
             newAppointment.setAppointmentStartDate(LocalDateTime.of(2021, Month.AUGUST, 28, 15, 0));
             newAppointment.setAppointmentEndDate(LocalDateTime.of(2021, Month.AUGUST, 28, 15, 30));
             newAppointment.setAppointmentName("Appointment name");
+            newAppointment.setOrganization(organization);
 
             teacher.addAppointment(newAppointment);
 
+            appointmentRepository.save(newAppointment);
+
             editingAppointment.setAppointmentStartDate(newAppointment.getAppointmentStartDate());
             editingAppointment.setAppointmentEndDate(newAppointment.getAppointmentEndDate());
             editingAppointment.setTeacherId(null);
@@ -684,10 +1202,10 @@ public class AppointmentManagementControllerTest {
             newAppointment.setAppointmentName("Appointment name for new student");
             newAppointment.setOrganization(organization);
 
-            appointmentRepository.save(newAppointment);
-
             student.addAppointment(newAppointment);
 
+            appointmentRepository.save(newAppointment);
+
             editingAppointment.setAppointmentStartDate(newAppointment.getAppointmentStartDate());
             editingAppointment.setAppointmentEndDate(newAppointment.getAppointmentEndDate());
             editingAppointment.setStudentId(student.getId().toString());
@@ -710,9 +1228,12 @@ public class AppointmentManagementControllerTest {
             newAppointment.setAppointmentStartDate(LocalDateTime.of(2021, Month.AUGUST, 28, 15, 0));
             newAppointment.setAppointmentEndDate(LocalDateTime.of(2021, Month.AUGUST, 28, 15, 30));
             newAppointment.setAppointmentName("Appointment name");
+            newAppointment.setOrganization(organization);
 
             student.addAppointment(newAppointment);
 
+            appointmentRepository.save(newAppointment);
+
             editingAppointment.setAppointmentStartDate(newAppointment.getAppointmentStartDate());
             editingAppointment.setAppointmentEndDate(newAppointment.getAppointmentEndDate());
             editingAppointment.setStudentId(null);
@@ -0,0 +1,186 @@
+package com.schoolplus.office.web.controllers.backoffice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolplus.office.domain.TransactionLog;
+import com.schoolplus.office.repository.TransactionLogRepository;
+import com.schoolplus.office.web.models.AuditLogPageDto;
+import com.schoolplus.office.web.models.DomainAction;
+import com.schoolplus.office.web.models.ErrorDesc;
+import com.schoolplus.office.web.models.ErrorType;
+import com.schoolplus.office.web.models.TransactionDomain;
+import com.schoolplus.office.web.models.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AuditLogManagementControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TransactionLogRepository transactionLogRepository;
+
+    String relatedId;
+
+    @BeforeEach
+    void setUp() {
+        relatedId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+
+        List<TransactionLog> transactionLogs = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            TransactionLog transactionLog = new TransactionLog();
+            transactionLog.setTransactionType(TransactionType.READ);
+            transactionLog.setTransactionDomain(TransactionDomain.EXAM_RESULT);
+            transactionLog.setDomainActionType(DomainAction.READ_EXAM_RESULT);
+            transactionLog.setRelatedId(relatedId);
+            transactionLog.setEventCount(1L);
+            // Two logs share a timestamp, so the id has to break the tie
+            transactionLog.setCreatedAt(new Timestamp(now - Math.min(i, 3) * 1000L));
+
+            transactionLogs.add(transactionLog);
+        }
+
+        transactionLogRepository.saveAll(transactionLogs);
+    }
+
+    @DisplayName("Listing Audit Logs")
+    @Nested
+    class ListingAuditLogs {
+
+        @DisplayName("Paging Audit Logs Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "read:audit-logs"})
+        @Test
+        void pagingAuditLogsSuccessfully() throws Exception {
+            List<Long> logIds = new ArrayList<>();
+            String cursor = null;
+
+            for (int page = 0; page < 3; page++) {
+                MvcResult mvcResult = mockMvc.perform(get(AuditLogManagementController.ENDPOINT)
+                                .param("relatedId", relatedId)
+                                .param("domain", TransactionDomain.EXAM_RESULT.name())
+                                .param("size", "2")
+                                .param("cursor", cursor != null ? cursor : ""))
+                        .andDo(print())
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(jsonPath("$.logs..relatedId", everyItem(is(relatedId))))
+                        .andReturn();
+
+                AuditLogPageDto auditLogPage = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                        AuditLogPageDto.class);
+
+                auditLogPage.getLogs().forEach(auditLog -> logIds.add(auditLog.getLogId()));
+                cursor = auditLogPage.getNextCursor();
+
+                if (page < 2) {
+                    assertNotNull(cursor);
+                } else {
+                    assertNull(cursor);
+                }
+            }
+
+            assertEquals(5, logIds.size());
+            assertEquals(5, logIds.stream().distinct().count());
+        }
+
+        @DisplayName("Listing Audit Logs In Time Window Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:audit-logs"})
+        @Test
+        void listingAuditLogsInTimeWindowSuccessfully() throws Exception {
+
+            mockMvc.perform(get(AuditLogManagementController.ENDPOINT)
+                            .param("relatedId", relatedId)
+                            .param("from", "2000-01-01T00:00:00Z")
+                            .param("to", "2000-02-01T00:00:00Z"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.logs", hasSize(0)))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @DisplayName("Listing Audit Logs Invalid Cursor Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:audit-logs"})
+        @Test
+        void listingAuditLogsInvalidCursorError() throws Exception {
+
+            mockMvc.perform(get(AuditLogManagementController.ENDPOINT)
+                            .param("cursor", "not-a-cursor"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.INVALID_AUDIT_LOG_CURSOR.getDesc())));
+        }
+
+        @DisplayName("Listing Audit Logs Without Permission Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void listingAuditLogsWithoutPermissionError() throws Exception {
+
+            mockMvc.perform(get(AuditLogManagementController.ENDPOINT))
+                    .andDo(print())
+                    .andExpect(status().isForbidden());
+        }
+
+    }
+
+    @DisplayName("Exporting Audit Logs")
+    @Nested
+    class ExportingAuditLogs {
+
+        @DisplayName("Exporting Audit Logs As NDJSON Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "read:audit-logs"})
+        @Test
+        void exportingAuditLogsAsNdjsonSuccessfully() throws Exception {
+
+            MvcResult mvcResult = mockMvc.perform(get(AuditLogManagementController.ENDPOINT + "/export")
+                            .param("relatedId", relatedId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            MvcResult asyncResult = mockMvc.perform(asyncDispatch(mvcResult))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn();
+
+            String[] lines = asyncResult.getResponse().getContentAsString().split("\n");
+
+            assertEquals(5, lines.length);
+
+            for (String line : lines) {
+                assertEquals(relatedId, objectMapper.readTree(line).get("relatedId").asText());
+            }
+        }
+
+    }
+
+}
@@ -6,6 +6,10 @@ import com.schoolplus.office.repository.*;
 import com.schoolplus.office.services.ExamService;
 import com.schoolplus.office.web.models.*;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,12 +17,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -29,6 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
@@ -72,6 +82,9 @@ public class ExamManagementControllerTest {
     @Autowired
     ExamService examService;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     Exam exam;
     ExamType examType;
     ExamSkeleton examSkeleton;
@@ -158,6 +171,35 @@ public class ExamManagementControllerTest {
 
     }
 
+    MockMultipartFile xlsxResult(long[][] studentAndClassNumbers, String... scores) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("ExamNo");
+            header.createCell(1).setCellValue("Öğrenci No");
+            header.createCell(2).setCellValue("Sınıf Kodu");
+            header.createCell(3).setCellValue("TytPuan");
+
+            for (int i = 0; i < studentAndClassNumbers.length; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(1);
+                row.createCell(1).setCellValue(studentAndClassNumbers[i][0]);
+                row.createCell(2).setCellValue(studentAndClassNumbers[i][1]);
+                row.createCell(3).setCellValue(i < scores.length ? scores[i] : "312,45");
+            }
+
+            workbook.write(outputStream);
+        }
+
+        return new MockMultipartFile("result",
+                "exam_data.xlsx",
+                ExamManagementController.XLSX_MEDIA_TYPE,
+                outputStream.toByteArray());
+    }
+
     @DisplayName("Getting Exam")
     @Nested
     class GettingExam {
@@ -917,6 +959,418 @@ public class ExamManagementControllerTest {
         }
 
 
+        @DisplayName("Create Exam Results After Skeleton Update Uses New Layout")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void createExamResultsAfterSkeletonUpdateUsesNewLayout() throws Exception {
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}}))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andExpect(status().isCreated());
+
+            ExamField sortableField = examSkeleton.getExamFields().stream()
+                    .filter(field -> field.getReferenceField() == ReferenceField.SORTABLE)
+                    .findFirst()
+                    .orElseThrow();
+
+            EditingExamSkeletonDto editingExamSkeleton = new EditingExamSkeletonDto();
+            editingExamSkeleton.setRemovedFields(Set.of(sortableField.getId()));
+
+            mockMvc.perform(put(ExamManagementController.ENDPOINT + "/skeletons/" + examSkeleton.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(editingExamSkeleton)))
+                    .andExpect(status().isPermanentRedirect());
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}}))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.SORTABLE_CELL_NOT_DEFINED.getDesc())));
+        }
+
+        @DisplayName("Create Exam Results From Xlsx Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void createExamResultsFromXlsxSuccessfully() throws Exception {
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}}))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.examResultId").isNotEmpty())
+                    .andExpect(jsonPath("$.exam.examId", is(exam.getId().intValue())))
+                    .andExpect(jsonPath("$.examResultItems", hasSize(1)))
+                    .andExpect(jsonPath("$.examResultItems[0].student.userId", is(student.getId().toString())))
+                    .andExpect(jsonPath("$.examResultItems[0].resultData.TytPuan", is("312,45")))
+                    .andExpect(jsonPath("$.importReport.unresolvedStudentNumbers", hasSize(0)))
+                    .andExpect(jsonPath("$.importReport.unresolvedClassNumbers", hasSize(0)));
+        }
+
+        @DisplayName("Create Exam Results Skips Blank Rows")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void createExamResultsSkipsBlankRows() throws Exception {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                Sheet sheet = workbook.createSheet();
+
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("ExamNo");
+                header.createCell(1).setCellValue("Öğrenci No");
+                header.createCell(2).setCellValue("Sınıf Kodu");
+                header.createCell(3).setCellValue("TytPuan");
+
+                Row row = sheet.createRow(1);
+                row.createCell(0).setCellValue(1);
+                row.createCell(1).setCellValue(1076);
+                row.createCell(2).setCellValue(526);
+                row.createCell(3).setCellValue("312,45");
+
+                // Formatted but empty rows, as left below the data by spreadsheet editors
+                for (int i = 2; i < 5; i++) {
+                    Row blankRow = sheet.createRow(i);
+                    blankRow.createCell(0).setCellStyle(workbook.createCellStyle());
+                    blankRow.createCell(3).setCellStyle(workbook.createCellStyle());
+                }
+
+                workbook.write(outputStream);
+            }
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(new MockMultipartFile("result", "exam_data.xlsx",
+                                    ExamManagementController.XLSX_MEDIA_TYPE, outputStream.toByteArray()))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.examResultItems", hasSize(1)))
+                    .andExpect(jsonPath("$.examResultItems[0].student.userId", is(student.getId().toString())));
+        }
+
+        @DisplayName("Create Exam Results Reports Unresolved References")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void createExamResultsReportsUnresolvedReferences() throws Exception {
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}, {987654321, 526}, {987654321, 987654}}))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.examResultItems", hasSize(3)))
+                    .andExpect(jsonPath("$.importReport.unresolvedStudentNumbers", hasSize(1)))
+                    .andExpect(jsonPath("$.importReport.unresolvedStudentNumbers[0]", is(987654321)))
+                    .andExpect(jsonPath("$.importReport.unresolvedClassNumbers", hasSize(1)))
+                    .andExpect(jsonPath("$.importReport.unresolvedClassNumbers[0]", is(987654)));
+        }
+
+        @DisplayName("Import Exam Results Asynchronously Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void importExamResultsAsynchronouslySuccessfully() throws Exception {
+
+            MvcResult mvcResult = mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId() + "/imports")
+                            .file(xlsxResult(new long[][]{{1076, 526}, {987654321, 526}}))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andDo(print())
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.jobId").isNotEmpty())
+                    .andExpect(jsonPath("$.examId", is(exam.getId().intValue())))
+                    .andExpect(jsonPath("$.status").isNotEmpty())
+                    .andReturn();
+
+            ExamImportJobDto importJob = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                    ExamImportJobDto.class);
+
+            for (int i = 0; i < 50 && importJob.getStatus() != ExamImportStatus.COMPLETED
+                    && importJob.getStatus() != ExamImportStatus.FAILED; i++) {
+                Thread.sleep(100);
+
+                mvcResult = mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/imports/" + importJob.getJobId()))
+                        .andExpect(status().isOk())
+                        .andReturn();
+
+                importJob = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ExamImportJobDto.class);
+            }
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/imports/" + importJob.getJobId()))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status", is(ExamImportStatus.COMPLETED.name())))
+                    .andExpect(jsonPath("$.rowsParsed", is(2)))
+                    .andExpect(jsonPath("$.rowsPersisted", is(2)))
+                    .andExpect(jsonPath("$.rowsPerSecond").isNumber())
+                    .andExpect(jsonPath("$.examResultId").isNotEmpty())
+                    .andExpect(jsonPath("$.importReport.unresolvedStudentNumbers", hasItem(987654321)));
+        }
+
+        @DisplayName("Get Exam Result Import Of Another Organization Not Found Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void getExamResultImportOfAnotherOrganizationNotFoundError() throws Exception {
+
+            MvcResult mvcResult = mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId() + "/imports")
+                            .file(xlsxResult(new long[][]{{1076, 526}}))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+
+            ExamImportJobDto importJob = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                    ExamImportJobDto.class);
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/imports/" + importJob.getJobId())
+                            .with(user(RandomStringUtils.random(10, true, false))
+                                    .authorities(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("manage:exams"))))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.EXAM_IMPORT_JOB_NOT_FOUND.getDesc())));
+        }
+
+        @DisplayName("Get Exam Result Import Not Found Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void getExamResultImportNotFoundError() throws Exception {
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/imports/" + UUID.randomUUID()))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.EXAM_IMPORT_JOB_NOT_FOUND.getDesc())))
+                    .andExpect(jsonPath("$.code", is(ErrorDesc.EXAM_IMPORT_JOB_NOT_FOUND.getCode())));
+        }
+
+        @DisplayName("Get Exam Result Rankings Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void getExamResultRankingsSuccessfully() throws Exception {
+            Student topStudent = userRepository.findByStudentNumber(1077L).orElseGet(() -> {
+                Student newStudent = new Student();
+                newStudent.setOrganization(organization);
+                newStudent.setFirstName(RandomStringUtils.random(10, true, false));
+                newStudent.setLastName(RandomStringUtils.random(10, true, false));
+                newStudent.setStudentNumber(1077L);
+
+                return userRepository.save(newStudent);
+            });
+
+            MvcResult mvcResult = mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}, {1077, 526}, {987654321, 526}}, "312,45", "400", "312,45"))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            Long examResultId = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ExamResultDto.class)
+                    .getExamResultId();
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResultId + "/rankings"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[0].student.userId", is(topStudent.getId().toString())))
+                    .andExpect(jsonPath("$[0].overallRank", is(1)))
+                    .andExpect(jsonPath("$[0].classroomRank", is(1)))
+                    .andExpect(jsonPath("$[0].percentile", is(66.67)))
+                    .andExpect(jsonPath("$[1].overallRank", is(2)))
+                    .andExpect(jsonPath("$[2].overallRank", is(2)));
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResultId + "/rankings/student/" + student.getId()))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.student.userId", is(student.getId().toString())))
+                    .andExpect(jsonPath("$.overallRank", is(2)))
+                    .andExpect(jsonPath("$.classroomRank", is(2)))
+                    .andExpect(jsonPath("$.percentile", is(0.0)));
+        }
+
+        @DisplayName("Get Exam Result Ranking By Student Not Found Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void getExamResultRankingByStudentNotFoundError() throws Exception {
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/12312312312/rankings/student/" + student.getId()))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.EXAM_RESULT_ITEM_NOT_FOUND.getDesc())));
+        }
+
+        @DisplayName("Get Exam Result Analytics Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void getExamResultAnalyticsSuccessfully() throws Exception {
+
+            MvcResult mvcResult = mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}, {1076, 526}}, "400", "300"))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            Long examResultId = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ExamResultDto.class)
+                    .getExamResultId();
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResultId + "/analytics")
+                            .param("column", "TytPuan"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].columnName", is("TytPuan")))
+                    .andExpect(jsonPath("$[0].overall.count", is(2)))
+                    .andExpect(jsonPath("$[0].overall.average", is(350.0)))
+                    .andExpect(jsonPath("$[0].overall.median", is(350.0)))
+                    .andExpect(jsonPath("$[0].classrooms", hasSize(1)));
+        }
+
+        @DisplayName("Get Exam Result Analytics Not Found Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void getExamResultAnalyticsNotFoundError() throws Exception {
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/12312312312/analytics"))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc())));
+        }
+
+        @DisplayName("Export Exam Result As Csv Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void exportExamResultAsCsvSuccessfully() throws Exception {
+
+            MvcResult importResult = mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId())
+                            .file(xlsxResult(new long[][]{{1076, 526}}, "400"))
+                            .contentType(ExamManagementController.XLSX_MEDIA_TYPE))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            Long examResultId = objectMapper.readValue(importResult.getResponse().getContentAsString(), ExamResultDto.class)
+                    .getExamResultId();
+
+            MvcResult mvcResult = mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResultId + "/export")
+                            .param("format", "CSV"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("exam-result-" + examResultId + ".csv")))
+                    .andExpect(content().string(containsString("TytPuan")))
+                    .andExpect(content().string(containsString("1076")))
+                    .andExpect(content().string(containsString("400")));
+        }
+
+        @DisplayName("Export Exam Result As Csv Escapes Formulas Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void exportExamResultAsCsvEscapesFormulasSuccessfully() throws Exception {
+            ExamResultDto examResultDto = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}}, "400"));
+
+            ExamResultItemDto examResultItemDto = (ExamResultItemDto) examResultDto.getExamResultItems().toArray()[0];
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setResultData(Map.of("TytPuan", "=HYPERLINK(1)", "TytNet", "-1,25",
+                    "TytTab", "\t=SUM(1)", "TytReturn", "\r=SUM(2)"));
+
+            mockMvc.perform(put(ExamManagementController.ENDPOINT + "/results/item/" + examResultItemDto.getExamResultItemId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(editingExamResultItemDto)))
+                    .andExpect(status().isPermanentRedirect());
+
+            MvcResult mvcResult = mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/"
+                            + examResultDto.getExamResultId() + "/export")
+                            .param("format", "CSV"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("'=HYPERLINK(1)")))
+                    .andExpect(content().string(containsString("\"-1,25\"")))
+                    .andExpect(content().string(containsString("'\t=SUM(1)")))
+                    .andExpect(content().string(containsString("\"'\r=SUM(2)\"")));
+        }
+
+        @DisplayName("Export Exam Result Not Found Error")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void exportExamResultNotFoundError() throws Exception {
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/12312312312/export"))
+                    .andDo(print())
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error", is(ErrorType.INVALID_REQUEST.getError())))
+                    .andExpect(jsonPath("$.error_description", is(ErrorDesc.EXAM_RESULT_NOT_FOUND.getDesc())));
+        }
+
+        @DisplayName("Create Bulk Exam Result Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void createBulkExamResultSuccessfully() throws Exception {
+
+            MockMultipartFile firstClassroom = new MockMultipartFile("results", "first.xlsx",
+                    ExamManagementController.XLSX_MEDIA_TYPE, xlsxResult(new long[][]{{1076, 526}}, "400").getBytes());
+            MockMultipartFile secondClassroom = new MockMultipartFile("results", "second.xlsx",
+                    ExamManagementController.XLSX_MEDIA_TYPE, xlsxResult(new long[][]{{1076, 526}}, "300").getBytes());
+            MockMultipartFile brokenFile = new MockMultipartFile("results", "broken.xlsx",
+                    ExamManagementController.XLSX_MEDIA_TYPE, "not a workbook".getBytes());
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId() + "/bulk")
+                            .file(firstClassroom)
+                            .file(secondClassroom)
+                            .file(brokenFile))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.examResultId").isNotEmpty())
+                    .andExpect(jsonPath("$.examResultItems", hasSize(2)))
+                    .andExpect(jsonPath("$.importReport.sheetErrors", hasSize(1)))
+                    .andExpect(jsonPath("$.importReport.sheetErrors[0].fileName", is("broken.xlsx")));
+        }
+
+        @DisplayName("Create Bulk Exam Result From Xls Sheets Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void createBulkExamResultFromXlsSheetsSuccessfully() throws Exception {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+                for (String score : new String[]{"400", "300", "200"}) {
+                    Sheet sheet = workbook.createSheet();
+
+                    Row header = sheet.createRow(0);
+                    header.createCell(0).setCellValue("ExamNo");
+                    header.createCell(1).setCellValue("Öğrenci No");
+                    header.createCell(2).setCellValue("Sınıf Kodu");
+                    header.createCell(3).setCellValue("TytPuan");
+
+                    Row row = sheet.createRow(1);
+                    row.createCell(0).setCellValue(1);
+                    row.createCell(1).setCellValue(1076);
+                    row.createCell(2).setCellValue(526);
+                    row.createCell(3).setCellValue(score);
+                }
+
+                workbook.write(outputStream);
+            }
+
+            MockMultipartFile classrooms = new MockMultipartFile("results", "classrooms.xls",
+                    "application/vnd.ms-excel", outputStream.toByteArray());
+
+            mockMvc.perform(multipart(ExamManagementController.ENDPOINT + "/results/exam/" + exam.getId() + "/bulk")
+                            .file(classrooms))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.examResultItems", hasSize(3)))
+                    .andExpect(jsonPath("$.examResultItems..resultData.TytPuan", containsInAnyOrder("400", "300", "200")))
+                    .andExpect(jsonPath("$.importReport.sheetErrors", hasSize(0)));
+        }
+
         @DisplayName("Create Exam Results Exam Id Not Found Error")
         @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
         @Test
@@ -1374,6 +1828,225 @@ public class ExamManagementControllerTest {
                     .andExpect(jsonPath("$.lastModifiedAt").isNotEmpty());
         }
 
+        @DisplayName("Move Exam Result Item Keeps Its Result Data Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void moveExamResultItemKeepsItsResultDataSuccessfully() throws Exception {
+            ExamResult examResult = new ExamResult();
+            examResult.setExam(exam);
+            examResult.setResultColumns(List.of("Other", "TytPuan"));
+
+            examResultRepository.save(examResult);
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setExamResultId(examResult.getId());
+
+            mockMvc.perform(put(ExamManagementController.ENDPOINT + "/results/item/" + examResultItemDto.getExamResultItemId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(editingExamResultItemDto)))
+                    .andExpect(status().isPermanentRedirect());
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/item/" + examResultItemDto.getExamResultItemId()))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.resultData.TytPuan", is(examResultItemDto.getResultData().get("TytPuan"))))
+                    .andExpect(jsonPath("$.resultData.Other").doesNotExist());
+        }
+
+        @DisplayName("Move Exam Result Item Re-ranks The Previous Result Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void moveExamResultItemReranksThePreviousResultSuccessfully() throws Exception {
+            ExamResultDto previousExamResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}, {1076, 526}}, "400", "300"));
+
+            ExamResultItemDto topExamResultItem = previousExamResult.getExamResultItems().stream()
+                    .filter(item -> Integer.valueOf(1).equals(item.getOverallRank()))
+                    .findFirst()
+                    .orElseThrow();
+
+            ExamResult examResult = new ExamResult();
+            examResult.setExam(exam);
+            examResult.setResultColumns(List.of("TytPuan"));
+
+            examResultRepository.save(examResult);
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setExamResultId(examResult.getId());
+
+            mockMvc.perform(put(ExamManagementController.ENDPOINT + "/results/item/" + topExamResultItem.getExamResultItemId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(editingExamResultItemDto)))
+                    .andExpect(status().isPermanentRedirect());
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + previousExamResult.getExamResultId()))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.examResultItems", hasSize(1)))
+                    .andExpect(jsonPath("$.examResultItems[0].overallRank", is(1)));
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResult.getId()))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.examResultItems", hasSize(1)))
+                    .andExpect(jsonPath("$.examResultItems[0].overallRank", is(1)));
+        }
+
+        @DisplayName("Edit Exam Result Item Value Updates Analytics Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void editExamResultItemValueUpdatesAnalyticsSuccessfully() throws Exception {
+            ExamResultDto examResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}, {1076, 526}}, "400", "300"));
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setResultData(Map.of("TytPuan", "200"));
+
+            editExamResultItem(rankedAt(examResult, 1), editingExamResultItemDto);
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResult.getExamResultId() + "/analytics")
+                            .param("column", "TytPuan"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].overall.count", is(2)))
+                    .andExpect(jsonPath("$[0].overall.average", is(250.0)))
+                    .andExpect(jsonPath("$[0].overall.max", is(300.0)))
+                    .andExpect(jsonPath("$[0].classrooms", hasSize(1)));
+        }
+
+        @DisplayName("Edit Last Exam Result Item Of Classroom Updates Analytics Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void editLastExamResultItemOfClassroomUpdatesAnalyticsSuccessfully() throws Exception {
+            ExamResultDto examResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}}, "400"));
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setSortable(new BigDecimal("200"));
+            editingExamResultItemDto.setResultData(Map.of("TytPuan", "200"));
+
+            editExamResultItem(rankedAt(examResult, 1), editingExamResultItemDto);
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResult.getExamResultId() + "/analytics")
+                            .param("column", "TytPuan"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].overall.count", is(1)))
+                    .andExpect(jsonPath("$[0].overall.average", is(200.0)))
+                    .andExpect(jsonPath("$[0].classrooms", hasSize(1)))
+                    .andExpect(jsonPath("$[0].classrooms[0].count", is(1)));
+        }
+
+        @DisplayName("Move Exam Result Item To Another Classroom Updates Analytics Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void moveExamResultItemToAnotherClassroomUpdatesAnalyticsSuccessfully() throws Exception {
+            ExamResultDto examResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}, {1076, 526}}, "400", "300"));
+
+            Classroom newClassroom = new Classroom();
+            newClassroom.setClassRoomTag(RandomStringUtils.random(10, true, false));
+            newClassroom.setOrganization(organization);
+            newClassroom.setGrade(grade);
+
+            classroomRepository.save(newClassroom);
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setClassRoomId(newClassroom.getId());
+
+            editExamResultItem(rankedAt(examResult, 1), editingExamResultItemDto);
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResult.getExamResultId() + "/analytics")
+                            .param("column", "TytPuan"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].overall.count", is(2)))
+                    .andExpect(jsonPath("$[0].overall.average", is(350.0)))
+                    .andExpect(jsonPath("$[0].classrooms", hasSize(2)))
+                    .andExpect(jsonPath("$[0].classrooms[?(@.classRoomId == " + newClassroom.getId() + ")].count",
+                            contains(1)))
+                    .andExpect(jsonPath("$[0].classrooms[?(@.classRoomId == " + newClassroom.getId() + ")].average",
+                            contains(400.0)));
+        }
+
+        @DisplayName("Move Exam Result Item To Another Result Updates Analytics Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void moveExamResultItemToAnotherResultUpdatesAnalyticsSuccessfully() throws Exception {
+            ExamResultDto previousExamResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}, {1076, 526}}, "400", "300"));
+            ExamResultDto examResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}}, "200"));
+
+            EditingExamResultItemDto editingExamResultItemDto = new EditingExamResultItemDto();
+            editingExamResultItemDto.setExamResultId(examResult.getExamResultId());
+
+            editExamResultItem(rankedAt(previousExamResult, 1), editingExamResultItemDto);
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + previousExamResult.getExamResultId() + "/analytics")
+                            .param("column", "TytPuan"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].overall.count", is(1)))
+                    .andExpect(jsonPath("$[0].overall.average", is(300.0)));
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResult.getExamResultId() + "/analytics")
+                            .param("column", "TytPuan"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].overall.count", is(2)))
+                    .andExpect(jsonPath("$[0].overall.average", is(300.0)));
+        }
+
+        @DisplayName("Edit Legacy Exam Result Before Its First Analytics Successfully")
+        @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
+        @Test
+        void editLegacyExamResultBeforeItsFirstAnalyticsSuccessfully() throws Exception {
+            ExamResultDto examResult = examService.createExamResult(exam.getId(),
+                    xlsxResult(new long[][]{{1076, 526}, {1076, 526}}, "400", "300"));
+
+            // Results imported before statistics were kept have none stored
+            jdbcTemplate.update("delete from exam_result_statistic where exam_result_id = ?",
+                    examResult.getExamResultId());
+
+            CreatingExamResultItemDto creatingExamResultItemDto = new CreatingExamResultItemDto();
+            creatingExamResultItemDto.setClassRoomId(classroom.getId());
+            creatingExamResultItemDto.setSortable(new BigDecimal("200"));
+            creatingExamResultItemDto.setResultData(Map.of("TytPuan", "200"));
+
+            EditingExamResultDto editingExamResultDto = new EditingExamResultDto();
+            editingExamResultDto.setAddedExamResultItems(List.of(creatingExamResultItemDto));
+
+            mockMvc.perform(put(ExamManagementController.ENDPOINT + "/results/" + examResult.getExamResultId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(editingExamResultDto)))
+                    .andExpect(status().isPermanentRedirect());
+
+            mockMvc.perform(get(ExamManagementController.ENDPOINT + "/results/" + examResult.getExamResultId() + "/analytics"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].columnName", not(hasItem("Öğrenci No"))))
+                    .andExpect(jsonPath("$[*].columnName", not(hasItem("Sınıf Kodu"))))
+                    .andExpect(jsonPath("$[?(@.columnName == 'TytPuan')].overall.count", contains(3)))
+                    .andExpect(jsonPath("$[?(@.columnName == 'TytPuan')].overall.average", contains(300.0)));
+        }
+
+        Long rankedAt(ExamResultDto examResult, int overallRank) {
+            return examResult.getExamResultItems().stream()
+                    .filter(item -> Integer.valueOf(overallRank).equals(item.getOverallRank()))
+                    .findFirst()
+                    .orElseThrow()
+                    .getExamResultItemId();
+        }
+
+        void editExamResultItem(Long examResultItemId, EditingExamResultItemDto editingExamResultItemDto) throws Exception {
+            mockMvc.perform(put(ExamManagementController.ENDPOINT + "/results/item/" + examResultItemId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(editingExamResultItemDto)))
+                    .andDo(print())
+                    .andExpect(status().isPermanentRedirect());
+        }
+
         @DisplayName("Edit Exam Result Item Itself Not Found Error")
         @WithMockUser(username = "username", authorities = {"ROLE_ADMIN", "manage:exams"})
         @Test
@@ -9,6 +9,7 @@ import com.schoolplus.office.repository.AuthorityRepository;
 import com.schoolplus.office.repository.OrganizationRepository;
 import com.schoolplus.office.repository.RoleRepository;
 import com.schoolplus.office.repository.UserRepository;
+import com.schoolplus.office.security.CachingSecurityUserDetailsService;
 import com.schoolplus.office.web.models.EditingUserDto;
 import com.schoolplus.office.web.models.ErrorDesc;
 import com.schoolplus.office.web.models.ErrorType;
@@ -32,6 +33,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -62,6 +65,9 @@ public class UserManagementControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CachingSecurityUserDetailsService securityUserDetailsService;
+
     User user;
 
     @BeforeEach
@@ -405,6 +411,56 @@ public class UserManagementControllerTest {
 
     }
 
+    @DisplayName("Edit User Evicts Cached User Details Successfully")
+    @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "edit:user"})
+    @Test
+    void editUserEvictsCachedUserDetailsSuccessfully() throws Exception {
+
+        assertTrue(securityUserDetailsService.loadUserByUsername(user.getUsername()).isEnabled());
+
+        EditingUserDto editingUserDto = new EditingUserDto();
+        editingUserDto.setIsEnabled(false);
+
+        mockMvc.perform(put(UserManagementController.ENDPOINT + "/" + user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(editingUserDto)))
+                .andDo(print())
+                .andExpect(status().isPermanentRedirect());
+
+        assertFalse(securityUserDetailsService.loadUserByUsername(user.getUsername()).isEnabled());
+
+        // The edit is rolled back with the test, the snapshot would outlive it
+        securityUserDetailsService.evict(user.getId());
+
+    }
+
+    @DisplayName("Grant Authority Evicts Cached User Details Successfully")
+    @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "edit:user"})
+    @Test
+    void grantAuthorityEvictsCachedUserDetailsSuccessfully() throws Exception {
+
+        Authority authority = authorityRepository.findByAuthorityName("list:users").get();
+
+        assertFalse(securityUserDetailsService.loadUserByUsername(user.getUsername()).getAuthorities().stream()
+                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("list:users")));
+
+        EditingUserDto editingUserDto = new EditingUserDto();
+        editingUserDto.setNewAuthorities(List.of(authority.getId()));
+
+        mockMvc.perform(put(UserManagementController.ENDPOINT + "/" + user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(editingUserDto)))
+                .andDo(print())
+                .andExpect(status().isPermanentRedirect());
+
+        assertTrue(securityUserDetailsService.loadUserByUsername(user.getUsername()).getAuthorities().stream()
+                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("list:users")));
+
+        // The edit is rolled back with the test, the snapshot would outlive it
+        securityUserDetailsService.evict(user.getId());
+
+    }
+
     @DisplayName("Delete User Successfully")
     @WithMockUser(username = "username",  authorities = {"ROLE_ADMIN", "delete:user"})
     @Test